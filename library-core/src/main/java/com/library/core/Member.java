@@ -1,6 +1,7 @@
 package com.library.core;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 // Item 2: Builder Pattern — when constructor has many parameters (esp. optional ones)
 // Advantages:
@@ -18,6 +19,8 @@ import java.util.List;
 
 // Item 17: Minimize mutability — core identity (id, name, etc.) is immutable.
 // Mutable state (borrowedBooks) is encapsulated and defensively copied.
+// Item 82: Thread-safe — loan methods synchronize on the member, so concurrent
+// checkouts (e.g. through LoanLedger) never corrupt the borrowed-books set.
 // This is acceptable because:
 // - Member must track changing loans
 // - Identity remains stable for hashing/equality
@@ -29,9 +32,11 @@ public final class Member {
     private final String email;   // optional
     private final String phone;   // optional
 
-    // Item 7: Manage own memory — list of borrowed books
-    // Must eliminate obsolete references when books are returned
-    private final List<Book> borrowedBooks = new ArrayList<>();
+    // Item 7: Manage own memory — books currently borrowed, in checkout order
+    // Must eliminate obsolete references when books are returned.
+    // A linked hash set keeps checkout order and makes returns O(1) — a member
+    // cannot hold the same book (same ISBN, Item 11) twice anyway.
+    private final Set<Book> borrowedBooks = new LinkedHashSet<>();
 
     // Item 1 + Item 2: Private constructor — only Builder can instantiate
     // Prevents inconsistent or partial object creation
@@ -101,29 +106,28 @@ public final class Member {
     public String getPhone() { return phone; }
 
     // Item 7: Checkout adds book to list
-    public void checkoutBook(Book book) {
+    public synchronized void checkoutBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null");
         }
         borrowedBooks.add(book);
     }
 
-    // Item 7: When book is returned, remove from list — eliminates reference
-    // ArrayList.remove() shifts elements and nulls out the last slot (in OpenJDK)
-    // This ensures no loitering object remains
+    // Item 7: When book is returned, remove from the set — eliminates reference
+    // LinkedHashSet.remove() unlinks the entry in O(1), so no loitering object remains
     /**
      * Returns a borrowed book, eliminating the reference to it.
      * Item 7: Prevents memory leaks by removing obsolete object reference.
     */
-    public void returnBook(Book book) {
+    public synchronized void returnBook(Book book) {
         if (book == null) {
             return; // or throw — but safe to ignore
         }
-        borrowedBooks.remove(book); // ArrayList.remove() eliminates reference
+        borrowedBooks.remove(book); // unlinking the entry eliminates the reference
     }
 
     // Item 15: Defensive copy — don't expose internal list
-    public List<Book> getBorrowedBooks() {
+    public synchronized List<Book> getBorrowedBooks() {
         return List.copyOf(borrowedBooks);
     }
 
@@ -0,0 +1,101 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.BinaryRecords;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Versioned binary stream of {@link Book} and {@link Member} records, read and
+ * written straight from and to a {@link ByteBuffer} — heap or direct.
+ *
+ * A stream of records starts with a header, {@link #writeHeader}: four magic bytes
+ * and the {@link #FORMAT_VERSION}. Records follow with no framing of their own, in
+ * the {@link BinaryRecords} encoding the write-ahead log and snapshots use, so the
+ * library has one binary format for its records.
+ *
+ * A write that does not fit throws {@link BufferOverflowException} and leaves the
+ * buffer's position where it was, so no partial record is ever part of the stream;
+ * measuring first would cost a second pass over every string. {@link #sizeOf(Book)} and
+ * {@link #sizeOf(Member)} tell the size in advance. Reads throw
+ * {@link BufferUnderflowException} on a truncated record.
+ */
+public final class BinaryCodec {
+
+    /**
+     * Version written by {@link #writeHeader}. Version 1 streams, whose records had
+     * an encoding of their own, are no longer read.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x4C42494E; // "LBIN"
+    private static final int HEADER_BYTES = 5;
+
+    // Item 4: Noninstantiable utility class
+    private BinaryCodec() {
+        throw new AssertionError("Utility class");
+    }
+
+    /** Writes the magic bytes and {@link #FORMAT_VERSION}. */
+    public static void writeHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new BufferOverflowException();
+        }
+        buffer.putInt(MAGIC).put((byte) FORMAT_VERSION);
+    }
+
+    /**
+     * Reads and checks a header.
+     *
+     * @throws IllegalArgumentException if this is not a header, or not of {@link #FORMAT_VERSION}
+     */
+    public static void readHeader(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary catalog stream");
+        }
+        int version = buffer.get() & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        }
+    }
+
+    /** Encoded size of the book in bytes. */
+    public static int sizeOf(Book book) {
+        return BinaryRecords.sizeOf(book);
+    }
+
+    /** Encoded size of the member in bytes. */
+    public static int sizeOf(Member member) {
+        return BinaryRecords.sizeOf(member);
+    }
+
+    public static void writeBook(ByteBuffer buffer, Book book) {
+        int start = buffer.position();
+        try {
+            BinaryRecords.putBook(buffer, book);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    public static Book readBook(ByteBuffer buffer) {
+        return BinaryRecords.getBook(buffer);
+    }
+
+    public static void writeMember(ByteBuffer buffer, Member member) {
+        int start = buffer.position();
+        try {
+            BinaryRecords.putMember(buffer, member);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    public static Member readMember(ByteBuffer buffer) {
+        return BinaryRecords.getMember(buffer);
+    }
+}
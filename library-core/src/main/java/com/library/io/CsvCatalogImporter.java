@@ -0,0 +1,388 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.service.BatchResult;
+import com.library.service.LibraryService;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads a catalog dump in the {@code Book Title,Author,ISBN,...} layout written by
+ * {@link CsvReportExporter} and {@link ReportWriter} into a {@link LibraryService}.
+ *
+ * The file is memory-mapped and cut into chunks that end on line boundaries; chunks
+ * are parsed in parallel on a fork-join pool while the calling thread registers the
+ * finished ones, in file order, through {@link LibraryService#registerAllBooks}.
+ * Registration therefore stays single-threaded — any service works, not only
+ * thread-safe ones — and the catalog order matches the file. Each chunk is parsed
+ * straight from its mapping, so the heap holds the parsed books, never a copy of
+ * the file.
+ *
+ * Fields follow RFC 4180: a field may be quoted, and inside quotes a comma is data
+ * and {@code ""} is one quote. A quoted field may not span lines — records are
+ * split on newlines before they are parsed, which is what makes chunks independent.
+ * Columns after the ISBN are ignored. Rows that cannot become a book are skipped
+ * and reported with their line numbers.
+ *
+ * Item 17: Immutable and thread-safe — one importer can run several imports at once.
+ */
+public final class CsvCatalogImporter {
+
+    private static final int DEFAULT_CHUNK_BYTES = 8 << 20;
+    private static final int DEFAULT_BATCH_SIZE = 10_000;
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+    private static final int MAX_DIAGNOSTICS = 100;
+    private static final int MAX_EXCERPT_BYTES = 200;
+    private static final int SCAN_BUFFER_BYTES = 64 << 10;
+    private static final byte[] HEADER_PREFIX = "Book Title,".getBytes(StandardCharsets.UTF_8);
+
+    private final int chunkBytes;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+
+    private CsvCatalogImporter(Builder builder) {
+        this.chunkBytes = builder.chunkBytes;
+        this.batchSize = builder.batchSize;
+        this.pool = builder.pool;
+    }
+
+    // Item 1: Static factory for the common case
+    public static CsvCatalogImporter create() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Imports every row of {@code file} into {@code library}.
+     *
+     * @throws IOException if the file cannot be read; books from chunks registered
+     *         before the failure stay registered
+     */
+    public ImportReport importInto(Path file, LibraryService library) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(library, "library must not be null");
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size);
+            Totals totals = new Totals();
+            // Bounded look-ahead: enough chunks in flight to keep every worker busy,
+            // few enough that parsed-but-unregistered books stay small
+            int window = pool.getParallelism() * 2;
+            Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            try {
+                while (next < bounds.length - 1 || !inFlight.isEmpty()) {
+                    while (next < bounds.length - 1 && inFlight.size() < window) {
+                        long from = bounds[next];
+                        long to = bounds[next + 1];
+                        boolean first = next == 0;
+                        inFlight.addLast(pool.submit(() -> parse(channel, from, to, first)));
+                        next++;
+                    }
+                    register(await(inFlight.removeFirst()), library, totals);
+                }
+            } finally {
+                inFlight.forEach(task -> task.cancel(true));
+            }
+            return new ImportReport(totals.rows, totals.accepted, totals.duplicates, totals.malformed,
+                totals.diagnostics, size, System.nanoTime() - start);
+        }
+    }
+
+    // Chunk i covers [bounds[i], bounds[i + 1]); every bound but the last is a line start
+    private long[] chunkBounds(FileChannel channel, long size) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long position = chunkBytes;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position, size);
+            if (lineStart >= size) {
+                break;
+            }
+            bounds.add(lineStart);
+            position = lineStart + chunkBytes;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // First line start at or after 'position': just past the first newline at or after position - 1
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    // Parsed straight from the mapping: no heap copy of the chunk, only of each field's bytes
+    private Chunk parse(FileChannel channel, long from, long to, boolean first) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        return new ChunkParser(mapped, first).parse();
+    }
+
+    private void register(Chunk chunk, LibraryService library, Totals totals) {
+        List<Book> books = chunk.books;
+        for (int from = 0; from < books.size(); from += batchSize) {
+            BatchResult result = library.registerAllBooks(books.subList(from, Math.min(from + batchSize, books.size())));
+            totals.accepted += result.accepted();
+            totals.duplicates += result.duplicates();
+        }
+        totals.rows += chunk.rows;
+        totals.malformed += chunk.malformed;
+        for (ImportReport.MalformedLine line : chunk.diagnostics) {
+            if (totals.diagnostics.size() == MAX_DIAGNOSTICS) {
+                break;
+            }
+            // Chunks only know their own line offsets; earlier chunks' line counts fix them up
+            totals.diagnostics.add(new ImportReport.MalformedLine(
+                totals.lines + line.lineNumber(), line.reason(), line.content()));
+        }
+        totals.lines += chunk.lines;
+    }
+
+    // Item 73: Throw exceptions appropriate to the abstraction — callers see IOException
+    private static Chunk await(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Mutable running totals — only ever touched by the importing thread
+    private static final class Totals {
+        long rows;
+        long accepted;
+        long duplicates;
+        long malformed;
+        long lines;
+        final List<ImportReport.MalformedLine> diagnostics = new ArrayList<>();
+    }
+
+    // What one chunk produced; diagnostic line numbers are 1-based within the chunk
+    private static final class Chunk {
+        final List<Book> books;
+        final long rows;
+        final long malformed;
+        final long lines;
+        final List<ImportReport.MalformedLine> diagnostics;
+
+        Chunk(List<Book> books, long rows, long malformed, long lines, List<ImportReport.MalformedLine> diagnostics) {
+            this.books = books;
+            this.rows = rows;
+            this.malformed = malformed;
+            this.lines = lines;
+            this.diagnostics = diagnostics;
+        }
+    }
+
+    // Item 24: Static member class — parses one chunk's bytes; confined to one worker
+    private static final class ChunkParser {
+        private final ByteBuffer data;
+        private final int limit;
+        private final boolean first;
+        private final String[] fields = new String[3];
+        private byte[] field = new byte[64]; // one field's bytes, unquoted, on their way to a String
+        private String error;
+
+        ChunkParser(ByteBuffer data, boolean first) {
+            this.data = data;
+            this.limit = data.limit();
+            this.first = first;
+        }
+
+        Chunk parse() {
+            List<Book> books = new ArrayList<>();
+            List<ImportReport.MalformedLine> malformed = new ArrayList<>();
+            long rows = 0;
+            long lines = 0;
+            int position = 0;
+            while (position < limit) {
+                int end = position;
+                while (end < limit && data.get(end) != '\n') {
+                    end++;
+                }
+                int lineEnd = end > position && data.get(end - 1) == '\r' ? end - 1 : end;
+                lines++;
+                if (lineEnd > position && !(first && lines == 1 && isHeader(position, lineEnd))) {
+                    rows++;
+                    Book book = parseRow(position, lineEnd);
+                    if (book != null) {
+                        books.add(book);
+                    } else if (malformed.size() < MAX_DIAGNOSTICS) {
+                        malformed.add(new ImportReport.MalformedLine(lines, error, excerpt(position, lineEnd)));
+                    }
+                }
+                position = end + 1;
+            }
+            // Every row that did not become a book was malformed, described or not
+            return new Chunk(books, rows, rows - books.size(), lines, malformed);
+        }
+
+        private boolean isHeader(int from, int to) {
+            return to - from >= HEADER_PREFIX.length
+                && data.slice(from, HEADER_PREFIX.length).equals(ByteBuffer.wrap(HEADER_PREFIX));
+        }
+
+        // Returns the book, or null with 'error' set
+        private Book parseRow(int from, int to) {
+            int count = 0;
+            int i = from;
+            while (count < fields.length) {
+                if (i < to && data.get(i) == '"') {
+                    i = quotedField(i + 1, to, count);
+                    if (i < 0) {
+                        return null;
+                    }
+                } else {
+                    int start = i;
+                    while (i < to && data.get(i) != ',') {
+                        i++;
+                    }
+                    fields[count] = string(start, i);
+                }
+                count++;
+                if (i >= to) {
+                    break;
+                }
+                i++; // the comma
+            }
+            if (count < fields.length) {
+                error = "expected at least 3 fields, found " + count;
+                return null;
+            }
+            try {
+                return Book.create(fields[0], fields[1], fields[2]);
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+                return null;
+            }
+        }
+
+        // Parses a quoted field starting just after its opening quote; returns the
+        // index after the closing quote, or -1 with 'error' set
+        private int quotedField(int i, int to, int index) {
+            int length = 0;
+            for (;;) {
+                if (i >= to) {
+                    error = "unterminated quoted field";
+                    return -1;
+                }
+                byte b = data.get(i++);
+                if (b == '"') {
+                    if (i < to && data.get(i) == '"') {
+                        i++; // "" is an escaped quote
+                    } else {
+                        break;
+                    }
+                }
+                if (length == field.length) {
+                    field = Arrays.copyOf(field, length * 2);
+                }
+                field[length++] = b;
+            }
+            if (i < to && data.get(i) != ',') {
+                error = "unexpected character after closing quote";
+                return -1;
+            }
+            fields[index] = new String(field, 0, length, StandardCharsets.UTF_8);
+            return i;
+        }
+
+        private String string(int from, int to) {
+            int length = to - from;
+            if (length > field.length) {
+                field = new byte[Math.max(length, field.length * 2)];
+            }
+            data.get(from, field, 0, length);
+            return new String(field, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private String excerpt(int from, int to) {
+            return string(from, from + Math.min(to - from, MAX_EXCERPT_BYTES));
+        }
+    }
+
+    // Item 2: Builder — every setting is optional
+    public static final class Builder {
+        private int chunkBytes = DEFAULT_CHUNK_BYTES;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        private Builder() {
+        }
+
+        /** Approximate bytes per parallel chunk; chunks are extended to the next line end. */
+        public Builder chunkBytes(int chunkBytes) {
+            if (chunkBytes <= 0 || chunkBytes > MAX_CHUNK_BYTES) {
+                throw new IllegalArgumentException("chunkBytes must be between 1 and " + MAX_CHUNK_BYTES);
+            }
+            this.chunkBytes = chunkBytes;
+            return this;
+        }
+
+        /** Maximum books per {@code registerAllBooks} call. */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /** Pool the chunks are parsed on; the common pool by default. */
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool, "pool must not be null");
+            return this;
+        }
+
+        public CsvCatalogImporter build() {
+            return new CsvCatalogImporter(this);
+        }
+    }
+}
@@ -15,11 +15,12 @@ public final class CsvReportExporter implements ReportExporter {
 
     @Override
     public void exportLoan(Writer writer, Book book, Member member) throws IOException {
-        String line = String.format("%s,%s,%s,%s%n",
-                book.getTitle(),
-                book.getAuthor(),
-                book.getIsbn(),
-                member.getName());
-        writer.write(line);
+        // Fields are quoted per RFC 4180 where needed; see CsvRow
+        CsvRow.get()
+            .field(book.getTitle())
+            .field(book.getAuthor())
+            .field(book.getIsbn())
+            .field(member.getName())
+            .writeTo(writer);
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.library.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One CSV record assembled in a reused char buffer and handed to a {@link Writer}
+ * in a single {@code write(char[], int, int)} call.
+ *
+ * Fields follow RFC 4180: a field holding a comma, a double quote, CR or LF is
+ * enclosed in quotes, with each quote inside doubled; any other field is copied
+ * as is. Records end with LF, like the header lines the report writers emit.
+ *
+ * Appending allocates nothing once the buffer has grown to the longest record, so
+ * writing a row costs no garbage. A row is confined to one thread; {@link #get()}
+ * hands out one per thread, which keeps the exporters that use it stateless.
+ */
+final class CsvRow {
+
+    private static final int INITIAL_CHARS = 256;
+    // A buffer grown past this for an outsized record is dropped after writing it
+    private static final int RETAINED_CHARS = 1 << 16;
+
+    private static final ThreadLocal<CsvRow> ROWS = ThreadLocal.withInitial(CsvRow::new);
+
+    private char[] chars = new char[INITIAL_CHARS];
+    private int length;
+    private boolean firstField = true;
+
+    private CsvRow() {
+    }
+
+    /** This thread's row, empty. */
+    static CsvRow get() {
+        CsvRow row = ROWS.get();
+        row.length = 0;
+        row.firstField = true;
+        return row;
+    }
+
+    CsvRow field(String value) {
+        int n = value.length();
+        boolean quote = false;
+        for (int i = 0; i < n && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        // Worst case: separator, two enclosing quotes and every char a doubled quote
+        ensureCapacity(length + 2 * n + 3);
+        if (!firstField) {
+            chars[length++] = ',';
+        }
+        firstField = false;
+        if (!quote) {
+            value.getChars(0, n, chars, length);
+            length += n;
+            return this;
+        }
+        chars[length++] = '"';
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                chars[length++] = '"';
+            }
+            chars[length++] = c;
+        }
+        chars[length++] = '"';
+        return this;
+    }
+
+    /** Ends the record and writes it. */
+    void writeTo(Writer writer) throws IOException {
+        ensureCapacity(length + 1);
+        chars[length++] = '\n';
+        writer.write(chars, 0, length);
+        if (chars.length > RETAINED_CHARS) {
+            chars = new char[INITIAL_CHARS];
+        }
+        length = 0;
+        firstField = true;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > chars.length) {
+            char[] grown = new char[Math.max(needed, chars.length * 2)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.io;
+
+/**
+ * A {@link java.io.Writer} that carries the state of the export being written to
+ * it, so a stateful {@link ReportExporter} keeps that state with the writer
+ * instead of in a table shared by every export. Writers that are not export
+ * contexts fall back to {@link WriterStates}.
+ *
+ * One slot, for one export at a time. Like the writer, confined to the thread
+ * writing the export.
+ */
+interface ExportContext {
+
+    /** The state the exporter stored for the current export, or null. */
+    Object exportState();
+
+    void exportState(Object state);
+}
@@ -0,0 +1,97 @@
+package com.library.io;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link CsvCatalogImporter} run: volume, throughput and what
+ * went wrong where.
+ *
+ * Item 17: Immutable value — the diagnostics list is an unmodifiable copy.
+ */
+public final class ImportReport {
+
+    private final long rows;
+    private final long accepted;
+    private final long duplicates;
+    private final long malformed;
+    private final List<MalformedLine> diagnostics;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    ImportReport(long rows, long accepted, long duplicates, long malformed,
+                 List<MalformedLine> diagnostics, long bytes, long elapsedNanos) {
+        this.rows = rows;
+        this.accepted = accepted;
+        this.duplicates = duplicates;
+        this.malformed = malformed;
+        this.diagnostics = List.copyOf(diagnostics);
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Data rows read, excluding the header and blank lines. */
+    public long rows() { return rows; }
+
+    /** Books the service added to its catalog. */
+    public long accepted() { return accepted; }
+
+    /** Well-formed rows whose ISBN the service already had. */
+    public long duplicates() { return duplicates; }
+
+    /** Rows that could not be turned into a book. */
+    public long malformed() { return malformed; }
+
+    /**
+     * The first malformed rows, in file order. Capped, so a broken file cannot
+     * exhaust memory; {@link #malformed()} has the full count.
+     */
+    public List<MalformedLine> diagnostics() { return diagnostics; }
+
+    public long bytes() { return bytes; }
+
+    public long elapsedNanos() { return elapsedNanos; }
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1 << 20);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "ImportReport{rows=%d, accepted=%d, duplicates=%d, malformed=%d, %.0f rows/s, %.1f MB/s}",
+            rows, accepted, duplicates, malformed, rowsPerSecond(), megabytesPerSecond());
+    }
+
+    /**
+     * One row that was skipped, with its 1-based line number and the reason.
+     * Item 17: Immutable value.
+     */
+    public static final class MalformedLine {
+        private final long lineNumber;
+        private final String reason;
+        private final String content;
+
+        MalformedLine(long lineNumber, String reason, String content) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+            this.content = content;
+        }
+
+        public long lineNumber() { return lineNumber; }
+
+        public String reason() { return reason; }
+
+        /** The raw line, truncated if very long. */
+        public String content() { return content; }
+
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + reason + " — " + content;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.io;
+
+import com.library.service.Loan;
+import com.library.service.LoanChanges;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes incremental loan reports: only what changed since the previous report,
+ * as given by {@link com.library.service.LoanLedger#changesSince}, so a nightly
+ * run costs in proportion to the day's checkouts and returns rather than to every
+ * loan on the books.
+ *
+ * One export writes two reports through any {@link ReportExporter} into a
+ * directory: {@code loans-<since>-<through>-closed<suffix>} with the loans that
+ * ended and {@code loans-<since>-<through>-opened<suffix>} with the loans that
+ * started. The watermarks the reports cover are in their names; the next export
+ * starts from {@link #lastWatermark}. Each file is written under a temporary name
+ * and moved into place, the opened report last, so a crash never leaves a pair
+ * that looks complete but is not. Export from watermark 0 for a full report.
+ *
+ * A {@link com.library.service.DurableLibraryService} logs its sequence numbers,
+ * and its snapshots keep the changes not yet discarded, so the directory carries on
+ * across restarts. Only a watermark at or below a discard cannot be served:
+ * {@code changesSince} then throws {@link IllegalStateException}, and an export
+ * from 0 starts over.
+ */
+public final class IncrementalReportExport {
+
+    private static final String PREFIX = "loans-";
+    private static final String OPENED = "-opened";
+    private static final String CLOSED = "-closed";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern OPENED_NAME = Pattern.compile("loans-(\\d+)-(\\d+)-opened.*");
+
+    // Item 4: Noninstantiable utility class
+    private IncrementalReportExport() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Writes the closed and opened reports for {@code changes} into {@code directory},
+     * creating it if needed.
+     *
+     * @param suffix ending of both file names, such as {@code ".csv"}
+     * @return the opened report, whose name records the watermark it ends at
+     */
+    public static Path export(ReportExporter exporter, LoanChanges changes, Path directory, String suffix)
+            throws IOException {
+        Objects.requireNonNull(exporter, "exporter must not be null");
+        Objects.requireNonNull(changes, "changes must not be null");
+        Objects.requireNonNull(directory, "directory must not be null");
+        Objects.requireNonNull(suffix, "suffix must not be null");
+        Files.createDirectories(directory);
+        String range = PREFIX + changes.since() + "-" + changes.through();
+        write(exporter, changes.closed(), directory.resolve(range + CLOSED + suffix));
+        return write(exporter, changes.opened(), directory.resolve(range + OPENED + suffix));
+    }
+
+    /** The watermark the latest complete export in {@code directory} ends at, or 0 if there is none. */
+    public static long lastWatermark(Path directory) throws IOException {
+        Objects.requireNonNull(directory, "directory must not be null");
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher matcher = OPENED_NAME.matcher(name);
+                if (matcher.matches() && !name.endsWith(TEMP_SUFFIX)) {
+                    last = Math.max(last, Long.parseLong(matcher.group(2)));
+                }
+            }
+        }
+        return last;
+    }
+
+    private static Path write(ReportExporter exporter, List<Loan> loans, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try (Writer writer = ReportSink.open(temp)) {
+            exporter.exportHeader(writer);
+            for (Loan loan : loans) {
+                exporter.exportLoan(writer, loan.book(), loan.member());
+            }
+            exporter.exportFooter(writer);
+        }
+        return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
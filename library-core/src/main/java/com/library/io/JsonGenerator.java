@@ -0,0 +1,243 @@
+package com.library.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming JSON writer: tokens are appended to a reused char buffer, which
+ * {@link #writeTo} hands to a {@link Writer} in one call. There is no document
+ * model and no intermediate String per value.
+ *
+ * Commas and colons are placed from the nesting state, so callers only open,
+ * name, fill and close. Layout: the elements of an outermost array each go on a
+ * line of their own, indented two spaces; everything inside them is compact.
+ *
+ * Strings are escaped per RFC 8259: quote and backslash, every control character
+ * (short forms where JSON has them, a four-digit hex escape otherwise), U+2028 and U+2029
+ * (which JavaScript treats as line ends), and unpaired surrogates, which have no
+ * UTF-8 encoding. Everything else is written as is.
+ *
+ * One instance serves one document and holds no reference to the writer, so it can
+ * be kept in the writer's {@link ExportContext} or in a weak-keyed table beside it.
+ * Not thread-safe.
+ */
+final class JsonGenerator {
+
+    private static final int MAX_DEPTH = 63;
+    private static final int INITIAL_CHARS = 256;
+    // A buffer grown past this for an outsized value is dropped after writing it
+    private static final int RETAINED_CHARS = 1 << 16;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private char[] chars = new char[INITIAL_CHARS];
+    private int length;
+    private int depth;
+    private long arrays;   // bit d: the container at depth d is an array
+    private long nonEmpty; // bit d: the container at depth d has a value
+    private boolean afterName;
+
+    /** A generator for a new document. */
+    JsonGenerator() {
+    }
+
+    /**
+     * A generator continuing inside an outermost array whose opening bracket was
+     * written elsewhere, before any of its elements.
+     */
+    static JsonGenerator insideArray() {
+        JsonGenerator json = new JsonGenerator();
+        json.depth = 1;
+        json.arrays = 1L << 1;
+        return json;
+    }
+
+    JsonGenerator startArray() {
+        return open('[', true);
+    }
+
+    JsonGenerator endArray() {
+        return close(']', true);
+    }
+
+    JsonGenerator startObject() {
+        return open('{', false);
+    }
+
+    JsonGenerator endObject() {
+        return close('}', false);
+    }
+
+    JsonGenerator name(String name) {
+        if (depth == 0 || (arrays & 1L << depth) != 0 || afterName) {
+            throw new IllegalStateException("A name belongs directly inside an object");
+        }
+        separate();
+        quoted(name);
+        append(':');
+        afterName = true;
+        return this;
+    }
+
+    /** A string value, or {@code null}. */
+    JsonGenerator value(String value) {
+        beforeValue();
+        if (value == null) {
+            ensureCapacity(4);
+            "null".getChars(0, 4, chars, length);
+            length += 4;
+        } else {
+            quoted(value);
+        }
+        return this;
+    }
+
+    JsonGenerator field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    /** A line break between top-level values, or after the document. */
+    JsonGenerator lineBreak() {
+        append('\n');
+        return this;
+    }
+
+    /** Hands everything generated since the last call to {@code writer}. */
+    void writeTo(Writer writer) throws IOException {
+        writer.write(chars, 0, length);
+        if (chars.length > RETAINED_CHARS) {
+            chars = new char[INITIAL_CHARS];
+        }
+        length = 0;
+    }
+
+    private JsonGenerator open(char bracket, boolean array) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("Nesting deeper than " + MAX_DEPTH);
+        }
+        beforeValue();
+        append(bracket);
+        depth++;
+        arrays = array ? arrays | 1L << depth : arrays & ~(1L << depth);
+        nonEmpty &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonGenerator close(char bracket, boolean array) {
+        if (depth == 0 || ((arrays & 1L << depth) != 0) != array || afterName) {
+            throw new IllegalStateException("No open " + (array ? "array" : "object") + " to close");
+        }
+        if (depth == 1 && array) {
+            append('\n');
+        }
+        append(bracket);
+        depth--;
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0 && (arrays & 1L << depth) == 0) {
+            throw new IllegalStateException("A value inside an object needs a name");
+        }
+        separate();
+    }
+
+    // Comma before all but the first entry of a container, and the outermost array's layout
+    private void separate() {
+        if (depth == 0) {
+            return;
+        }
+        boolean first = (nonEmpty & 1L << depth) == 0;
+        nonEmpty |= 1L << depth;
+        if (!first) {
+            append(',');
+        }
+        if (depth == 1 && (arrays & 1L << 1) != 0) {
+            ensureCapacity(3);
+            chars[length++] = '\n';
+            chars[length++] = ' ';
+            chars[length++] = ' ';
+        }
+    }
+
+    private void quoted(String s) {
+        int n = s.length();
+        // Worst case: every char a six-char hex escape, plus the quotes
+        ensureCapacity(6 * n + 2);
+        chars[length++] = '"';
+        int run = 0; // start of the chars not yet copied
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && (c < 0x2028 || !needsEscape(s, i, c))) {
+                continue;
+            }
+            s.getChars(run, i, chars, length);
+            length += i - run;
+            run = i + 1;
+            escape(c);
+        }
+        s.getChars(run, n, chars, length);
+        length += n - run;
+        chars[length++] = '"';
+    }
+
+    private static boolean needsEscape(String s, int i, char c) {
+        if (c == 0x2028 || c == 0x2029) {
+            return true;
+        }
+        if (Character.isHighSurrogate(c)) {
+            return i + 1 == s.length() || !Character.isLowSurrogate(s.charAt(i + 1));
+        }
+        if (Character.isLowSurrogate(c)) {
+            return i == 0 || !Character.isHighSurrogate(s.charAt(i - 1));
+        }
+        return false;
+    }
+
+    private void escape(char c) {
+        chars[length++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                chars[length++] = c;
+                break;
+            case '\n':
+                chars[length++] = 'n';
+                break;
+            case '\r':
+                chars[length++] = 'r';
+                break;
+            case '\t':
+                chars[length++] = 't';
+                break;
+            case '\b':
+                chars[length++] = 'b';
+                break;
+            case '\f':
+                chars[length++] = 'f';
+                break;
+            default:
+                chars[length++] = 'u';
+                chars[length++] = HEX[c >> 12];
+                chars[length++] = HEX[c >> 8 & 0xF];
+                chars[length++] = HEX[c >> 4 & 0xF];
+                chars[length++] = HEX[c & 0xF];
+        }
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        chars[length++] = c;
+    }
+
+    private void ensureCapacity(int more) {
+        if (length + more > chars.length) {
+            char[] grown = new char[Math.max(length + more, chars.length * 2)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.BatchResult;
+import com.library.service.LibraryService;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Pull reader for the loan report written by {@link JsonReportExporter}: a JSON
+ * array of {@code {"title", "author", "isbn", "borrowedBy"}} objects.
+ *
+ * Each {@link #next()} call parses exactly one array element, so memory stays
+ * constant whatever the file size — there is never a document tree, only a
+ * fixed character buffer and the fields of the current element. Any valid JSON
+ * is accepted: whitespace is free, escapes are decoded, and unknown fields are
+ * skipped whatever their type.
+ *
+ * An element that is well-formed JSON but not a valid loan (a missing field, a
+ * non-string value, a blank title) is skipped and reported, like a malformed CSV
+ * row. Broken JSON syntax throws an {@link IOException} naming the line, since
+ * the reader cannot tell where the next element starts. Elements returned before
+ * that point stay valid, which is what a recovery path needs from a truncated file.
+ *
+ * Item 9: AutoCloseable — use with try-with-resources.
+ * Not thread-safe: a reader is a cursor over one stream.
+ */
+public final class JsonLoanReader implements AutoCloseable {
+
+    private static final int BUFFER_CHARS = 64 << 10;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int MAX_DIAGNOSTICS = 100;
+    private static final int EOF = -1;
+
+    private enum State { BEFORE_ARRAY, ELEMENTS, DONE }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_CHARS];
+    private int position;
+    private int limit;
+    private long charsBefore; // characters consumed before buffer[0]
+    private long line = 1;   // line of buffer[lineMark]
+    private int lineMark;
+    private State state = State.BEFORE_ARRAY;
+    private final StringBuilder text = new StringBuilder();
+
+    private long elements;
+    private long malformed;
+    private final List<ImportReport.MalformedLine> diagnostics = new ArrayList<>();
+
+    private JsonLoanReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Item 1: Static factories — named for their source
+    public static JsonLoanReader open(Path file) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        return new JsonLoanReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /** Reads from {@code reader}, which {@link #close()} closes. */
+    public static JsonLoanReader of(Reader reader) {
+        return new JsonLoanReader(Objects.requireNonNull(reader, "reader must not be null"));
+    }
+
+    /**
+     * Returns the next valid loan, or empty once the array has ended.
+     * Elements that are not valid loans are skipped and counted in {@link #malformed()}.
+     *
+     * @throws IOException on a read failure or broken JSON syntax
+     */
+    public Optional<LoanRecord> next() throws IOException {
+        for (;;) {
+            if (!advanceToElement()) {
+                return Optional.empty();
+            }
+            elements++;
+            peekSignificant();
+            long startLine = currentLine();
+            LoanRecord loan = readLoan();
+            if (loan != null) {
+                return Optional.of(loan);
+            }
+            malformed++;
+            if (diagnostics.size() < MAX_DIAGNOSTICS) {
+                diagnostics.add(new ImportReport.MalformedLine(startLine, text.toString(), ""));
+            }
+        }
+    }
+
+    /**
+     * Registers every book and member in the stream with {@code library} and checks
+     * each book out to its borrower. Books are registered in batches through
+     * {@link LibraryService#registerAllBooks}; a member is registered on their first
+     * loan, and a member the library already has (same id) receives the loans instead.
+     * Memory grows with the number of distinct borrowers, not with the file.
+     * The report's {@link ImportReport#bytes()} counts characters read.
+     *
+     * @throws IOException on a read failure or broken JSON syntax; loans read before
+     *         it stay registered
+     */
+    public ImportReport restoreInto(LibraryService library) throws IOException {
+        Objects.requireNonNull(library, "library must not be null");
+        long start = System.nanoTime();
+        Restore restore = new Restore(library);
+        List<LoanRecord> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            for (Optional<LoanRecord> loan = next(); loan.isPresent(); loan = next()) {
+                batch.add(loan.get());
+                if (batch.size() == BATCH_SIZE) {
+                    restore.add(batch);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Keep the loans read so far, without letting a failure there hide why reading stopped
+            try {
+                restore.add(batch);
+            } catch (RuntimeException restoreFailure) {
+                e.addSuppressed(restoreFailure);
+            }
+            throw e;
+        }
+        restore.add(batch);
+        return new ImportReport(elements, restore.accepted, restore.duplicates, malformed, diagnostics,
+            charsRead(), System.nanoTime() - start);
+    }
+
+    // Item 24: Static member class — the state of one restoreInto call
+    private static final class Restore {
+        private final LibraryService library;
+        private final Map<String, Member> borrowers = new HashMap<>();
+        // Members the library already had, by id; built once, on the first borrower it knows
+        private Map<String, Member> existing;
+        long accepted;
+        long duplicates;
+
+        Restore(LibraryService library) {
+            this.library = library;
+        }
+
+        void add(List<LoanRecord> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Book> books = new ArrayList<>(batch.size());
+            for (LoanRecord loan : batch) {
+                books.add(loan.book());
+            }
+            BatchResult result = library.registerAllBooks(books);
+            accepted += result.accepted();
+            duplicates += result.duplicates();
+            for (LoanRecord loan : batch) {
+                Member member = borrowers.computeIfAbsent(loan.member().getId(), id -> registered(loan.member()));
+                // The catalog's copy, which may share a canonical author string
+                member.checkoutBook(library.findByIsbn(loan.book().getIsbn()).orElse(loan.book()));
+            }
+            batch.clear();
+        }
+
+        private Member registered(Member member) {
+            if (library.registerMember(member)) {
+                return member;
+            }
+            if (existing == null) {
+                existing = new HashMap<>();
+                for (Member known : library.listAllMembers()) {
+                    existing.putIfAbsent(known.getId(), known);
+                }
+            }
+            return existing.getOrDefault(member.getId(), member);
+        }
+    }
+
+    /** Array elements read so far, valid or not. */
+    public long elementsRead() {
+        return elements;
+    }
+
+    /** Elements skipped because they were not valid loans. */
+    public long malformed() {
+        return malformed;
+    }
+
+    /** The first skipped elements, with the line each started on. */
+    public List<ImportReport.MalformedLine> diagnostics() {
+        return List.copyOf(diagnostics);
+    }
+
+    /** Characters consumed from the source so far. */
+    public long charsRead() {
+        return charsBefore + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Consumes the array structure up to the start of the next element; false at the end
+    private boolean advanceToElement() throws IOException {
+        if (state == State.DONE) {
+            return false;
+        }
+        if (state == State.BEFORE_ARRAY) {
+            expect('[');
+            state = State.ELEMENTS;
+            if (peekSignificant() == ']') {
+                read();
+                return endArray();
+            }
+            return true;
+        }
+        int c = readSignificant();
+        if (c == ']') {
+            return endArray();
+        }
+        if (c != ',') {
+            throw syntax("expected ',' or ']'", c);
+        }
+        return true;
+    }
+
+    private boolean endArray() throws IOException {
+        state = State.DONE;
+        int c = readSignificant();
+        if (c != EOF) {
+            throw syntax("expected end of input after ']'", c);
+        }
+        return false;
+    }
+
+    // Parses one object; returns null with the reason in 'text' if it is not a valid loan
+    private LoanRecord readLoan() throws IOException {
+        String title = null;
+        String author = null;
+        String isbn = null;
+        String borrowedBy = null;
+        String problem = null;
+        expect('{');
+        if (peekSignificant() == '}') {
+            read();
+        } else {
+            for (;;) {
+                expect('"');
+                String name = readString();
+                expect(':');
+                if (name.equals("title")) {
+                    title = readStringValue();
+                } else if (name.equals("author")) {
+                    author = readStringValue();
+                } else if (name.equals("isbn")) {
+                    isbn = readStringValue();
+                } else if (name.equals("borrowedBy")) {
+                    borrowedBy = readStringValue();
+                } else {
+                    skipValue();
+                    text.setLength(0);
+                }
+                if (problem == null && text.length() > 0) {
+                    // readStringValue leaves its complaint in 'text'
+                    problem = "field \"" + name + "\": " + text;
+                }
+                int c = readSignificant();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw syntax("expected ',' or '}'", c);
+                }
+            }
+        }
+        if (problem == null) {
+            problem = missing(title, author, isbn, borrowedBy);
+        }
+        if (problem == null) {
+            try {
+                Book book = Book.create(title, author, isbn);
+                return new LoanRecord(book, Member.builder().id(borrowedBy).name(borrowedBy).build());
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                problem = e.getMessage();
+            }
+        }
+        text.setLength(0);
+        text.append(problem);
+        return null;
+    }
+
+    private static String missing(String title, String author, String isbn, String borrowedBy) {
+        if (title == null) {
+            return "missing field \"title\"";
+        }
+        if (author == null) {
+            return "missing field \"author\"";
+        }
+        if (isbn == null) {
+            return "missing field \"isbn\"";
+        }
+        return borrowedBy == null ? "missing field \"borrowedBy\"" : null;
+    }
+
+    // A loan field must be a string. Anything else is skipped and described in 'text';
+    // 'text' is left empty on success
+    private String readStringValue() throws IOException {
+        if (peekSignificant() == '"') {
+            read();
+            String value = readString();
+            text.setLength(0);
+            return value;
+        }
+        skipValue();
+        text.setLength(0);
+        text.append("value is not a string");
+        return null;
+    }
+
+    // Reads the rest of a string whose opening quote was consumed, decoding escapes
+    private String readString() throws IOException {
+        text.setLength(0);
+        for (;;) {
+            if (position == limit && !fill()) {
+                throw syntax("unterminated string", EOF);
+            }
+            // Fast path: copy the run of plain characters in one append
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"' || c == '\\' || c < 0x20) {
+                    break;
+                }
+                position++;
+            }
+            text.append(buffer, start, position - start);
+            if (position == limit) {
+                continue;
+            }
+            char c = buffer[position++];
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c != '\\') {
+                throw syntax("control character in string", c);
+            }
+            text.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntax("invalid \\u escape", c);
+                    }
+                    code = code << 4 | digit;
+                }
+                return (char) code; // surrogate pairs arrive as two escapes and stay paired
+            default:
+                throw syntax("invalid escape", c);
+        }
+    }
+
+    // Skips one value of any type, tracking nesting without building anything
+    private void skipValue() throws IOException {
+        int c = readSignificant();
+        if (c == '"') {
+            readString();
+            return;
+        }
+        if (c == '{' || c == '[') {
+            int depth = 1;
+            while (depth > 0) {
+                c = read();
+                if (c == EOF) {
+                    throw syntax("unterminated value", c);
+                }
+                if (c == '"') {
+                    readString();
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+            return;
+        }
+        // A number or literal: everything up to the next delimiter
+        if (c == EOF || c == ',' || c == '}' || c == ']' || c == ':') {
+            throw syntax("expected a value", c);
+        }
+        for (int next = peek(); next != EOF && next != ',' && next != '}' && next != ']'
+                && !Character.isWhitespace(next); next = peek()) {
+            read();
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = readSignificant();
+        if (c != expected) {
+            throw syntax("expected '" + expected + "'", c);
+        }
+    }
+
+    private int readSignificant() throws IOException {
+        int c = peekSignificant();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    // Skips whitespace and returns the next character without consuming it
+    private int peekSignificant() throws IOException {
+        for (;;) {
+            int c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        currentLine(limit);
+        lineMark = 0;
+        charsBefore += limit;
+        position = 0;
+        limit = 0;
+        int n;
+        do {
+            n = reader.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    private long currentLine() {
+        return currentLine(position);
+    }
+
+    // Counts newlines lazily, only when a line number is asked for, so the hot
+    // paths never look at line breaks; each character is counted at most once
+    private long currentLine(int upTo) {
+        for (int i = lineMark; i < upTo; i++) {
+            if (buffer[i] == '\n') {
+                line++;
+            }
+        }
+        lineMark = Math.max(lineMark, upTo);
+        return line;
+    }
+
+    private IOException syntax(String message, int found) {
+        long at = currentLine(Math.min(position, limit));
+        String actual = found == EOF ? "end of input" : "'" + (char) found + "'";
+        return new IOException("Malformed JSON at line " + at + ": " + message + ", found " + actual);
+    }
+}
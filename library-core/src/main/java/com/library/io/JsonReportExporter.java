@@ -5,37 +5,79 @@ import com.library.core.Member;
 import java.io.IOException;
 import java.io.Writer;
 
+/**
+ * Writes loans as a JSON array of {@code {"title", "author", "isbn", "borrowedBy"}}
+ * objects, one per line, through a streaming {@link JsonGenerator}.
+ *
+ * Thread-safe, as {@link ReportExporter} requires: the state of an export — the
+ * generator, which knows whether the next element needs a comma — is kept per
+ * writer, so one exporter can serve any number of concurrent exports, each on its
+ * own writer. An {@link ExportContext} writer, such as a shard of a
+ * {@link ShardedReportExport}, holds the state itself; for any other writer it is
+ * found in a lock-free table keyed by the writer's identity. An export's state is
+ * dropped at {@link #exportFooter}, or with its writer if the export is abandoned.
+ * Loans exported without a header continue an array opened elsewhere.
+ */
 public final class JsonReportExporter implements ReportExporter {
-    private boolean first = true;
+
+    // For writers that are not export contexts; weak keys, as a generator never references its writer
+    private final WriterStates<JsonGenerator> exports = new WriterStates<>();
 
     @Override
     public void exportHeader(Writer writer) throws IOException {
-        writer.write("[\n");
-        first = true;
+        JsonGenerator json = new JsonGenerator();
+        if (writer instanceof ExportContext) {
+            ((ExportContext) writer).exportState(json);
+        } else {
+            exports.put(writer, json);
+        }
+        json.startArray().writeTo(writer);
     }
 
     @Override
     public void exportLoan(Writer writer, Book book, Member member) throws IOException {
-        if (!first) {
-            writer.write(",\n");
-        }
-        String json = String.format(
-            "  {\"title\":\"%s\",\"author\":\"%s\",\"isbn\":\"%s\",\"borrowedBy\":\"%s\"}",
-            escape(book.getTitle()),
-            escape(book.getAuthor()),
-            escape(book.getIsbn()),
-            escape(member.getName())
-        );
-        writer.write(json);
-        first = false;
+        generator(writer)
+            .startObject()
+            .field("title", book.getTitle())
+            .field("author", book.getAuthor())
+            .field("isbn", book.getIsbn())
+            .field("borrowedBy", member.getName())
+            .endObject()
+            .writeTo(writer);
     }
 
     @Override
     public void exportFooter(Writer writer) throws IOException {
-        writer.write("\n]\n");
+        JsonGenerator json;
+        if (writer instanceof ExportContext) {
+            ExportContext context = (ExportContext) writer;
+            Object state = context.exportState();
+            context.exportState(null);
+            json = state instanceof JsonGenerator ? (JsonGenerator) state : null;
+        } else {
+            json = exports.remove(writer);
+        }
+        if (json == null) {
+            json = JsonGenerator.insideArray();
+        }
+        json.endArray().lineBreak().writeTo(writer);
+    }
+
+    private JsonGenerator generator(Writer writer) {
+        if (!(writer instanceof ExportContext)) {
+            return exports.computeIfAbsent(writer, JsonGenerator::insideArray);
+        }
+        ExportContext context = (ExportContext) writer;
+        if (context.exportState() instanceof JsonGenerator) {
+            return (JsonGenerator) context.exportState();
+        }
+        JsonGenerator json = JsonGenerator.insideArray();
+        context.exportState(json);
+        return json;
     }
 
-    private String escape(String s) {
-        return s.replace("\"", "\\\"");
+    // Writers holding an export's state in the fallback table, for tests
+    int trackedWriters() {
+        return exports.size();
     }
-}
\ No newline at end of file
+}
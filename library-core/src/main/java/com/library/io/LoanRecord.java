@@ -0,0 +1,32 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+
+/**
+ * One loan read back from an exported report: the book and who borrowed it.
+ *
+ * Reports carry only the borrower's name, so the member is rebuilt with that
+ * name as both id and name.
+ *
+ * Item 17: Immutable value — a Member's loans are mutable, but this record never touches them.
+ */
+public final class LoanRecord {
+
+    private final Book book;
+    private final Member member;
+
+    LoanRecord(Book book, Member member) {
+        this.book = book;
+        this.member = member;
+    }
+
+    public Book book() { return book; }
+
+    public Member member() { return member; }
+
+    @Override
+    public String toString() {
+        return "LoanRecord{isbn='" + book.getIsbn() + "', borrowedBy='" + member.getName() + "'}";
+    }
+}
@@ -0,0 +1,267 @@
+package com.library.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A gzip {@link OutputStream} that compresses on several threads, in the manner of
+ * pigz: the stream is cut into blocks of {@link Builder#blockSize} bytes, each block
+ * is deflated on a fork-join pool into a complete gzip member of its own, and the
+ * members are written to the underlying stream in order.
+ *
+ * RFC 1952 defines a gzip file as a series of members, so the output is a valid
+ * gzip file that {@code gunzip}, {@code zcat} and {@link java.util.zip.GZIPInputStream}
+ * read as the concatenation of the blocks. Blocks are compressed without the
+ * previous block as a dictionary, which costs a little ratio at each boundary; at
+ * the default 128 KB that is around one percent.
+ *
+ * Wrap in an {@link java.io.OutputStreamWriter} to take a report from any
+ * {@link ReportExporter}, or use {@link ReportWriter#forCompressedCsvReport}.
+ * Memory stays bounded: about twice the pool's parallelism blocks are compressed
+ * ahead of the one being written. {@link #flush} ends the current block early, so
+ * frequent flushing makes the file larger.
+ *
+ * Not thread-safe, like {@link java.util.zip.GZIPOutputStream}: one thread writes.
+ * Item 9: use with try-with-resources — the last block is written on close.
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+    private static final int DEFAULT_BLOCK_SIZE = 128 << 10;
+    // ID1, ID2, CM = deflate, no flags, no modification time, no extra flags, OS unknown
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_BYTES = 8;
+
+    private final OutputStream out;
+    private final int blockSize;
+    private final int level;
+    private final ForkJoinPool pool;
+    private final int window;
+    private final Deque<ForkJoinTask<ByteBuffer>> inFlight = new ArrayDeque<>();
+    // Deflaters hold native memory; reuse them across blocks and end them on close
+    private final Queue<Deflater> idle = new ConcurrentLinkedQueue<>();
+    private byte[] block;
+    private int length;
+    private boolean membersWritten;
+    private boolean closed;
+    // Set by close before it ends the idle deflaters; a compression finishing later ends its own
+    private volatile boolean deflatersEnded;
+
+    private ParallelGzipOutputStream(OutputStream out, Builder builder) {
+        this.out = out;
+        this.blockSize = builder.blockSize;
+        this.level = builder.level;
+        this.pool = builder.pool;
+        this.window = pool.getParallelism() * 2;
+        this.block = new byte[blockSize];
+    }
+
+    // Item 1: Static factory for the common case
+    public static ParallelGzipOutputStream create(OutputStream out) {
+        return builder().build(out);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[length++] = (byte) b;
+        if (length == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int count) throws IOException {
+        Objects.checkFromIndexSize(offset, count, bytes.length);
+        ensureOpen();
+        while (count > 0) {
+            int n = Math.min(count, blockSize - length);
+            System.arraycopy(bytes, offset, block, length, n);
+            length += n;
+            offset += n;
+            count -= n;
+            if (length == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /** Ends the current block, writes every block so far and flushes the underlying stream. */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (length > 0) {
+            submitBlock();
+        }
+        while (!inFlight.isEmpty()) {
+            writeMember(await(inFlight.removeFirst()));
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try {
+                // An empty stream still needs one member to be a gzip file
+                if (length > 0 || !membersWritten && inFlight.isEmpty()) {
+                    submitBlock();
+                }
+                while (!inFlight.isEmpty()) {
+                    writeMember(await(inFlight.removeFirst()));
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            // Cancelling does not stop a block already being compressed; such a task ends its own deflater
+            inFlight.forEach(task -> task.cancel(true));
+            inFlight.clear();
+            deflatersEnded = true;
+            endIdleDeflaters();
+        }
+    }
+
+    private void endIdleDeflaters() {
+        for (Deflater deflater = idle.poll(); deflater != null; deflater = idle.poll()) {
+            deflater.end();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] full = block;
+        int size = length;
+        inFlight.addLast(pool.submit(() -> compress(full, size)));
+        block = new byte[blockSize];
+        length = 0;
+        if (inFlight.size() >= window) {
+            writeMember(await(inFlight.removeFirst()));
+        }
+    }
+
+    private void writeMember(ByteBuffer member) throws IOException {
+        out.write(member.array(), 0, member.limit());
+        membersWritten = true;
+    }
+
+    // One block as a complete gzip member: header, raw deflate data, CRC-32 and length
+    private ByteBuffer compress(byte[] data, int size) {
+        Deflater deflater = idle.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+        try {
+            deflater.setInput(data, 0, size);
+            deflater.finish();
+            byte[] member = new byte[HEADER.length + size / 2 + 64];
+            System.arraycopy(HEADER, 0, member, 0, HEADER.length);
+            int end = HEADER.length;
+            while (!deflater.finished()) {
+                if (end == member.length) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                end += deflater.deflate(member, end, member.length - end);
+            }
+            if (member.length - end < TRAILER_BYTES) {
+                member = Arrays.copyOf(member, end + TRAILER_BYTES);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, size);
+            return ByteBuffer.wrap(member).order(ByteOrder.LITTLE_ENDIAN)
+                .position(end)
+                .putInt((int) crc.getValue())
+                .putInt(size)
+                .flip();
+        } finally {
+            deflater.reset();
+            idle.offer(deflater);
+            // Returned after close emptied the queue: nobody else will end it
+            if (deflatersEnded) {
+                endIdleDeflaters();
+            }
+        }
+    }
+
+    private static ByteBuffer await(ForkJoinTask<ByteBuffer> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compression interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Item 2: Builder — every setting is optional
+    public static final class Builder {
+        private int blockSize = DEFAULT_BLOCK_SIZE;
+        private int level = Deflater.DEFAULT_COMPRESSION;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        private Builder() {
+        }
+
+        /** Uncompressed bytes per gzip member; larger blocks compress slightly better. */
+        public Builder blockSize(int blockSize) {
+            if (blockSize <= 0) {
+                throw new IllegalArgumentException("blockSize must be positive");
+            }
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /** Deflate level, 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}. */
+        public Builder level(int level) {
+            if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+                throw new IllegalArgumentException("level must be between 0 and 9");
+            }
+            this.level = level;
+            return this;
+        }
+
+        /** Pool the blocks are compressed on; the common pool by default. */
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool, "pool must not be null");
+            return this;
+        }
+
+        public ParallelGzipOutputStream build(OutputStream out) {
+            return new ParallelGzipOutputStream(Objects.requireNonNull(out, "out must not be null"), this);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.library.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A {@link Writer} onto a file through a {@link FileChannel} and pooled direct
+ * {@link ByteBuffer}s, with an explicit charset — the destination for a report from
+ * any {@link ReportExporter}.
+ *
+ * {@code Files.newBufferedWriter} copies chars into its own buffer, encodes them
+ * into a heap byte array and lets the channel copy that into a temporary direct
+ * buffer before each 8 KB write. Here the caller's chars are encoded where they
+ * lie into a small heap staging array, moved in one bulk copy into a
+ * {@link #BUFFER_BYTES} direct buffer, and each write call moves a full buffer.
+ *
+ * Encoding targets a heap array on purpose: that is where the JDK's UTF-8 and
+ * ISO-8859-1 encoders run their vectorized ASCII loop, an order of magnitude faster
+ * than a char-by-char loop; into a direct buffer they put one byte at a time.
+ * Unmappable characters and unpaired surrogates become the charset's replacement,
+ * {@code '?'}, as {@code String.getBytes} does; a surrogate pair split across two
+ * writes is joined.
+ *
+ * Direct buffers are expensive to allocate and are freed only by the garbage
+ * collector, so they are pooled: a sink takes one on open and gives it back on
+ * close. Item 9: use with try-with-resources — an unclosed sink keeps its buffer
+ * out of the pool and its last bytes unwritten.
+ *
+ * Thread-safe like other writers: each call is atomic with respect to the others.
+ */
+public final class ReportSink extends Writer {
+
+    /** Size of each pooled buffer, and so of each write to the channel. */
+    public static final int BUFFER_BYTES = 256 << 10;
+
+    private static final int POOLED_BUFFERS = 16;
+    private static final int SCRATCH_CHARS = 8 << 10;
+    private static final int STAGING_BYTES = 32 << 10;
+    private static final BlockingQueue<ByteBuffer> POOL = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    // Encoder output on its way to the direct buffer; array-backed, see the class comment
+    private final ByteBuffer staging = ByteBuffer.allocate(STAGING_BYTES);
+    private final char[] pair = new char[2];
+    private final CharBuffer pairInput = CharBuffer.wrap(pair);
+    private ByteBuffer buffer;
+    private char[] scratch;
+    // The caller's last char array, wrapped once: exporters write every row from the same array
+    private char[] wrapped;
+    private CharBuffer input;
+    private char pendingHigh; // high surrogate that ended the previous write, or 0
+    private long bytesWritten;
+
+    private ReportSink(FileChannel channel, Charset charset) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer pooled = POOL.poll();
+        this.buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(BUFFER_BYTES);
+    }
+
+    /** Creates or truncates {@code file} and writes UTF-8 to it. */
+    public static ReportSink open(Path file) throws IOException {
+        return open(file, StandardCharsets.UTF_8);
+    }
+
+    /** Creates or truncates {@code file} and writes to it in {@code charset}. */
+    public static ReportSink open(Path file, Charset charset) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(charset, "charset must not be null");
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new ReportSink(channel, charset);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        synchronized (lock) {
+            ensureOpen();
+            encode(chars, offset, offset + length);
+        }
+    }
+
+    @Override
+    public void write(String s, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, s.length());
+        synchronized (lock) {
+            ensureOpen();
+            if (scratch == null) {
+                scratch = new char[SCRATCH_CHARS];
+            }
+            for (int from = offset, end = offset + length; from < end; from += SCRATCH_CHARS) {
+                int count = Math.min(SCRATCH_CHARS, end - from);
+                s.getChars(from, from + count, scratch, 0);
+                encode(scratch, 0, count);
+            }
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            encode(new char[] {(char) c}, 0, 1);
+        }
+    }
+
+    /** Bytes handed to the channel so far, not counting those still buffered. */
+    public long bytesWritten() {
+        synchronized (lock) {
+            return bytesWritten;
+        }
+    }
+
+    /** Writes out the buffered bytes; no {@code force}, so not a durability point. */
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            drain();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (buffer == null) {
+                return;
+            }
+            try {
+                try {
+                    finish();
+                    drain();
+                } finally {
+                    channel.close();
+                }
+            } finally {
+                buffer.clear();
+                POOL.offer(buffer);
+                buffer = null;
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Sink closed");
+        }
+    }
+
+    private void encode(char[] chars, int from, int to) throws IOException {
+        if (from == to) {
+            return;
+        }
+        if (pendingHigh != 0) {
+            // Rejoin the half pair left over from the previous write with this write's first char
+            pair[0] = pendingHigh;
+            pair[1] = chars[from++];
+            pendingHigh = 0;
+            encode(pairInput.clear());
+        }
+        if (chars != wrapped) {
+            wrapped = chars;
+            input = CharBuffer.wrap(chars);
+        }
+        input.clear();
+        input.limit(to).position(from);
+        encode(input);
+    }
+
+    private void encode(CharBuffer in) throws IOException {
+        for (;;) {
+            CoderResult result = encoder.encode(in, staging, false);
+            if (result.isOverflow()) {
+                transfer();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException(); // not reached: errors are replaced
+            }
+        }
+        if (in.hasRemaining()) {
+            pendingHigh = in.get(); // a high surrogate whose low half has not been written yet
+        }
+    }
+
+    // End of input: a dangling high surrogate is unpaired, and stateful encoders may owe bytes
+    private void finish() throws IOException {
+        CharBuffer in = pairInput.clear().limit(pendingHigh != 0 ? 1 : 0);
+        pair[0] = pendingHigh;
+        pendingHigh = 0;
+        while (encoder.encode(in, staging, true).isOverflow()) {
+            transfer();
+        }
+        while (encoder.flush(staging).isOverflow()) {
+            transfer();
+        }
+    }
+
+    // Moves the staged bytes into the direct buffer in one bulk copy
+    private void transfer() throws IOException {
+        staging.flip();
+        if (buffer.remaining() < staging.remaining()) {
+            writeBuffer();
+        }
+        buffer.put(staging);
+        staging.clear();
+    }
+
+    private void drain() throws IOException {
+        transfer();
+        writeBuffer();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -3,8 +3,12 @@ package com.library.io;
 import com.library.core.Book;
 import com.library.core.Member;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
@@ -17,18 +21,35 @@ import java.util.Objects;
 // Use composition (e.g., wrap in another writer) if extension is needed.
 public final class ReportWriter implements AutoCloseable {
 
-    private final BufferedWriter writer;
+    private final Writer writer;
 
     // Item 1: Private constructor — enforce creation via static factory
-    private ReportWriter(Path filePath) throws IOException {
+    private ReportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    private static Path checkPath(Path filePath) {
         // Item 49: Explicit null check with clear message
-        Objects.requireNonNull(filePath, "filePath must not be null");
-        this.writer = Files.newBufferedWriter(filePath);
+        return Objects.requireNonNull(filePath, "filePath must not be null");
     }
 
     // Item 1: Static factory method — named, readable, extensible
     public static ReportWriter forCsvReport(Path filePath) throws IOException {
-        return new ReportWriter(filePath);
+        return forCsvReport(filePath, StandardCharsets.UTF_8);
+    }
+
+    /** A CSV report in {@code charset}; characters it cannot encode are replaced. */
+    public static ReportWriter forCsvReport(Path filePath, Charset charset) throws IOException {
+        return new ReportWriter(ReportSink.open(checkPath(filePath), charset));
+    }
+
+    /**
+     * A gzip-compressed UTF-8 CSV report, compressed on the common pool in
+     * independent blocks; see {@link ParallelGzipOutputStream}.
+     */
+    public static ReportWriter forCompressedCsvReport(Path filePath) throws IOException {
+        OutputStream file = Files.newOutputStream(checkPath(filePath));
+        return new ReportWriter(new OutputStreamWriter(ParallelGzipOutputStream.create(file), StandardCharsets.UTF_8));
     }
 
     public void writeHeader() throws IOException {
@@ -40,12 +61,13 @@ public final class ReportWriter implements AutoCloseable {
         Objects.requireNonNull(book, "book must not be null");
         Objects.requireNonNull(member, "member must not be null");
 
-        String line = String.format("%s,%s,%s,%s%n",
-                book.getTitle(),
-                book.getAuthor(),
-                book.getIsbn(),
-                member.getName());
-        writer.write(line);
+        // Item 67: No String.format per row — fields go straight into a reused buffer, quoted per RFC 4180
+        CsvRow.get()
+            .field(book.getTitle())
+            .field(book.getAuthor())
+            .field(book.getIsbn())
+            .field(member.getName())
+            .writeTo(writer);
     }
 
     @Override
@@ -0,0 +1,219 @@
+package com.library.io;
+
+import com.library.service.Loan;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Renders a loan report through any {@link ReportExporter} on several threads.
+ *
+ * The loans are cut into shards of {@link Builder#shardSize} consecutive loans.
+ * Each shard is rendered on a fork-join pool into a buffer of its own, and the
+ * calling thread writes the finished buffers to the output in order, between the
+ * exporter's header and footer. The report is the one a single-threaded export of
+ * the same list writes.
+ *
+ * Separators between loans, such as the comma between JSON array elements, depend
+ * on whether a loan is the first of the export. To keep them right without knowing
+ * the format, a shard is rendered starting one loan early, with the last loan of
+ * the shard before it, and that loan's output is dropped. A shard therefore
+ * continues exactly where the previous one stopped. Any exporter whose output for
+ * a loan depends only on the loan and its position qualifies, which includes
+ * {@link CsvReportExporter} and {@link JsonReportExporter}. Exporters must be
+ * thread-safe, as {@link ReportExporter} requires.
+ *
+ * Memory stays bounded: only about twice the pool's parallelism shards are
+ * rendered ahead of the one being written.
+ *
+ * Item 17: Immutable and thread-safe — one instance can run several exports at once.
+ */
+public final class ShardedReportExport {
+
+    private static final int DEFAULT_SHARD_SIZE = 10_000;
+
+    private final int shardSize;
+    private final ForkJoinPool pool;
+
+    private ShardedReportExport(Builder builder) {
+        this.shardSize = builder.shardSize;
+        this.pool = builder.pool;
+    }
+
+    // Item 1: Static factory for the common case
+    public static ShardedReportExport create() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Writes the header, every loan of {@code loans} in list order, and the footer.
+     * The list must not change during the export.
+     *
+     * @return the number of loans written
+     * @throws IOException if rendering or writing fails; part of the report may have been written
+     */
+    public long export(ReportExporter exporter, List<Loan> loans, Writer writer) throws IOException {
+        Objects.requireNonNull(exporter, "exporter must not be null");
+        Objects.requireNonNull(loans, "loans must not be null");
+        Objects.requireNonNull(writer, "writer must not be null");
+        exporter.exportHeader(writer);
+        int shards = (int) (((long) loans.size() + shardSize - 1) / shardSize); // long: no overflow near MAX_VALUE
+        // Bounded look-ahead: enough shards in flight to keep every worker busy,
+        // few enough that rendered-but-unwritten text stays small
+        int window = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<ShardBuffer>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (next < shards || !inFlight.isEmpty()) {
+                while (next < shards && inFlight.size() < window) {
+                    int from = next * shardSize;
+                    int to = from + Math.min(loans.size() - from, shardSize);
+                    inFlight.addLast(pool.submit(() -> render(exporter, loans, from, to)));
+                    next++;
+                }
+                await(inFlight.removeFirst()).writeTo(writer);
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+        exporter.exportFooter(writer);
+        return loans.size();
+    }
+
+    // Unchecked, because a fork-join task wraps a checked exception beyond recognition
+    private static ShardBuffer render(ReportExporter exporter, List<Loan> loans, int from, int to) {
+        ShardBuffer buffer = new ShardBuffer();
+        try {
+            if (from > 0) {
+                // The previous shard's last loan, rendered only so the next one is rendered as a continuation
+                Loan previous = loans.get(from - 1);
+                exporter.exportLoan(buffer, previous.book(), previous.member());
+                buffer.skipWritten();
+            }
+            for (Loan loan : loans.subList(from, to)) {
+                exporter.exportLoan(buffer, loan.book(), loan.member());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    private static ShardBuffer await(ForkJoinTask<ShardBuffer> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Item 24: Static member class — one shard's rendered text; confined to one worker, then to the writing thread.
+    // An export context, so a stateful exporter keeps the shard's state here rather than in a shared table.
+    private static final class ShardBuffer extends Writer implements ExportContext {
+        private char[] chars = new char[8192];
+        private int length;
+        private int start;
+        private Object exportState;
+
+        @Override
+        public Object exportState() {
+            return exportState;
+        }
+
+        @Override
+        public void exportState(Object state) {
+            exportState = state;
+        }
+
+        @Override
+        public void write(char[] source, int offset, int count) {
+            Objects.checkFromIndexSize(offset, count, source.length);
+            if (length + count > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(length + count, chars.length * 2));
+            }
+            System.arraycopy(source, offset, chars, length, count);
+            length += count;
+        }
+
+        @Override
+        public void write(String s, int offset, int count) {
+            Objects.checkFromIndexSize(offset, count, s.length());
+            if (length + count > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(length + count, chars.length * 2));
+            }
+            s.getChars(offset, offset + count, chars, length);
+            length += count;
+        }
+
+        // Everything written so far is left out of writeTo
+        void skipWritten() {
+            start = length;
+        }
+
+        void writeTo(Writer writer) throws IOException {
+            writer.write(chars, start, length - start);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Item 2: Builder — every setting is optional
+    public static final class Builder {
+        private int shardSize = DEFAULT_SHARD_SIZE;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        private Builder() {
+        }
+
+        /** Loans per shard. */
+        public Builder shardSize(int shardSize) {
+            if (shardSize <= 0) {
+                throw new IllegalArgumentException("shardSize must be positive");
+            }
+            this.shardSize = shardSize;
+            return this;
+        }
+
+        /** Pool the shards are rendered on; the common pool by default. */
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool, "pool must not be null");
+            return this;
+        }
+
+        public ShardedReportExport build() {
+            return new ShardedReportExport(this);
+        }
+    }
+}
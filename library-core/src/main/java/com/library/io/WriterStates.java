@@ -0,0 +1,108 @@
+package com.library.io;
+
+import java.io.Writer;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-writer export state for writers that are not {@link ExportContext}s: a
+ * {@link ConcurrentHashMap} keyed by writer identity, so lookups take no lock and
+ * exports on different writers never contend.
+ *
+ * Keys are weak, so the state of an export abandoned before its footer goes with
+ * its writer. Entries of collected writers are purged whenever state is stored,
+ * never on a lookup, which keeps the per-row path to one map read.
+ *
+ * @param <S> the state type
+ */
+final class WriterStates<S> {
+
+    private final ConcurrentMap<Object, S> states = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Writer> collected = new ReferenceQueue<>();
+
+    S get(Writer writer) {
+        return states.get(new Lookup(writer));
+    }
+
+    S computeIfAbsent(Writer writer, Supplier<S> state) {
+        S current = get(writer);
+        if (current != null) {
+            return current;
+        }
+        purge();
+        return states.computeIfAbsent(new WeakKey(writer, collected), key -> state.get());
+    }
+
+    void put(Writer writer, S state) {
+        purge();
+        states.put(new WeakKey(writer, collected), state);
+    }
+
+    S remove(Writer writer) {
+        return states.remove(new Lookup(writer));
+    }
+
+    int size() {
+        purge();
+        return states.size();
+    }
+
+    private void purge() {
+        for (Reference<? extends Writer> key = collected.poll(); key != null; key = collected.poll()) {
+            states.remove(key);
+        }
+    }
+
+    // Equal to the key of the same writer; lives only for one lookup
+    private static final class Lookup {
+        private final Writer writer;
+
+        Lookup(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof WeakKey && ((WeakKey) other).get() == writer;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(writer);
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Writer> {
+        private final int hash;
+
+        WeakKey(Writer writer, ReferenceQueue<Writer> queue) {
+            super(writer, queue);
+            this.hash = System.identityHashCode(writer);
+        }
+
+        // A cleared key equals only itself, so purge can still remove it
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Writer writer = get();
+            if (writer == null) {
+                return false;
+            }
+            if (other instanceof WeakKey) {
+                return ((WeakKey) other).get() == writer;
+            }
+            return other instanceof Lookup && ((Lookup) other).writer == writer;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
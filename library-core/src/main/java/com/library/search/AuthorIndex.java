@@ -0,0 +1,77 @@
+package com.library.search;
+
+import com.library.core.Book;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Author → ids of that author's books, in registration order, doubling as the
+ * dictionary of author strings.
+ *
+ * Each distinct author has one entry holding its canonical string and a growable
+ * {@code int[]} of ids, so books that adopt the canonical string through
+ * {@link #intern} share it, and the dictionary costs nothing beyond the index itself.
+ * Lookups are exact and O(1) in the catalog size.
+ *
+ * Item 82: {@link #intern} is thread-safe and may race with anything;
+ * {@link #add} and {@link #booksBy} must be serialized against each other by the caller.
+ */
+public final class AuthorIndex implements BookIndex {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance equal to {@code author}, making {@code author}
+     * itself canonical if the author is new. Books should be created with the
+     * returned string before they are registered.
+     */
+    public String intern(String author) {
+        Objects.requireNonNull(author, "author must not be null");
+        Entry entry = entries.get(author); // plain read on the common, already-known path
+        if (entry == null) {
+            entry = entries.computeIfAbsent(author, Entry::new);
+        }
+        return entry.author;
+    }
+
+    @Override
+    public void add(int id, Book book) {
+        entries.computeIfAbsent(book.getAuthor(), Entry::new).add(id);
+    }
+
+    /**
+     * Returns the ids of every book by {@code author}, oldest first.
+     */
+    public int[] booksBy(String author) {
+        Objects.requireNonNull(author, "author must not be null");
+        Entry entry = entries.get(author);
+        return entry == null ? NO_IDS : Arrays.copyOf(entry.ids, entry.size);
+    }
+
+    /** Number of distinct authors known, including interned authors with no books yet. */
+    public int authorCount() {
+        return entries.size();
+    }
+
+    // Item 24: Static member class — never needs the enclosing index
+    private static final class Entry {
+        private final String author;
+        private int[] ids = NO_IDS;
+        private int size;
+
+        Entry(String author) {
+            this.author = author;
+        }
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, size * 2));
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.library.search;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter over strings: answers "definitely absent" or "maybe present".
+ *
+ * The filter is a chain of slices. When the newest slice has taken as many keys as
+ * it was sized for, a slice four times as large with half the false-positive rate
+ * is appended. The first slice gets half the configured rate, so the rates form a
+ * series summing to the configured one, which therefore bounds the compound rate
+ * however far the set grows (Almeida et al., "Scalable Bloom Filters").
+ *
+ * Item 81 + Item 82: Thread-safe and lock-free on both paths — bits live in an
+ * {@link AtomicLongArray} and are only ever set, never cleared. Only appending a
+ * slice takes a lock, once per quadrupling. There are no false negatives: once
+ * {@link #add} returns, {@link #mightContain} is true for that key on every thread.
+ */
+public final class BloomFilter {
+
+    // Each new slice quadruples in capacity and halves its false-positive rate
+    private static final int GROWTH = 4;
+    private static final double TIGHTENING = 0.5;
+
+    private final double falsePositiveRate;
+    private volatile Slice[] slices; // copy-on-write; the last slice takes new keys
+
+    /**
+     * @param falsePositiveRate target rate, in (0, 1); bounds the compound rate at any size
+     * @param initialCapacity keys the first slice is sized for
+     */
+    public BloomFilter(double falsePositiveRate, int initialCapacity) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.slices = new Slice[] {new Slice(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    public void add(String key) {
+        long hash = hash(Objects.requireNonNull(key, "key must not be null"));
+        // A key whose bits are all set already reads as present, and bits are never
+        // cleared — skipping it keeps repeated keys from using up slice capacity
+        if (mightContain(hash)) {
+            return;
+        }
+        for (;;) {
+            Slice[] current = slices;
+            Slice last = current[current.length - 1];
+            if (last.tryAdd(hash)) {
+                return;
+            }
+            grow(last);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        return mightContain(hash(Objects.requireNonNull(key, "key must not be null")));
+    }
+
+    private boolean mightContain(long hash) {
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void grow(Slice full) {
+        Slice[] current = slices;
+        if (current[current.length - 1] != full) {
+            return; // another thread grew the filter first
+        }
+        long capacity = Math.min((long) full.capacity * GROWTH, Integer.MAX_VALUE / 2);
+        Slice[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = new Slice((int) capacity, full.falsePositiveRate * TIGHTENING);
+        slices = grown;
+    }
+
+    /** The configured target false-positive rate. */
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public int sliceCount() {
+        return slices.length;
+    }
+
+    public long bitCount() {
+        long bits = 0;
+        for (Slice slice : slices) {
+            bits += slice.bitCount;
+        }
+        return bits;
+    }
+
+    /** Keys added so far, not counting keys that already read as present. */
+    public long keyCount() {
+        long keys = 0;
+        for (Slice slice : slices) {
+            keys += Math.min(slice.keys.get(), slice.capacity);
+        }
+        return keys;
+    }
+
+    /** Fraction of all bits that are set. O(bits) — meant for statistics, not hot paths. */
+    public double fillRatio() {
+        long set = 0;
+        for (Slice slice : slices) {
+            set += slice.setBits();
+        }
+        return (double) set / bitCount();
+    }
+
+    /**
+     * Current false-positive probability, estimated from how full each block of each
+     * slice actually is: a miss reads as present when every probed bit of some slice is set.
+     */
+    public double estimatedFalsePositiveRate() {
+        double allSlicesMiss = 1;
+        for (Slice slice : slices) {
+            allSlicesMiss *= 1 - slice.estimatedFalsePositiveRate();
+        }
+        return 1 - allSlicesMiss;
+    }
+
+    // 64-bit FNV-1a over the chars, finished with MurmurHash3's fmix64. String.hashCode
+    // has only 32 bits: ISBNs sharing one would be indistinguishable here.
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Item 24: Static member class — a slice never needs the enclosing filter.
+    // Blocked layout: a key's bits all fall in one 512-bit block (one cache line), so
+    // a probe costs one cache miss per slice instead of one per bit. Blocks fill
+    // unevenly, which costs some accuracy, so slices get BLOCKING_OVERHEAD more bits.
+    private static final class Slice {
+        private static final int WORDS_PER_BLOCK = 8;
+        private static final int BLOCK_BITS = 64 * WORDS_PER_BLOCK;
+        private static final double BLOCKING_OVERHEAD = 1.1;
+        private static final int PROBES_PER_HASH = 7; // 7 x 9 bits from each 64-bit hash
+
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int blockCount;
+        private final int hashCount;
+        private final AtomicLongArray words;
+        private final AtomicInteger keys = new AtomicInteger();
+
+        Slice(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // Optimal sizing: m = -n ln p / (ln 2)^2 bits and k = (m / n) ln 2 hash functions
+            double optimalBits = -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+            this.hashCount = Math.max(1, (int) Math.round(optimalBits / capacity * Math.log(2)));
+            this.blockCount = (int) Math.max(1, Math.ceil(optimalBits * BLOCKING_OVERHEAD / BLOCK_BITS));
+            this.bitCount = (long) blockCount * BLOCK_BITS;
+            this.words = new AtomicLongArray(blockCount * WORDS_PER_BLOCK);
+        }
+
+        // Claims a place first, so a full slice never takes more keys than it was sized for
+        boolean tryAdd(long hash) {
+            if (keys.get() >= capacity || keys.incrementAndGet() > capacity) {
+                return false;
+            }
+            int base = firstWord(hash);
+            long bits = 0;
+            for (int i = 0; i < hashCount; i++) {
+                if (i % PROBES_PER_HASH == 0) {
+                    bits = probeBits(hash, i);
+                }
+                int position = (int) bits & (BLOCK_BITS - 1);
+                bits >>>= 9;
+                int word = base + (position >>> 6);
+                long mask = 1L << position;
+                long old = words.get(word);
+                while ((old & mask) == 0 && !words.compareAndSet(word, old, old | mask)) {
+                    old = words.get(word);
+                }
+            }
+            return true;
+        }
+
+        boolean mightContain(long hash) {
+            int base = firstWord(hash);
+            long bits = 0;
+            for (int i = 0; i < hashCount; i++) {
+                if (i % PROBES_PER_HASH == 0) {
+                    bits = probeBits(hash, i);
+                }
+                int position = (int) bits & (BLOCK_BITS - 1);
+                bits >>>= 9;
+                if ((words.get(base + (position >>> 6)) & (1L << position)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Each probe takes its own 9 bits (one position in the 512-bit block), so probe
+        // patterns are independent; double hashing in so small a range repeats patterns
+        private static long probeBits(long hash, int probe) {
+            return mix(hash + probe * 0x9e3779b97f4a7c15L);
+        }
+
+        // Multiply-shift maps the high 32 hash bits onto [0, blockCount) without a division
+        private int firstWord(long hash) {
+            return (int) (((hash >>> 32) * blockCount) >>> 32) * WORDS_PER_BLOCK;
+        }
+
+        // A miss lands in a uniformly random block and probes hashCount of its bits
+        double estimatedFalsePositiveRate() {
+            double sum = 0;
+            for (int block = 0; block < blockCount; block++) {
+                int set = 0;
+                for (int w = 0; w < WORDS_PER_BLOCK; w++) {
+                    set += Long.bitCount(words.get(block * WORDS_PER_BLOCK + w));
+                }
+                sum += Math.pow((double) set / BLOCK_BITS, hashCount);
+            }
+            return sum / blockCount;
+        }
+
+        long setBits() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return set;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.library.search;
+
+import com.library.core.Book;
+
+/**
+ * A secondary index over the catalog, fed one book at a time.
+ *
+ * Item 20: Interface defines the type — implementations decide the structure.
+ * Ids are the book's position in the catalog, so they are dense, never reused,
+ * and always added in increasing order.
+ */
+public interface BookIndex {
+    void add(int id, Book book);
+}
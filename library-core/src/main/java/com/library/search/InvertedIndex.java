@@ -0,0 +1,313 @@
+package com.library.search;
+
+import com.library.core.Book;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Inverted full-text index over book titles and authors: term → sorted posting list of book ids.
+ *
+ * Terms come from {@link Tokenizer}, so "Café" matches "cafe". Results are ranked by
+ * the sum of each matched term's inverse document frequency, weighted by where it
+ * matched (title counts double), with earlier-registered books first on ties.
+ *
+ * Item 82: Not thread-safe — callers must serialize writes against reads.
+ */
+public final class InvertedIndex implements BookIndex {
+
+    private static final byte TITLE = 1;
+    private static final byte AUTHOR = 2;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double AUTHOR_WEIGHT = 1.0;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int documentCount;
+    private long postingCount;
+
+    @Override
+    public void add(int id, Book book) {
+        addTerms(id, book.getTitle(), TITLE);
+        addTerms(id, book.getAuthor(), AUTHOR);
+        documentCount++;
+    }
+
+    private void addTerms(int id, String text, byte field) {
+        for (String term : Tokenizer.tokenize(text)) {
+            if (postings.computeIfAbsent(term, t -> new PostingList()).add(id, field)) {
+                postingCount++;
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the best-matching books, best first.
+     *
+     * @param query free text; tokenized the same way as indexed text
+     * @param limit maximum number of ids to return
+     */
+    public int[] search(String query, SearchOperator operator, int limit) {
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(operator, "operator must not be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(Tokenizer.tokenize(query))) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            } else if (operator == SearchOperator.AND) {
+                return new int[0]; // a term nobody has — no book can contain all terms
+            }
+        }
+        if (lists.isEmpty() || limit == 0) {
+            return new int[0];
+        }
+        TopK top = new TopK(Math.min(limit, documentCount));
+        if (operator == SearchOperator.AND) {
+            intersect(lists, top);
+        } else {
+            union(lists, top);
+        }
+        return top.idsBestFirst();
+    }
+
+    // Drives the intersection from the rarest term and gallops through the others,
+    // so cost tracks the shortest posting list rather than the longest. Ids are
+    // visited in increasing order and ties go to the lower id, so once the top-k is
+    // full and no book can score above its worst entry, the scan stops early.
+    private void intersect(List<PostingList> lists, TopK top) {
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        double[] idfs = new double[lists.size()];
+        double bound = 0;
+        for (int k = 0; k < lists.size(); k++) {
+            idfs[k] = idf(lists.get(k));
+            bound += idfs[k] * lists.get(k).maxWeight;
+        }
+        PostingList lead = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < lead.size; i++) {
+            if (top.cannotImproveOn(bound)) {
+                return;
+            }
+            int id = lead.ids[i];
+            double score = idfs[0] * lead.weight(i);
+            for (int k = 1; k < lists.size(); k++) {
+                PostingList other = lists.get(k);
+                int position = other.advance(cursors[k], id);
+                cursors[k] = position;
+                if (position == other.size) {
+                    return; // one list is exhausted — nothing further can match
+                }
+                if (other.ids[position] != id) {
+                    continue candidates;
+                }
+                score += idfs[k] * other.weight(position);
+            }
+            top.offer(id, score);
+        }
+    }
+
+    // MaxScore union: lists are ordered by the most they can add to a score. Once the
+    // top-k is full, the low-impact lists whose combined maximum cannot beat its worst
+    // entry become non-essential — they no longer drive candidates and are only
+    // probed (galloping) for books found through the essential lists.
+    private void union(List<PostingList> lists, TopK top) {
+        lists.sort(Comparator.comparingDouble(list -> idf(list) * list.maxWeight));
+        int count = lists.size();
+        double[] idfs = new double[count];
+        double[] upTo = new double[count + 1]; // upTo[k] = best combined score of lists [0, k)
+        for (int k = 0; k < count; k++) {
+            idfs[k] = idf(lists.get(k));
+            upTo[k + 1] = upTo[k] + idfs[k] * lists.get(k).maxWeight;
+        }
+        int[] cursors = new int[count];
+        int essential = 0; // lists [essential, count) drive candidate selection
+        for (;;) {
+            while (essential < count && top.cannotImproveOn(upTo[essential + 1])) {
+                essential++;
+            }
+            int id = Integer.MAX_VALUE;
+            for (int k = essential; k < count; k++) {
+                PostingList list = lists.get(k);
+                if (cursors[k] < list.size) {
+                    id = Math.min(id, list.ids[cursors[k]]);
+                }
+            }
+            if (id == Integer.MAX_VALUE) {
+                return; // only non-essential matches remain — none can make the top-k
+            }
+            // Sum in list order whatever the split, so equal scores compare equal
+            double score = 0;
+            for (int k = 0; k < count; k++) {
+                PostingList list = lists.get(k);
+                if (k < essential) {
+                    cursors[k] = list.advance(cursors[k], id);
+                }
+                if (cursors[k] < list.size && list.ids[cursors[k]] == id) {
+                    score += idfs[k] * list.weight(cursors[k]);
+                    if (k >= essential) {
+                        cursors[k]++;
+                    }
+                }
+            }
+            top.offer(id, score);
+        }
+    }
+
+    private double idf(PostingList list) {
+        return Math.log(1.0 + (double) documentCount / list.size);
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    public long postingCount() {
+        return postingCount;
+    }
+
+    // Item 24: Static member classes — helpers that never touch the enclosing index.
+    // Item 28 note: primitive arrays in internals, never in the public API.
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private byte[] fields = new byte[4];
+        private int size;
+        private double maxWeight; // best weight of any entry — bounds what this term can add
+
+        // Ids arrive in increasing order, so a repeat of the last id is the same book
+        boolean add(int id, byte field) {
+            if (size > 0 && ids[size - 1] == id) {
+                fields[size - 1] |= field;
+                maxWeight = Math.max(maxWeight, weight(size - 1));
+                return false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            ids[size] = id;
+            fields[size] = field;
+            maxWeight = Math.max(maxWeight, weight(size));
+            size++;
+            return true;
+        }
+
+        double weight(int position) {
+            byte field = fields[position];
+            return ((field & TITLE) != 0 ? TITLE_WEIGHT : 0) + ((field & AUTHOR) != 0 ? AUTHOR_WEIGHT : 0);
+        }
+
+        // First position at or after 'from' whose id is >= target (galloping search)
+        int advance(int from, int target) {
+            if (from >= size || ids[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < size && ids[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(ids, low + 1, Math.min(low + step, size), target);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    // Bounded min-heap keeping the best 'limit' (id, score) pairs seen so far
+    private static final class TopK {
+        private final int[] ids;
+        private final double[] scores;
+        private int size;
+
+        TopK(int limit) {
+            ids = new int[limit];
+            scores = new double[limit];
+        }
+
+        void offer(int id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (better(id, score, ids[0], scores[0])) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        // True when full and even a book scoring 'bound' would not displace the worst entry:
+        // later books have higher ids, so they lose ties
+        boolean cannotImproveOn(double bound) {
+            return size == ids.length && scores[0] >= bound;
+        }
+
+        int[] idsBestFirst() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = ids[0]; // the root is the worst remaining entry
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        // Higher score wins; on a tie the earlier-registered (lower id) book wins
+        private static boolean better(int id, double score, int otherId, double otherScore) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(ids[parent], scores[parent], ids[i], scores[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            for (;;) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && better(ids[worst], scores[worst], ids[left], scores[left])) {
+                    worst = left;
+                }
+                if (right < size && better(ids[worst], scores[worst], ids[right], scores[right])) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.library.search;
+
+import com.library.core.Book;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Type-ahead index over book titles and authors, built as a radix trie
+ * (a trie whose single-child chains are collapsed into one edge label).
+ *
+ * Keys are folded by {@link Tokenizer#fold}, so "eff" completes "Effective Java".
+ * Each entry is weighted by how many books carry that exact title or author, and
+ * every node remembers the best weight in its subtree, so the top-k completions
+ * come from a best-first walk that never visits more than it emits.
+ *
+ * Item 82: Not thread-safe — callers must serialize writes against reads.
+ */
+public final class PrefixIndex implements BookIndex {
+
+    // Rough HotSpot sizes with compressed oops — used only for footprint estimates
+    private static final int NODE_BYTES = 32;
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+    private int nodeCount = 1;
+    private int entryCount;
+
+    @Override
+    public void add(int id, Book book) {
+        insert(book.getTitle());
+        insert(book.getAuthor());
+    }
+
+    /**
+     * Returns up to {@code limit} completions of {@code prefix}, most frequent first,
+     * alphabetical among equals. Completions keep the spelling they were first seen with.
+     */
+    public List<String> complete(String prefix, int limit) {
+        Objects.requireNonNull(prefix, "prefix must not be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        List<String> completions = new ArrayList<>();
+        String key = Tokenizer.fold(prefix);
+        Node start = root;
+        StringBuilder path = new StringBuilder();
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = start.child(key.charAt(matched));
+            if (child == null) {
+                return completions;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length() && matched + common < key.length()) {
+                return completions; // diverges inside the edge label
+            }
+            path.append(child.label);
+            matched += common;
+            start = child;
+        }
+
+        // Best-first walk: candidates are ordered by the best weight they can still yield
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Candidate.ORDER);
+        queue.add(new Candidate(start, path.toString(), start.best, false));
+        while (completions.size() < limit && !queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node;
+            if (candidate.entry) {
+                completions.add(node.display);
+                continue;
+            }
+            if (node.weight > 0) {
+                queue.add(new Candidate(node, candidate.path, node.weight, true));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child, candidate.path + child.label, child.best, false));
+            }
+        }
+        return completions;
+    }
+
+    /** Number of distinct titles and authors indexed. */
+    public int entryCount() {
+        return entryCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Estimates the heap retained by the trie: nodes, edge labels and child arrays.
+     * Completion strings are shared with the indexed books, so they are not counted.
+     */
+    public long estimatedSizeInBytes() {
+        long bytes = 0;
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            bytes += NODE_BYTES;
+            bytes += align(STRING_BYTES) + align(ARRAY_HEADER_BYTES + node.label.length());
+            if (node.children.length > 0) {
+                bytes += align(ARRAY_HEADER_BYTES + 4L * node.children.length);
+            }
+            pending.addAll(Arrays.asList(node.children));
+        }
+        return bytes;
+    }
+
+    private void insert(String text) {
+        String key = Tokenizer.fold(text).trim();
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> trail = new ArrayList<>();
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            trail.add(node);
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                Node leaf = new Node(key.substring(matched));
+                node.addChild(leaf);
+                nodeCount++;
+                node = leaf;
+                break;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            matched += common;
+            node = child;
+        }
+        if (node.weight == 0) {
+            node.display = text; // shared with the book — no copy
+            entryCount++;
+        }
+        node.weight++;
+        node.best = Math.max(node.best, node.weight);
+        // Weights only grow, so the subtree maximum can be pushed up the trail
+        for (Node ancestor : trail) {
+            ancestor.best = Math.max(ancestor.best, node.weight);
+        }
+    }
+
+    // Splits child's edge after 'at' characters, inserting an intermediate node
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        parent.replaceChild(child, middle); // same first character, so the slot is unchanged
+        child.label = child.label.substring(at);
+        middle.children = new Node[] {child};
+        middle.best = child.best;
+        nodeCount++;
+        return middle;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // Item 24: Static member class — nodes never need the enclosing index
+    private static final class Node {
+        private String label;          // edge label leading to this node (folded)
+        private Node[] children = NO_CHILDREN; // sorted by first label character
+        private String display;        // original spelling of the entry ending here
+        private int weight;            // books whose title/author ends exactly here
+        private int best;              // max weight anywhere in this subtree
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int i = indexOf(first);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void addChild(Node child) {
+            int i = -indexOf(child.label.charAt(0)) - 1;
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, i);
+            grown[i] = child;
+            System.arraycopy(children, i, grown, i + 1, children.length - i);
+            children = grown;
+        }
+
+        void replaceChild(Node old, Node replacement) {
+            children[indexOf(old.label.charAt(0))] = replacement;
+        }
+
+        // Binary search on the first character of each child's label
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    private static final class Candidate {
+        // Highest weight first; alphabetical among equals; an entry before the subtree below it
+        static final Comparator<Candidate> ORDER = Comparator
+            .comparingInt((Candidate c) -> -c.weight)
+            .thenComparing(c -> c.path)
+            .thenComparing(c -> !c.entry);
+
+        final Node node;
+        final String path;
+        final int weight;
+        final boolean entry;
+
+        Candidate(Node node, String path, int weight, boolean entry) {
+            this.node = node;
+            this.path = path;
+            this.weight = weight;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.search;
+
+/**
+ * How the terms of a search query are combined.
+ * Item 34: Use enums instead of int constants.
+ */
+public enum SearchOperator {
+    /** A book must contain every query term. */
+    AND,
+    /** A book must contain at least one query term; more matches rank higher. */
+    OR
+}
@@ -0,0 +1,68 @@
+package com.library.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Item 4: Noninstantiable utility class
+// Shared text normalization so indexing and querying always agree on terms:
+// - case is folded with Locale.ROOT (Item 62: never rely on the default locale)
+// - accents are stripped ("Café" and "cafe" are the same term)
+// - anything that is not a letter or digit separates terms
+public final class Tokenizer {
+
+    // Item 6: Compile once, reuse
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private Tokenizer() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Folds case and strips accents, keeping all other characters.
+     */
+    public static String fold(String text) {
+        String folded = text;
+        if (!isAscii(text)) {
+            folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits folded text into terms. Returns an empty list for blank text.
+     */
+    public static List<String> tokenize(String text) {
+        String folded = fold(text);
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        int i = 0;
+        while (i < folded.length()) {
+            int codePoint = folded.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                terms.add(folded.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            terms.add(folded.substring(start));
+        }
+        return terms;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
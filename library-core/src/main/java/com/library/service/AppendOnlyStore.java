@@ -0,0 +1,183 @@
+package com.library.service;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only backing store that hands out O(1) immutable snapshots.
+ *
+ * Elements live in buckets whose sizes double (16, 32, 64, ...), so the store
+ * grows without ever copying or moving an element. A snapshot is just
+ * (buckets, size): later appends only write slots beyond that size, so every
+ * snapshot stays immutable while sharing its structure with the live store.
+ *
+ * Item 81 + Item 82: Thread-safe and lock-free. An append reserves a slot with
+ * one atomic increment, writes it, then advances the published size over every
+ * contiguous written slot. A writer that finishes early never waits for a slower
+ * one — whichever writer fills the gap publishes both. Readers only see the
+ * published prefix and never block writers.
+ *
+ * @param <E> element type
+ */
+final class AppendOnlyStore<E> {
+
+    private static final int FIRST_BUCKET_BITS = 4;
+    private static final int FIRST_BUCKET_SIZE = 1 << FIRST_BUCKET_BITS;
+    // Bucket k holds FIRST_BUCKET_SIZE << k slots — 27 buckets cover every int index
+    private static final int BUCKET_COUNT = 31 - FIRST_BUCKET_BITS;
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - FIRST_BUCKET_SIZE;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<E>> buckets =
+        new AtomicReferenceArray<>(BUCKET_COUNT);
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+
+    // Item 83: Lazily created, cached until the next append
+    private volatile View<E> latest;
+
+    /**
+     * Appends an element and returns its index, which never changes.
+     */
+    int append(E element) {
+        Objects.requireNonNull(element);
+        int index = reserved.getAndIncrement();
+        if (index < 0 || index >= MAX_CAPACITY) {
+            throw new IllegalStateException("Store is full");
+        }
+        bucket(index).set(slot(index), element);
+        publish();
+        return index;
+    }
+
+    /**
+     * Appends every element in order and returns the index of the first.
+     * One atomic increment reserves the whole range, which is then filled a bucket
+     * at a time and published once — the batch becomes visible all together.
+     */
+    int appendAll(List<? extends E> elements) {
+        // Checked before reserving: a reserved slot left empty would stall publication
+        elements.forEach(Objects::requireNonNull);
+        int count = elements.size();
+        int first = reserved.getAndAdd(count);
+        if (first < 0 || first > MAX_CAPACITY - count) {
+            throw new IllegalStateException("Store is full");
+        }
+        int index = first;
+        int next = 0;
+        while (next < count) {
+            AtomicReferenceArray<E> bucket = bucket(index);
+            int slot = slot(index);
+            int run = Math.min(bucket.length() - slot, count - next);
+            for (int i = 0; i < run; i++) {
+                // Release store: publish() below makes the slot visible with a CAS
+                bucket.lazySet(slot + i, elements.get(next + i));
+            }
+            index += run;
+            next += run;
+        }
+        publish();
+        return first;
+    }
+
+    /** Number of elements visible to readers. */
+    int size() {
+        return published.get();
+    }
+
+    /**
+     * Returns the element at {@code index}, which must be below {@link #size()}.
+     */
+    E get(int index) {
+        Objects.checkIndex(index, published.get());
+        return buckets.get(bucketOf(index)).get(slot(index));
+    }
+
+    /**
+     * Returns an immutable snapshot of everything published so far. O(1):
+     * repeated calls with no append in between return the same instance.
+     */
+    Snapshot<E> snapshot() {
+        int size = published.get();
+        View<E> view = latest;
+        if (view == null || view.size != size) {
+            view = new View<>(buckets, size);
+            latest = view;
+        }
+        return view;
+    }
+
+    // Advances the published size past every contiguous written slot.
+    // Losing a CAS just means another writer published first — re-read and retry.
+    private void publish() {
+        for (;;) {
+            int from = published.get();
+            int limit = reserved.get();
+            int to = from;
+            while (to < limit && isWritten(to)) {
+                to++;
+            }
+            if (to == from || published.compareAndSet(from, to)) {
+                return;
+            }
+        }
+    }
+
+    private boolean isWritten(int index) {
+        AtomicReferenceArray<E> bucket = buckets.get(bucketOf(index));
+        return bucket != null && bucket.get(slot(index)) != null;
+    }
+
+    private AtomicReferenceArray<E> bucket(int index) {
+        int b = bucketOf(index);
+        AtomicReferenceArray<E> bucket = buckets.get(b);
+        if (bucket == null) {
+            // Racing writers may both allocate; only the CAS winner's bucket is kept
+            buckets.compareAndSet(b, null, new AtomicReferenceArray<>(FIRST_BUCKET_SIZE << b));
+            bucket = buckets.get(b);
+        }
+        return bucket;
+    }
+
+    private static int bucketOf(int index) {
+        int position = index + FIRST_BUCKET_SIZE;
+        return (31 - Integer.numberOfLeadingZeros(position)) - FIRST_BUCKET_BITS;
+    }
+
+    private static int slot(int index) {
+        int position = index + FIRST_BUCKET_SIZE;
+        return position ^ Integer.highestOneBit(position);
+    }
+
+    // Item 24: Static member class — a view needs the buckets, not the store.
+    // AbstractList supplies immutability: every mutator throws UnsupportedOperationException.
+    private static final class View<E> extends AbstractList<E> implements Snapshot<E>, RandomAccess {
+        private final AtomicReferenceArray<AtomicReferenceArray<E>> buckets;
+        private final int size;
+
+        View(AtomicReferenceArray<AtomicReferenceArray<E>> buckets, int size) {
+            this.buckets = buckets;
+            this.size = size;
+        }
+
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return buckets.get(bucketOf(index)).get(slot(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        // Append-only: the element count only grows, so it doubles as the version
+        @Override
+        public long version() {
+            return size;
+        }
+    }
+}
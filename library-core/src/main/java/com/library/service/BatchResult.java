@@ -0,0 +1,56 @@
+package com.library.service;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link LibraryService#registerAllBooks} call.
+ *
+ * Every element of the batch is counted exactly once: accepted into the catalog,
+ * a duplicate of an ISBN already registered (earlier or in the same batch), or
+ * rejected as invalid.
+ * Item 17: Immutable value.
+ */
+public final class BatchResult {
+
+    private final int accepted;
+    private final int duplicates;
+    private final int rejected;
+
+    BatchResult(int accepted, int duplicates, int rejected) {
+        this.accepted = accepted;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+    }
+
+    /** Books added to the catalog. */
+    public int accepted() { return accepted; }
+
+    /** Books whose ISBN was already registered, before or earlier in this batch. */
+    public int duplicates() { return duplicates; }
+
+    /** Null elements, which are skipped rather than failing the batch. */
+    public int rejected() { return rejected; }
+
+    public int total() {
+        return accepted + duplicates + rejected;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BatchResult)) return false;
+        BatchResult other = (BatchResult) o;
+        return accepted == other.accepted && duplicates == other.duplicates && rejected == other.rejected;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * accepted + duplicates) + rejected;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "BatchResult{accepted=%d, duplicates=%d, rejected=%d}",
+            accepted, duplicates, rejected);
+    }
+}
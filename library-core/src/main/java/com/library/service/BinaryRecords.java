@@ -0,0 +1,282 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The library's one binary encoding of its records, shared by the write-ahead log,
+ * snapshot files and {@code com.library.io.BinaryCodec}: unsigned varints of
+ * {@code int} and {@code long} values, and strings as a varint of their UTF-8
+ * length plus one — zero for an absent optional field — followed by the bytes.
+ * <ul>
+ *   <li>Book: title, author, then the ISBN as a tag byte and either a packed
+ *       {@code long} or a string.</li>
+ *   <li>Member: id, name, email, phone; email and phone may be absent.</li>
+ * </ul>
+ * An ISBN made of up to 13 digits, single hyphens between them and an optional
+ * final {@code X} — every real ISBN-10 and ISBN-13 — is packed with its exact
+ * hyphenation into one 64-bit integer, 9 bytes with the tag instead of 19 for a
+ * hyphenated ISBN-13; any other ISBN is stored as a string. Equality of books is by
+ * exact ISBN text, so packing is lossless.
+ *
+ * Strings are encoded char by char straight into the buffer, with no intermediate
+ * byte array; decoding a heap buffer builds each String straight from its backing
+ * array.
+ */
+public final class BinaryRecords {
+
+    private static final byte ISBN_TEXT = 0;
+    private static final byte ISBN_PACKED = 1;
+
+    // Packed ISBN layout: digits as a number in bits 0-43 (13 digits < 2^44), digit
+    // count in 44-47, trailing X in 48, and a hyphen after digit k in bit 48 + k
+    private static final int MAX_PACKED_DIGITS = 13;
+    private static final int COUNT_SHIFT = 44;
+    private static final int X_BIT = 48;
+    private static final long VALUE_MASK = (1L << COUNT_SHIFT) - 1;
+
+    // Item 4: Noninstantiable utility class
+    private BinaryRecords() {
+        throw new AssertionError("Utility class");
+    }
+
+    /** Encoded size of the book in bytes. */
+    public static int sizeOf(Book book) {
+        String isbn = book.getIsbn();
+        return sizeOf(book.getTitle()) + sizeOf(book.getAuthor())
+            + 1 + (packIsbn(isbn) >= 0 ? Long.BYTES : sizeOf(isbn));
+    }
+
+    /** Encoded size of the member in bytes. */
+    public static int sizeOf(Member member) {
+        return sizeOf(member.getId()) + sizeOf(member.getName())
+            + sizeOf(member.getEmail()) + sizeOf(member.getPhone());
+    }
+
+    public static void putBook(ByteBuffer buffer, Book book) {
+        putString(buffer, book.getTitle());
+        putString(buffer, book.getAuthor());
+        long packed = packIsbn(book.getIsbn());
+        if (packed >= 0) {
+            buffer.put(ISBN_PACKED).putLong(packed);
+        } else {
+            buffer.put(ISBN_TEXT);
+            putString(buffer, book.getIsbn());
+        }
+    }
+
+    public static Book getBook(ByteBuffer buffer) {
+        String title = getString(buffer);
+        String author = getString(buffer);
+        byte kind = buffer.get();
+        String isbn;
+        if (kind == ISBN_PACKED) {
+            isbn = unpackIsbn(buffer.getLong());
+        } else if (kind == ISBN_TEXT) {
+            isbn = getString(buffer);
+        } else {
+            throw new IllegalArgumentException("Unknown ISBN encoding " + kind);
+        }
+        return Book.create(title, author, isbn);
+    }
+
+    public static void putMember(ByteBuffer buffer, Member member) {
+        putString(buffer, member.getId());
+        putString(buffer, member.getName());
+        putString(buffer, member.getEmail());
+        putString(buffer, member.getPhone());
+    }
+
+    public static Member getMember(ByteBuffer buffer) {
+        return Member.builder()
+            .id(getString(buffer))
+            .name(getString(buffer))
+            .email(getString(buffer))
+            .phone(getString(buffer))
+            .build();
+    }
+
+    // --- ISBN packing ---
+
+    // The packed form, or -1 if the ISBN does not fit it
+    static long packIsbn(String isbn) {
+        long value = 0;
+        long hyphens = 0;
+        int digits = 0;
+        boolean x = false;
+        int length = isbn.length();
+        for (int i = 0; i < length; i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9' && digits < MAX_PACKED_DIGITS) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == '-' && digits > 0 && digits < MAX_PACKED_DIGITS && i < length - 1
+                    && isbn.charAt(i - 1) != '-') {
+                hyphens |= 1L << (X_BIT + digits);
+            } else if (c == 'X' && i == length - 1 && digits > 0) {
+                x = true;
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0) {
+            return -1;
+        }
+        return value | (long) digits << COUNT_SHIFT | (x ? 1L << X_BIT : 0) | hyphens;
+    }
+
+    static String unpackIsbn(long packed) {
+        int digits = (int) (packed >>> COUNT_SHIFT) & 0xF;
+        boolean x = (packed & 1L << X_BIT) != 0;
+        long hyphens = packed >>> (X_BIT + 1);
+        if (digits == 0 || digits > MAX_PACKED_DIGITS || packed < 0) {
+            throw new IllegalArgumentException("Malformed packed ISBN");
+        }
+        char[] chars = new char[digits + Long.bitCount(hyphens) + (x ? 1 : 0)];
+        int end = chars.length;
+        if (x) {
+            chars[--end] = 'X';
+        }
+        long value = packed & VALUE_MASK;
+        for (int digit = digits; digit > 0; digit--) {
+            if ((hyphens & 1L << (digit - 1)) != 0) {
+                chars[--end] = '-';
+            }
+            chars[--end] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+
+    // --- Strings ---
+
+    /** Encoded size of a string field. */
+    static int sizeOf(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = utf8Length(value);
+        return varintSize(length + 1) + length;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        putVarint(buffer, utf8Length(value) + 1);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18))
+                    .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                    .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                    .put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12))
+                    .put((byte) (0x80 | c >> 6 & 0x3F))
+                    .put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = getVarint(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Matches String.getBytes(UTF_8): an unpaired surrogate becomes '?'
+    private static int utf8Length(String s) {
+        int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2; // four bytes for the pair
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // --- Varints: unsigned LEB128, seven bits per byte, high bit set on all but the last ---
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int varintSize(int value) {
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static void putVarlong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int varlongSize(long value) {
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    static long getVarlong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
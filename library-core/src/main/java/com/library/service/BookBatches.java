@@ -0,0 +1,49 @@
+package com.library.service;
+
+import com.library.core.Book;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+// Item 4: Noninstantiable utility class
+// Shared first phase of registerAllBooks in both services.
+final class BookBatches {
+
+    // Below this, splitting the work across the common pool costs more than it saves
+    static final int PARALLEL_THRESHOLD = 8_192;
+
+    private BookBatches() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Copies the batch into an array and applies {@code prepare} in place to the
+     * books that can be added — the first copy of each ISBN not in {@code booksByIsbn}
+     * — in parallel for large batches. Null elements stay null, and later copies and
+     * known ISBNs are left as they are: they can only lose the second phase's
+     * {@code putIfAbsent}. {@code prepare} must be thread-safe and independent of
+     * the other books.
+     */
+    static Book[] prepare(List<? extends Book> books, Map<String, Book> booksByIsbn, UnaryOperator<Book> prepare) {
+        Book[] prepared = books.toArray(new Book[0]);
+        boolean[] fresh = new boolean[prepared.length];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < prepared.length; i++) {
+            Book book = prepared[i];
+            fresh[i] = book != null && !booksByIsbn.containsKey(book.getIsbn()) && seen.add(book.getIsbn());
+        }
+        IntStream positions = IntStream.range(0, prepared.length);
+        if (prepared.length >= PARALLEL_THRESHOLD) {
+            positions = positions.parallel(); // Item 48: large, independent, array-backed work
+        }
+        positions.forEach(i -> {
+            if (fresh[i]) {
+                prepared[i] = prepare.apply(prepared[i]);
+            }
+        });
+        return prepared;
+    }
+}
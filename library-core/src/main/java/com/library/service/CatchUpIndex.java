@@ -0,0 +1,65 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.search.BookIndex;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Keeps a single-threaded {@link BookIndex} in step with the catalog store.
+ *
+ * Registrations only append to the store; the index then catches up from the
+ * store in id order, indexing each book exactly once. Catching up holds the write
+ * lock and queries hold the read lock, so the index itself needs no synchronization,
+ * and registering never waits for an index (Item 81: readers never block writers).
+ *
+ * @param <X> index type
+ */
+final class CatchUpIndex<X extends BookIndex> {
+
+    private final AppendOnlyStore<Book> source;
+    private final X index;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Number of store elements already indexed — written under the write lock
+    private volatile int indexed;
+
+    CatchUpIndex(AppendOnlyStore<Book> source, X index) {
+        this.source = Objects.requireNonNull(source);
+        this.index = Objects.requireNonNull(index);
+    }
+
+    /**
+     * Indexes every book published to the store since the last catch-up.
+     */
+    void catchUp() {
+        if (indexed >= source.size()) {
+            return; // fast path — no lock when already current
+        }
+        lock.writeLock().lock();
+        try {
+            int published = source.size();
+            for (int id = indexed; id < published; id++) {
+                index.add(id, source.get(id));
+            }
+            indexed = published;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Catches up, then runs {@code query} against the index under the read lock.
+     */
+    <R> R query(Function<? super X, ? extends R> query) {
+        catchUp();
+        lock.readLock().lock();
+        try {
+            return query.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
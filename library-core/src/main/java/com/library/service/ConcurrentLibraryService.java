@@ -0,0 +1,195 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.search.AuthorIndex;
+import com.library.search.InvertedIndex;
+import com.library.search.PrefixIndex;
+import com.library.search.SearchOperator;
+import com.library.search.TitleIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+// Item 81: Prefer concurrency utilities to wait and notify
+// Thread-safe LibraryService for callers that register from many threads at once.
+// - ConcurrentHashMap gives per-bin locking on the ISBN and member-id indexes:
+//   registrations on different keys never take the same lock.
+// - Registration order is kept in lock-free AppendOnlyStores (CAS only).
+// - Readers never lock: lookups are lock-free reads and listings are O(1)
+//   immutable snapshots, so readers never block writers.
+
+// Item 82: Document thread safety — this class is thread-safe.
+// A listing reflects every registration that completed before it started,
+// and may or may not include registrations running concurrently with it.
+
+// Item 19: Final and package-private — obtain via LibraryService.concurrent().
+final class ConcurrentLibraryService implements LibraryService {
+
+    private final ConcurrentMap<String, Book> booksByIsbn = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Member> membersById = new ConcurrentHashMap<>();
+    private final AppendOnlyStore<Book> catalog = new AppendOnlyStore<>();
+    private final AppendOnlyStore<Member> members = new AppendOnlyStore<>();
+
+    // Secondary indexes catch up from the catalog store on the next query,
+    // so registering never waits for an index lock
+    private final CatchUpIndex<InvertedIndex> searchIndex = new CatchUpIndex<>(catalog, new InvertedIndex());
+    private final CatchUpIndex<PrefixIndex> prefixIndex = new CatchUpIndex<>(catalog, new PrefixIndex());
+    // Also the author dictionary: books by the same author share one canonical string
+    private final AuthorIndex authors = new AuthorIndex();
+    private final CatchUpIndex<AuthorIndex> authorIndex = new CatchUpIndex<>(catalog, authors);
+    // Lock-free skip list — updated directly on registration
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    // Answers mightContainIsbn — importers use it to skip exact lookups for definite misses
+    private final IsbnFilter isbnFilter;
+
+    ConcurrentLibraryService() {
+        this(IsbnFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    ConcurrentLibraryService(double isbnFalsePositiveRate) {
+        this.isbnFilter = new IsbnFilter(isbnFalsePositiveRate);
+    }
+
+    @Override
+    public boolean registerBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+        if (booksByIsbn.containsKey(book.getIsbn())) {
+            return false; // a known ISBN is not prepared: only racing registrations intern in vain
+        }
+        book = prepare(book);
+        // putIfAbsent is atomic — exactly one of several racing registrations wins
+        if (booksByIsbn.putIfAbsent(book.getIsbn(), book) != null) {
+            return false;
+        }
+        catalog.append(book);
+        titleIndex.add(book);
+        return true;
+    }
+
+    @Override
+    public BatchResult registerAllBooks(List<? extends Book> books) {
+        Objects.requireNonNull(books);
+        // Phase 1 — only the books that can be added, each independently, parallel for large batches
+        Book[] prepared = BookBatches.prepare(books, booksByIsbn, this::prepare);
+        // Phase 2 — sequential, so the first copy of an ISBN in the batch wins;
+        // putIfAbsent still arbitrates against other threads' registrations
+        List<Book> accepted = new ArrayList<>(prepared.length);
+        int rejected = 0;
+        for (Book book : prepared) {
+            if (book == null) {
+                rejected++;
+            } else if (booksByIsbn.putIfAbsent(book.getIsbn(), book) == null) {
+                accepted.add(book);
+            }
+        }
+        catalog.appendAll(accepted); // one atomic reservation for the whole batch
+        titleIndex.addAll(accepted);
+        return new BatchResult(accepted.size(), prepared.length - accepted.size() - rejected, rejected);
+    }
+
+    @Override
+    public boolean registerMember(Member member) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        if (membersById.putIfAbsent(member.getId(), member) != null) {
+            return false;
+        }
+        members.append(member);
+        return true;
+    }
+
+    @Override
+    public Snapshot<Book> listAllBooks() {
+        return catalog.snapshot();
+    }
+
+    @Override
+    public Snapshot<Member> listAllMembers() {
+        return members.snapshot();
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        return Optional.ofNullable(booksByIsbn.get(requireIsbn(isbn)));
+    }
+
+    @Override
+    public boolean containsIsbn(String isbn) {
+        return booksByIsbn.containsKey(requireIsbn(isbn));
+    }
+
+    @Override
+    public boolean mightContainIsbn(String isbn) {
+        return isbnFilter.mightContain(requireIsbn(isbn), booksByIsbn);
+    }
+
+    @Override
+    public IsbnFilterStats isbnFilterStats() {
+        return isbnFilter.stats();
+    }
+
+    @Override
+    public List<Book> search(String query, SearchOperator operator, int limit) {
+        int[] ids = searchIndex.query(index -> index.search(query, operator, limit));
+        return Arrays.stream(ids).mapToObj(catalog::get).toList();
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit) {
+        return prefixIndex.query(index -> index.complete(prefix, limit));
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) {
+        if (author == null) {
+            throw new IllegalArgumentException("Author cannot be null");
+        }
+        int[] ids = authorIndex.query(index -> index.booksBy(author));
+        return Arrays.stream(ids).mapToObj(catalog::get).toList();
+    }
+
+    @Override
+    public List<Book> booksBetween(String fromTitle, String toTitle) {
+        return titleIndex.between(fromTitle, toTitle);
+    }
+
+    @Override
+    public List<Book> firstN(int n) {
+        return titleIndex.first(n);
+    }
+
+    @Override
+    public Stream<Book> booksFrom(String fromTitle) {
+        return titleIndex.from(fromTitle);
+    }
+
+    // Registration work that needs no other book — also run in parallel by batches
+    private Book prepare(Book book) {
+        Book canonical = withCanonicalAuthor(book);
+        isbnFilter.add(canonical.getIsbn()); // before the book is visible — the filter has no false negatives
+        return canonical;
+    }
+
+    // intern is thread-safe, so racing registrations agree on one instance
+    private Book withCanonicalAuthor(Book book) {
+        String author = authors.intern(book.getAuthor());
+        return author == book.getAuthor() ? book : Book.create(book.getTitle(), author, book.getIsbn());
+    }
+
+    private static String requireIsbn(String isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN cannot be null");
+        }
+        return isbn;
+    }
+}
@@ -2,9 +2,19 @@ package com.library.service;
 
 import com.library.core.Book;
 import com.library.core.Member;
+import com.library.search.AuthorIndex;
+import com.library.search.InvertedIndex;
+import com.library.search.PrefixIndex;
+import com.library.search.SearchOperator;
+import com.library.search.TitleIndex;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // Item 5: Injectable, stateful service — not a singleton
 // Each instance manages its own catalog and members
@@ -30,42 +40,181 @@ import java.util.Objects;
 
 // Item 19: Final and package-private — not designed for inheritance.
 // Clients should depend on LibraryService interface.
+
+// Item 82: Not thread-safe — callers that share an instance across threads
+// must synchronize externally or use LibraryService.concurrent().
 final class DefaultLibraryService implements LibraryService {
 
-    private final List<Book> catalog = new ArrayList<>();
-    private final List<Member> members = new ArrayList<>();
+    // Item 17: Append-only stores — listings are O(1) immutable snapshots
+    // that share structure with the live catalog instead of copying it.
+    private final AppendOnlyStore<Book> catalog = new AppendOnlyStore<>();
+    private final AppendOnlyStore<Member> members = new AppendOnlyStore<>();
+
+    // Secondary indexes are fed from the catalog store in registration order
+    private final CatchUpIndex<InvertedIndex> searchIndex = new CatchUpIndex<>(catalog, new InvertedIndex());
+    private final CatchUpIndex<PrefixIndex> prefixIndex = new CatchUpIndex<>(catalog, new PrefixIndex());
+    // Also the author dictionary: books by the same author share one canonical string
+    private final AuthorIndex authors = new AuthorIndex();
+    private final CatchUpIndex<AuthorIndex> authorIndex = new CatchUpIndex<>(catalog, authors);
+    // Lock-free skip list — updated directly on registration
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    // Answers mightContainIsbn — importers use it to skip exact lookups for definite misses
+    private final IsbnFilter isbnFilter;
+
+    DefaultLibraryService() {
+        this(IsbnFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    DefaultLibraryService(double isbnFalsePositiveRate) {
+        this.isbnFilter = new IsbnFilter(isbnFalsePositiveRate);
+    }
+
+    // Hash index over the catalog — ISBN is the identity of a Book (Item 11),
+    // so lookups are O(1) instead of a scan over listAllBooks().
+    private final Map<String, Book> booksByIsbn = new HashMap<>();
+    private final Map<String, Member> membersById = new HashMap<>();
 
     @Override
-    public void registerBook(Book book) {
+    public boolean registerBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null");
         }
-        catalog.add(book);
+        // Idempotent: a book whose ISBN is already known is not added twice, nor prepared
+        if (booksByIsbn.containsKey(book.getIsbn())) {
+            return false;
+        }
+        book = prepare(book);
+        booksByIsbn.put(book.getIsbn(), book);
+        catalog.append(book);
+        titleIndex.add(book);
+        catchUpIndexes(); // single-threaded: keep indexes current on every registration
+        return true;
     }
 
     @Override
-    public void registerAllBooks(List<? extends Book> books) {
+    public BatchResult registerAllBooks(List<? extends Book> books) {
         Objects.requireNonNull(books);
-        for (Book book : books) {
-            registerBook(book); // Book is upper bound — safe
+        // Phase 1 — only the books that can be added, each independently, parallel for large batches
+        Book[] prepared = BookBatches.prepare(books, booksByIsbn, this::prepare);
+        // Phase 2 — sequential, so the first copy of an ISBN in the batch wins
+        List<Book> accepted = new ArrayList<>(prepared.length);
+        int rejected = 0;
+        for (Book book : prepared) {
+            if (book == null) {
+                rejected++;
+            } else if (booksByIsbn.putIfAbsent(book.getIsbn(), book) == null) {
+                accepted.add(book);
+            }
         }
+        catalog.appendAll(accepted); // one reservation for the whole batch
+        titleIndex.addAll(accepted);
+        catchUpIndexes(); // indexes take the batch in one pass
+        return new BatchResult(accepted.size(), prepared.length - accepted.size() - rejected, rejected);
     }
 
     @Override
-    public void registerMember(Member member) {
+    public boolean registerMember(Member member) {
         if (member == null) {
             throw new IllegalArgumentException("Member cannot be null");
         }
-        members.add(member);
+        if (membersById.putIfAbsent(member.getId(), member) != null) {
+            return false;
+        }
+        members.append(member);
+        return true;
+    }
+
+    @Override
+    public Snapshot<Book> listAllBooks() {
+        return catalog.snapshot(); // Item 15: immutable snapshot — no defensive copy needed
+    }
+
+    @Override
+    public Snapshot<Member> listAllMembers() {
+        return members.snapshot();
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        return Optional.ofNullable(booksByIsbn.get(requireIsbn(isbn)));
+    }
+
+    @Override
+    public boolean containsIsbn(String isbn) {
+        return booksByIsbn.containsKey(requireIsbn(isbn));
+    }
+
+    @Override
+    public boolean mightContainIsbn(String isbn) {
+        return isbnFilter.mightContain(requireIsbn(isbn), booksByIsbn);
+    }
+
+    @Override
+    public IsbnFilterStats isbnFilterStats() {
+        return isbnFilter.stats();
+    }
+
+    @Override
+    public List<Book> search(String query, SearchOperator operator, int limit) {
+        int[] ids = searchIndex.query(index -> index.search(query, operator, limit));
+        return Arrays.stream(ids).mapToObj(catalog::get).toList();
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit) {
+        return prefixIndex.query(index -> index.complete(prefix, limit));
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) {
+        if (author == null) {
+            throw new IllegalArgumentException("Author cannot be null");
+        }
+        int[] ids = authorIndex.query(index -> index.booksBy(author));
+        return Arrays.stream(ids).mapToObj(catalog::get).toList();
     }
 
     @Override
-    public List<Book> listAllBooks() {
-        return List.copyOf(catalog); // Item 15: defensive copy
+    public List<Book> booksBetween(String fromTitle, String toTitle) {
+        return titleIndex.between(fromTitle, toTitle);
     }
 
     @Override
-    public List<Member> listAllMembers() {
-        return List.copyOf(members); // Item 15
+    public List<Book> firstN(int n) {
+        return titleIndex.first(n);
+    }
+
+    @Override
+    public Stream<Book> booksFrom(String fromTitle) {
+        return titleIndex.from(fromTitle);
+    }
+
+    private void catchUpIndexes() {
+        searchIndex.catchUp();
+        prefixIndex.catchUp();
+        authorIndex.catchUp();
+    }
+
+    // Registration work that needs no other book — thread-safe, so batches run it in parallel
+    private Book prepare(Book book) {
+        Book canonical = withCanonicalAuthor(book);
+        isbnFilter.add(canonical.getIsbn()); // before the book is visible — the filter has no false negatives
+        return canonical;
+    }
+
+    // Swaps in the dictionary's author string — Book is immutable, so a copy is
+    // made only when this author's canonical string is a different instance
+    private Book withCanonicalAuthor(Book book) {
+        String author = authors.intern(book.getAuthor());
+        return author == book.getAuthor() ? book : Book.create(book.getTitle(), author, book.getIsbn());
+    }
+
+    // Item 49: Validate parameters — fail fast with the same exception type as registerBook
+    private static String requireIsbn(String isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN cannot be null");
+        }
+        return isbn;
     }
 }
\ No newline at end of file
@@ -0,0 +1,721 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.search.SearchOperator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A {@link LibraryService} whose registrations and loans survive a restart: every
+ * mutation is appended to a {@link WriteAheadLog} before the caller gets its answer,
+ * and opening the service rebuilds the in-memory state from the data directory.
+ *
+ * Item 18: Composition — reads go straight to an in-memory concurrent service and
+ * {@link LoanLedger}; only mutations add work. Each mutation queues its record and
+ * applies itself under one short lock, so the log order is exactly the order the
+ * mutations took effect in, and then waits for the write outside that lock — which
+ * lets concurrent mutations share one group commit.
+ *
+ * A mutation may be visible to readers just before it is durable, never after the
+ * caller is told it succeeded. If the log fails, mutations throw
+ * {@link UncheckedIOException}; a change that was already applied then stays in
+ * memory but may not survive a restart.
+ *
+ * Startup cost stays bounded by {@link #snapshot() snapshots}. The log is split into
+ * numbered files; a snapshot rolls the log to a new file, then saves the full state
+ * in the background and deletes the files it covers. Startup maps the latest
+ * snapshot and replays only the log files after it. Writers are held up only for
+ * the roll, never while the snapshot is written: the snapshot is taken from O(1)
+ * immutable catalog and member listings and a weakly consistent walk of the loans,
+ * so it may already include some mutations from the new log file. Replaying those
+ * again changes nothing — a registration of a known key is a no-op, loans the
+ * snapshot saw that were numbered after the roll are left for the log to restore,
+ * and a logged return of a loan the snapshot missed is still counted — so the
+ * restored state and sequence numbers are exact.
+ *
+ * Log records are compact binary: a type byte, then the fields in the
+ * {@link BinaryRecords} encoding. Checkouts and returns carry their
+ * {@link LoanLedger#sequence() sequence numbers}, and snapshots the sequence they
+ * were taken at and the loan changes not yet discarded, so the numbering — and with
+ * it every {@link #loanChangesSince watermark} — carries on across restarts.
+ *
+ * Item 82: Thread-safe. Item 9: AutoCloseable — close waits for a running snapshot
+ * and closes the log.
+ */
+public final class DurableLibraryService implements LibraryService, AutoCloseable {
+
+    private static final byte BOOK = 1;
+    private static final byte BOOKS = 2;
+    private static final byte MEMBER = 3;
+    // ISBN, member id, sequence number
+    private static final byte CHECKOUT = 4;
+    // ISBN, member id, sequence number of the checkout, sequence number of the return
+    private static final byte RETURN = 5;
+    // Books of one registerAllBooks call share records of up to about this size
+    private static final int BOOKS_RECORD_BYTES = 1 << 20;
+
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final LibraryService delegate;
+    private final LoanLedger loans;
+    private final WriteAheadLog log;
+    private final ScheduledExecutorService snapshotter;
+    private final Object mutations = new Object();
+    private final Set<String> memberIds; // guarded by mutations: the ids registered, as the interface has no lookup
+    private long logFile; // guarded by mutations: number of the log file being appended to
+    private CompletableFuture<Path> snapshot; // guarded by this: the latest snapshot started
+
+    private DurableLibraryService(Builder builder, LibraryService delegate, LoanLedger loans,
+                                  Set<String> memberIds, WriteAheadLog log, long logFile) {
+        this.directory = builder.directory;
+        this.delegate = delegate;
+        this.loans = loans;
+        this.memberIds = memberIds;
+        this.log = log;
+        this.logFile = logFile;
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "library-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (builder.snapshotInterval != null) {
+            long millis = builder.snapshotInterval.toMillis();
+            snapshotter.scheduleWithFixedDelay(this::snapshot, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Restores the latest snapshot and the log files after it, then appends to the last of those
+    private static DurableLibraryService open(Builder builder) throws IOException {
+        Path directory = Files.createDirectories(builder.directory);
+        LibraryService delegate = LibraryService.concurrent();
+        LoanLedger loans = new LoanLedger();
+        Replay replay = new Replay(delegate, loans);
+
+        TreeMap<Long, Path> snapshots = numberedFiles(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long firstLogFile = 0;
+        if (!snapshots.isEmpty()) {
+            firstLogFile = SnapshotFile.read(snapshots.lastEntry().getValue(), replay);
+        }
+        TreeMap<Long, Path> logFiles = numberedFiles(directory, LOG_PREFIX, LOG_SUFFIX);
+        deleteObsolete(directory, firstLogFile);
+        Map<Long, Path> tail = logFiles.tailMap(firstLogFile, true);
+        long lastLogFile = tail.isEmpty() ? firstLogFile : logFiles.lastKey();
+        for (Path file : tail.values()) {
+            if (!file.equals(logPath(directory, lastLogFile))) {
+                WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), replay::apply).close();
+            }
+        }
+        WriteAheadLog log = WriteAheadLog.open(logPath(directory, lastLogFile), builder.syncPolicy, replay::apply);
+        replay.flushBooks();
+        return new DurableLibraryService(builder, delegate, loans, replay.memberIds(), log, lastLogFile);
+    }
+
+    /**
+     * Saves the full state to a new snapshot file in the background and deletes the
+     * log files and older snapshot it replaces. Mutations wait only while the log
+     * rolls over to a new file. If a snapshot is already being written, returns that one.
+     *
+     * @return completes with the snapshot file, or exceptionally if it could not be
+     *         written — the previous snapshot and log files are then kept
+     */
+    public synchronized CompletableFuture<Path> snapshot() {
+        if (snapshot == null || snapshot.isDone()) {
+            snapshot = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return writeSnapshot();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, snapshotter);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public boolean registerBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+        long seq;
+        boolean added;
+        synchronized (mutations) {
+            if (delegate.containsIsbn(book.getIsbn())) {
+                return false; // books are never removed: a certain no-op needs no record
+            }
+            seq = enqueue(encodeBook(book));
+            added = delegate.registerBook(book);
+        }
+        awaitWritten(seq);
+        return added;
+    }
+
+    @Override
+    public BatchResult registerAllBooks(List<? extends Book> books) {
+        if (books == null) {
+            throw new IllegalArgumentException("Books cannot be null");
+        }
+        long seq = 0;
+        BatchResult result;
+        synchronized (mutations) {
+            for (byte[] record : encodeBooks(books)) {
+                seq = enqueue(record);
+            }
+            result = delegate.registerAllBooks(books);
+        }
+        awaitWritten(seq);
+        return result;
+    }
+
+    @Override
+    public boolean registerMember(Member member) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        long seq;
+        boolean added;
+        synchronized (mutations) {
+            if (memberIds.contains(member.getId())) {
+                return false; // members are never removed: a certain no-op needs no record
+            }
+            seq = enqueue(encodeMember(member));
+            added = delegate.registerMember(member);
+            memberIds.add(member.getId());
+        }
+        awaitWritten(seq);
+        return added;
+    }
+
+    /**
+     * Lends {@code book} to {@code member} and logs the loan. Both should be
+     * registered: a loan of an unknown book or member cannot be restored.
+     *
+     * @return {@code true} if the loan was recorded, {@code false} if the book is already on loan
+     * @see LoanLedger#checkout
+     */
+    public boolean checkout(Book book, Member member) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        long seq;
+        boolean lent;
+        synchronized (mutations) {
+            if (loans.loanOf(book.getIsbn()).isPresent()) {
+                return false;
+            }
+            // Only this service changes the ledger, always under this lock: the next number is known
+            long number = loans.sequence() + 1;
+            seq = enqueue(encodeLoan(CHECKOUT, book.getIsbn(), member.getId(), number));
+            lent = loans.checkout(book, member, number);
+        }
+        awaitWritten(seq);
+        return lent;
+    }
+
+    /**
+     * Ends the loan of the book with this ISBN and logs the return.
+     *
+     * @return the loan that ended, or empty if the book was not on loan
+     */
+    public Optional<Loan> returnBook(String isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN cannot be null");
+        }
+        long seq;
+        Optional<Loan> ended;
+        synchronized (mutations) {
+            Optional<Loan> loan = loans.loanOf(isbn);
+            if (loan.isEmpty()) {
+                return Optional.empty();
+            }
+            long number = loans.sequence() + 1;
+            seq = enqueue(encodeLoan(RETURN, isbn, loan.get().member().getId(),
+                loan.get().sequence(), number));
+            ended = loans.returnBook(isbn, number);
+        }
+        awaitWritten(seq);
+        return ended;
+    }
+
+    /** Returns the current loan of the book with this ISBN, if any. */
+    public Optional<Loan> loanOf(String isbn) {
+        return loans.loanOf(isbn);
+    }
+
+    /** Returns the member's current loans as an unmodifiable live view. */
+    public Set<Loan> loansOf(String memberId) {
+        return loans.loansOf(memberId);
+    }
+
+    /** Number of books currently on loan. */
+    public int activeLoans() {
+        return loans.activeLoans();
+    }
+
+    /**
+     * Returns the net change to the loans after {@code watermark}, for an incremental
+     * report. Sequence numbers are logged and snapshots keep the changes not yet
+     * discarded, so a watermark from before a restart still holds; only one at or
+     * below a {@link #discardLoanChangesThrough discard} throws
+     * {@link IllegalStateException}. Watermark 0 gives a full report.
+     *
+     * @see LoanLedger#changesSince
+     */
+    public LoanChanges loanChangesSince(long watermark) {
+        return loans.changesSince(watermark);
+    }
+
+    /**
+     * Drops the loan changes up to and including {@code watermark} once a report
+     * ending there is stored.
+     *
+     * @see LoanLedger#discardChangesThrough
+     */
+    public void discardLoanChangesThrough(long watermark) {
+        loans.discardChangesThrough(watermark);
+    }
+
+    @Override
+    public Snapshot<Book> listAllBooks() {
+        return delegate.listAllBooks();
+    }
+
+    @Override
+    public Snapshot<Member> listAllMembers() {
+        return delegate.listAllMembers();
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        return delegate.findByIsbn(isbn);
+    }
+
+    @Override
+    public boolean containsIsbn(String isbn) {
+        return delegate.containsIsbn(isbn);
+    }
+
+    @Override
+    public boolean mightContainIsbn(String isbn) {
+        return delegate.mightContainIsbn(isbn);
+    }
+
+    @Override
+    public IsbnFilterStats isbnFilterStats() {
+        return delegate.isbnFilterStats();
+    }
+
+    @Override
+    public List<Book> search(String query, SearchOperator operator, int limit) {
+        return delegate.search(query, operator, limit);
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit) {
+        return delegate.autocomplete(prefix, limit);
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) {
+        return delegate.findByAuthor(author);
+    }
+
+    @Override
+    public List<Book> booksBetween(String fromTitle, String toTitle) {
+        return delegate.booksBetween(fromTitle, toTitle);
+    }
+
+    @Override
+    public List<Book> firstN(int n) {
+        return delegate.firstN(n);
+    }
+
+    @Override
+    public Stream<Book> booksFrom(String fromTitle) {
+        return delegate.booksFrom(fromTitle);
+    }
+
+    /** Waits for a running snapshot, then writes every pending record and closes the log; later mutations throw. */
+    @Override
+    public void close() throws IOException {
+        snapshotter.shutdown();
+        boolean interrupted = false;
+        try {
+            while (!snapshotter.awaitTermination(1, TimeUnit.MINUTES)) {
+                // a snapshot of a very large catalog is still being written
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            log.close();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Path writeSnapshot() throws IOException {
+        long covered;
+        long sequence;
+        synchronized (mutations) {
+            // Every record in the files before this one has been applied once the roll returns
+            covered = logFile + 1;
+            log.roll(logPath(directory, covered));
+            logFile = covered;
+            // Every change numbered after this is in the new log file
+            sequence = loans.sequence();
+        }
+        // Loans and changes first: the listings taken after them include every book and member they refer to
+        List<Loan> loanList = loans.streamLoans().toList();
+        Map<Long, Loan> changes = loans.changesThrough(sequence);
+        long discarded = loans.discardedThrough(); // read after the copy, which holds every change after it
+        List<Member> memberList = delegate.listAllMembers();
+        List<Book> bookList = delegate.listAllBooks();
+        Path target = directory.resolve(SNAPSHOT_PREFIX + number(covered) + SNAPSHOT_SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        Files.deleteIfExists(temp);
+        SnapshotFile.write(temp, covered, sequence, discarded, bookList, memberList, loanList, changes);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        WriteAheadLog.forceDirectory(directory); // the rename is atomic either way
+        deleteObsolete(directory, covered);
+        return target;
+    }
+
+    private long enqueue(byte[] record) {
+        try {
+            return log.enqueue(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitWritten(long seq) {
+        try {
+            log.awaitWritten(seq);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // --- Data directory ---
+
+    private static Path logPath(Path directory, long number) {
+        return directory.resolve(LOG_PREFIX + number(number) + LOG_SUFFIX);
+    }
+
+    private static String number(long number) {
+        return String.format(Locale.ROOT, "%010d", number);
+    }
+
+    private static TreeMap<Long, Path> numberedFiles(Path directory, String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) entries::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    try {
+                        files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), file);
+                    } catch (NumberFormatException e) {
+                        // not one of ours
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    // Deletes snapshots and log files older than the given log file, and unfinished snapshots
+    private static void deleteObsolete(Path directory, long firstLogFile) throws IOException {
+        for (Path file : numberedFiles(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(firstLogFile).values()) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : numberedFiles(directory, LOG_PREFIX, LOG_SUFFIX).headMap(firstLogFile).values()) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : numberedFiles(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX + TEMP_SUFFIX).values()) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // --- Record format ---
+
+    private static byte[] encodeBook(Book book) {
+        ByteBuffer record = ByteBuffer.allocate(1 + BinaryRecords.sizeOf(book)).put(BOOK);
+        BinaryRecords.putBook(record, book);
+        return record.array();
+    }
+
+    private static byte[] encodeMember(Member member) {
+        ByteBuffer record = ByteBuffer.allocate(1 + BinaryRecords.sizeOf(member)).put(MEMBER);
+        BinaryRecords.putMember(record, member);
+        return record.array();
+    }
+
+    // Skips nulls and books already registered; packs the rest into records of about BOOKS_RECORD_BYTES
+    private List<byte[]> encodeBooks(List<? extends Book> books) {
+        List<byte[]> records = new ArrayList<>();
+        List<Book> pending = new ArrayList<>();
+        int pendingBytes = 0;
+        for (Book book : books) {
+            if (book == null || delegate.containsIsbn(book.getIsbn())) {
+                continue;
+            }
+            pending.add(book);
+            pendingBytes += BinaryRecords.sizeOf(book);
+            if (pendingBytes >= BOOKS_RECORD_BYTES) {
+                records.add(booksRecord(pending, pendingBytes));
+                pending.clear();
+                pendingBytes = 0;
+            }
+        }
+        if (!pending.isEmpty()) {
+            records.add(booksRecord(pending, pendingBytes));
+        }
+        return records;
+    }
+
+    private static byte[] booksRecord(List<Book> books, int bookBytes) {
+        ByteBuffer record = ByteBuffer.allocate(1 + BinaryRecords.varintSize(books.size()) + bookBytes).put(BOOKS);
+        BinaryRecords.putVarint(record, books.size());
+        for (Book book : books) {
+            BinaryRecords.putBook(record, book);
+        }
+        return record.array();
+    }
+
+    private static byte[] encodeLoan(byte type, String isbn, String memberId, long... numbers) {
+        int size = 1 + BinaryRecords.sizeOf(isbn) + BinaryRecords.sizeOf(memberId);
+        for (long number : numbers) {
+            size += BinaryRecords.varlongSize(number);
+        }
+        ByteBuffer record = ByteBuffer.allocate(size).put(type);
+        BinaryRecords.putString(record, isbn);
+        BinaryRecords.putString(record, memberId);
+        for (long number : numbers) {
+            BinaryRecords.putVarlong(record, number);
+        }
+        return record.array();
+    }
+
+    // Item 24: Static member class — rebuilds state from a snapshot and log records, batching runs of books
+    private static final class Replay implements SnapshotFile.Contents {
+        private static final int BATCH_SIZE = 10_000;
+
+        private final LibraryService service;
+        private final LoanLedger loans;
+        private final Map<String, Member> members = new HashMap<>();
+        private final List<Book> books = new ArrayList<>();
+        // Loans by number, so a snapshot's loan, its changes and its logged return share one Loan
+        private final Map<Long, Loan> restored = new HashMap<>();
+        private long snapshotSequence = -1; // -1 without a snapshot
+
+        Replay(LibraryService service, LoanLedger loans) {
+            this.service = service;
+            this.loans = loans;
+        }
+
+        void apply(ByteBuffer record) {
+            byte type = record.get();
+            if (type == BOOK) {
+                addBook(BinaryRecords.getBook(record));
+                return;
+            }
+            if (type == BOOKS) {
+                for (int count = BinaryRecords.getVarint(record); count > 0; count--) {
+                    addBook(BinaryRecords.getBook(record));
+                }
+                return;
+            }
+            flushBooks(); // loans refer to the books logged before them
+            switch (type) {
+                case MEMBER:
+                    addMember(BinaryRecords.getMember(record));
+                    break;
+                case CHECKOUT:
+                    checkout(BinaryRecords.getString(record), BinaryRecords.getString(record),
+                        BinaryRecords.getVarlong(record));
+                    break;
+                case RETURN:
+                    returnBook(BinaryRecords.getString(record), BinaryRecords.getString(record),
+                        BinaryRecords.getVarlong(record), BinaryRecords.getVarlong(record));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown log record type " + type);
+            }
+        }
+
+        @Override
+        public void sequence(long sequence, long discardedThrough) {
+            snapshotSequence = sequence;
+            loans.restoreSequence(sequence, discardedThrough);
+        }
+
+        @Override
+        public void books(List<Book> batch) {
+            flushBooks();
+            service.registerAllBooks(batch);
+        }
+
+        @Override
+        public void member(Member member) {
+            addMember(member);
+        }
+
+        // One numbered after the snapshot's sequence is left to the log, which has its checkout
+        @Override
+        public void loan(String isbn, String memberId, long number) {
+            Loan loan = restoredLoan(isbn, memberId, number);
+            if (number <= snapshotSequence && loan != null) {
+                loans.restoreLoan(loan);
+            }
+        }
+
+        @Override
+        public void change(String isbn, String memberId, long loanNumber, long number) {
+            Loan loan = restoredLoan(isbn, memberId, loanNumber);
+            if (loan != null) {
+                loans.restoreChange(number, loan);
+            }
+        }
+
+        void addMember(Member member) {
+            if (service.registerMember(member)) {
+                members.put(member.getId(), member);
+            }
+        }
+
+        Set<String> memberIds() {
+            return new HashSet<>(members.keySet());
+        }
+
+        // A loan of an unknown book or member cannot be restored and is dropped; its number is still used up
+        private void checkout(String isbn, String memberId, long number) {
+            Optional<Book> book = service.findByIsbn(isbn);
+            Member member = members.get(memberId);
+            if (book.isEmpty() || member == null || !loans.checkout(book.get(), member, restorable(number))) {
+                loans.skipThrough(number);
+            }
+        }
+
+        // Ends the current loan; with none, the snapshot was taken after this return and missed the loan
+        private void returnBook(String isbn, String memberId, long loanNumber, long number) {
+            if (loans.returnBook(isbn, restorable(number)).isPresent()) {
+                return;
+            }
+            Loan loan = restoredLoan(isbn, memberId, loanNumber);
+            if (loan != null) {
+                loans.restoreReturn(loan, restorable(number));
+            } else {
+                loans.skipThrough(number);
+            }
+        }
+
+        // The loan with this number, or null if its book or member is unknown
+        private Loan restoredLoan(String isbn, String memberId, long number) {
+            Loan loan = restored.get(number);
+            if (loan == null) {
+                Optional<Book> book = service.findByIsbn(isbn);
+                Member member = members.get(memberId);
+                if (book.isEmpty() || member == null) {
+                    return null;
+                }
+                loan = new Loan(book.get(), member, number);
+                restored.put(number, loan);
+            }
+            return loan;
+        }
+
+        // A logged number, or 0 for the next one if the log is out of step with the snapshot
+        private long restorable(long number) {
+            return number > loans.sequence() ? number : 0;
+        }
+
+        void flushBooks() {
+            if (!books.isEmpty()) {
+                service.registerAllBooks(books);
+                books.clear();
+            }
+        }
+
+        private void addBook(Book book) {
+            books.add(book);
+            if (books.size() == BATCH_SIZE) {
+                flushBooks();
+            }
+        }
+    }
+
+    // Item 2: Builder — only the data directory is required
+    public static final class Builder {
+        private Path directory;
+        private WriteAheadLog.SyncPolicy syncPolicy = WriteAheadLog.SyncPolicy.everyWrite();
+        private Duration snapshotInterval;
+
+        private Builder() {
+        }
+
+        /** Directory holding the log files and snapshots; created if missing. */
+        public Builder directory(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory must not be null");
+            return this;
+        }
+
+        /** When the log forces records to disk; every write by default. */
+        public Builder syncPolicy(WriteAheadLog.SyncPolicy syncPolicy) {
+            this.syncPolicy = Objects.requireNonNull(syncPolicy, "syncPolicy must not be null");
+            return this;
+        }
+
+        /** Takes a {@link DurableLibraryService#snapshot() snapshot} this often; none by default. */
+        public Builder snapshotInterval(Duration snapshotInterval) {
+            if (snapshotInterval == null || snapshotInterval.toMillis() < 1) {
+                throw new IllegalArgumentException("snapshotInterval must be at least one millisecond");
+            }
+            this.snapshotInterval = snapshotInterval;
+            return this;
+        }
+
+        /**
+         * Opens the service, restoring the latest snapshot and the log written after it.
+         * Throws IllegalStateException — standard for builder violations — if no directory was set.
+         */
+        public DurableLibraryService open() throws IOException {
+            if (directory == null) {
+                throw new IllegalStateException("directory is required");
+            }
+            return DurableLibraryService.open(this);
+        }
+    }
+}
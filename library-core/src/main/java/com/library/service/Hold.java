@@ -0,0 +1,54 @@
+package com.library.service;
+
+import com.library.core.Member;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A member's place in the hold queue of one title, as returned by
+ * {@link HoldQueues#placeHold}.
+ *
+ * A hold starts waiting and ends exactly once: fulfilled by a hand-off or cancelled.
+ * Both transitions are one compare-and-set, so a cancel racing a hand-off has a
+ * single winner. Identity-based equality: a member may hold a title twice.
+ *
+ * Item 82: Thread-safe.
+ */
+public final class Hold {
+
+    private static final int WAITING = 0;
+    private static final int FULFILLED = 1;
+    private static final int CANCELLED = 2;
+
+    private final String isbn;
+    private final Member member;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    Hold(String isbn, Member member) {
+        this.isbn = isbn;
+        this.member = member;
+    }
+
+    public String isbn() { return isbn; }
+
+    public Member member() { return member; }
+
+    public boolean isWaiting() { return state.get() == WAITING; }
+
+    public boolean isFulfilled() { return state.get() == FULFILLED; }
+
+    public boolean isCancelled() { return state.get() == CANCELLED; }
+
+    boolean fulfil() {
+        return state.compareAndSet(WAITING, FULFILLED);
+    }
+
+    boolean cancel() {
+        return state.compareAndSet(WAITING, CANCELLED);
+    }
+
+    @Override
+    public String toString() {
+        String status = isWaiting() ? "waiting" : isFulfilled() ? "fulfilled" : "cancelled";
+        return "Hold{isbn='" + isbn + "', memberId='" + member.getId() + "', " + status + "}";
+    }
+}
@@ -0,0 +1,172 @@
+package com.library.service;
+
+import com.library.core.Member;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * FIFO hold queues per ISBN in front of an {@link Inventory}. When a copy comes back
+ * and someone is waiting, the copy goes straight to the oldest hold instead of the
+ * shelf, and the hand-off listener is told who got it.
+ *
+ * Each title has its own lock-free {@link ConcurrentLinkedQueue} and counter, so
+ * titles never contend with each other. Every title's queue is bounded: a hold
+ * placed on a full queue is refused, which caps memory however popular a title is.
+ *
+ * No copy sits on the shelf while a hold waits. Both sides publish first and check
+ * second — a hold is queued before looking for a shelved copy, a copy is shelved
+ * before looking for a queued hold — so whichever runs second sees the other.
+ *
+ * Item 81 + Item 82: Thread-safe and lock-free. Placing a hold and handing off a
+ * copy are O(1); cancelling is O(queue length) for that title only.
+ */
+public final class HoldQueues {
+
+    private final Inventory inventory;
+    private final int maxHoldsPerTitle;
+    private final Consumer<Hold> onHandOff;
+    private final ConcurrentMap<String, TitleQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * @param inventory the copies being queued for
+     * @param maxHoldsPerTitle most holds one title's queue keeps waiting at once
+     * @param onHandOff told of every fulfilled hold, on the thread that fulfilled it —
+     *        by then one copy has been taken out of the inventory for it, and
+     *        recording the loan to the hold's member is up to the callback
+     */
+    public HoldQueues(Inventory inventory, int maxHoldsPerTitle, Consumer<Hold> onHandOff) {
+        if (maxHoldsPerTitle <= 0) {
+            throw new IllegalArgumentException("maxHoldsPerTitle must be positive");
+        }
+        this.inventory = Objects.requireNonNull(inventory, "inventory must not be null");
+        this.maxHoldsPerTitle = maxHoldsPerTitle;
+        this.onHandOff = Objects.requireNonNull(onHandOff, "onHandOff must not be null");
+    }
+
+    /**
+     * Queues a hold for the title. If a copy is on the shelf and this is the oldest
+     * hold, it is fulfilled at once.
+     *
+     * @return the hold, or empty if the title's queue is full
+     */
+    public Optional<Hold> placeHold(String isbn, Member member) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        TitleQueue queue = queues.computeIfAbsent(requireIsbn(isbn), key -> new TitleQueue());
+        if (!queue.reserve(maxHoldsPerTitle)) {
+            return Optional.empty();
+        }
+        Hold hold = new Hold(isbn, member);
+        queue.holds.offer(hold);
+        handOff(isbn, queue);
+        return Optional.of(hold);
+    }
+
+    /**
+     * Cancels a waiting hold placed through this object and frees its place in the queue.
+     *
+     * @return {@code true} if cancelled, {@code false} if it was already fulfilled or
+     *         cancelled, or this object has no queue for its title
+     */
+    public boolean cancel(Hold hold) {
+        if (hold == null) {
+            throw new IllegalArgumentException("Hold cannot be null");
+        }
+        TitleQueue queue = queues.get(hold.isbn());
+        if (queue == null || !hold.cancel()) {
+            return false; // without a queue it was not placed here: leave it waiting
+        }
+        queue.holds.remove(hold); // may already have been polled and skipped
+        queue.waiting.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Checks out a copy for a walk-in borrower — only if nobody is waiting for one,
+     * so holds keep their FIFO priority.
+     */
+    public boolean tryCheckout(String isbn) {
+        TitleQueue queue = queues.get(requireIsbn(isbn));
+        if (queue != null && queue.waiting.get() > 0) {
+            return false;
+        }
+        return inventory.tryCheckout(isbn);
+    }
+
+    /**
+     * Takes back a copy and hands it to the oldest waiting hold, if any.
+     *
+     * @throws IllegalStateException if no copy of the title is checked out
+     */
+    public void returnCopy(String isbn) {
+        inventory.returnCopy(requireIsbn(isbn));
+        TitleQueue queue = queues.get(isbn);
+        if (queue != null) {
+            handOff(isbn, queue);
+        }
+    }
+
+    /** Holds waiting for the title. */
+    public int waiting(String isbn) {
+        TitleQueue queue = queues.get(requireIsbn(isbn));
+        return queue == null ? 0 : queue.waiting.get();
+    }
+
+    // Moves shelved copies to waiting holds until one side runs out
+    private void handOff(String isbn, TitleQueue queue) {
+        // Tests the queue, not the counter: a reserved hold not yet queued will run
+        // its own hand-off once it is, so there is nothing to wait for here
+        while (!queue.holds.isEmpty() && inventory.tryCheckout(isbn)) {
+            Hold next = queue.next();
+            if (next == null) {
+                inventory.returnCopy(isbn); // another thread served the last hold first
+                continue;
+            }
+            onHandOff.accept(next);
+        }
+    }
+
+    private static String requireIsbn(String isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN cannot be null");
+        }
+        return isbn;
+    }
+
+    // Item 24: Static member class — one title's queue and its bound
+    private static final class TitleQueue {
+        final Queue<Hold> holds = new ConcurrentLinkedQueue<>();
+        // Waiting holds; reserved before a hold is queued, so it never exceeds the bound
+        final AtomicInteger waiting = new AtomicInteger();
+
+        boolean reserve(int max) {
+            for (;;) {
+                int current = waiting.get();
+                if (current >= max) {
+                    return false;
+                }
+                if (waiting.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        // Oldest hold that is still waiting, now fulfilled; cancelled ones are dropped
+        Hold next() {
+            for (Hold hold = holds.poll(); hold != null; hold = holds.poll()) {
+                if (hold.fulfil()) {
+                    waiting.decrementAndGet();
+                    return hold;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.library.service;
 
 import com.library.core.Book;
 import com.library.core.Member;
+import com.library.search.SearchOperator;
 import java.util.Objects;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // Item 18: Favor composition over inheritance
 // Wraps a LibraryService instead of extending it
@@ -20,27 +23,77 @@ public final class InstrumentedLibraryService implements LibraryService {
     }
 
     @Override
-    public void registerBook(Book book) {
+    public boolean registerBook(Book book) {
         bookRegistrationCount++;
-        delegate.registerBook(book);
+        return delegate.registerBook(book);
     }
 
     @Override
-    public void registerMember(Member member) {
+    public boolean registerMember(Member member) {
         memberRegistrationCount++;
-        delegate.registerMember(member);
+        return delegate.registerMember(member);
     }
 
     @Override
-    public List<Book> listAllBooks() {
+    public Snapshot<Book> listAllBooks() {
         return delegate.listAllBooks();
     }
 
     @Override
-    public List<Member> listAllMembers() {
+    public Snapshot<Member> listAllMembers() {
         return delegate.listAllMembers();
     }
 
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        return delegate.findByIsbn(isbn);
+    }
+
+    @Override
+    public boolean containsIsbn(String isbn) {
+        return delegate.containsIsbn(isbn);
+    }
+
+    @Override
+    public List<Book> search(String query, SearchOperator operator, int limit) {
+        return delegate.search(query, operator, limit);
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit) {
+        return delegate.autocomplete(prefix, limit);
+    }
+
+    @Override
+    public boolean mightContainIsbn(String isbn) {
+        return delegate.mightContainIsbn(isbn);
+    }
+
+    @Override
+    public IsbnFilterStats isbnFilterStats() {
+        return delegate.isbnFilterStats();
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) {
+        return delegate.findByAuthor(author);
+    }
+
+    @Override
+    public List<Book> booksBetween(String fromTitle, String toTitle) {
+        return delegate.booksBetween(fromTitle, toTitle);
+    }
+
+    @Override
+    public List<Book> firstN(int n) {
+        return delegate.firstN(n);
+    }
+
+    @Override
+    public Stream<Book> booksFrom(String fromTitle) {
+        return delegate.booksFrom(fromTitle);
+    }
+
     // Instrumentation methods
     public int getBookRegistrationCount() {
         return bookRegistrationCount;
@@ -51,11 +104,9 @@ public final class InstrumentedLibraryService implements LibraryService {
     }
 
     @Override
-    public void registerAllBooks(List<? extends Book> books) {
-        // Item 31: Delegate to delegate, count each book
-        for (Book book : books) {
-            bookRegistrationCount++;
-        }
-        delegate.registerAllBooks(books);
+    public BatchResult registerAllBooks(List<? extends Book> books) {
+        // Item 31: Delegate to delegate, count each book — size() is O(1), no extra walk
+        bookRegistrationCount += books.size();
+        return delegate.registerAllBooks(books);
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.library.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Physical copies per ISBN: how many the library owns and how many are on the shelf.
+ *
+ * Each title's two counts are packed into one {@link AtomicLong} — total copies in
+ * the high 32 bits, available copies in the low 32 — so every operation is a single
+ * compare-and-set over a consistent pair. A checkout can therefore never take the
+ * available count below zero, a return never lifts it above the total, and stock
+ * changes never race a checkout into an impossible state.
+ *
+ * Item 81 + Item 82: Thread-safe and lock-free. Titles never share a counter, so
+ * contention is confined to threads working on the same ISBN; there, a failed CAS
+ * re-reads and retries, and a checkout of a sold-out title fails on a plain read
+ * without writing at all.
+ */
+public final class Inventory {
+
+    private static final long AVAILABLE_MASK = 0xFFFF_FFFFL;
+
+    private final ConcurrentMap<String, AtomicLong> stock = new ConcurrentHashMap<>();
+
+    /** Adds {@code count} copies of the title, all of them available. */
+    public void addCopies(String isbn, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        AtomicLong counts = stock.computeIfAbsent(requireIsbn(isbn), key -> new AtomicLong());
+        for (;;) {
+            long current = counts.get();
+            long total = total(current) + count;
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many copies of " + isbn);
+            }
+            if (counts.compareAndSet(current, pack(total, available(current) + count))) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Removes {@code count} copies from stock — lost or discarded ones. Only copies on
+     * the shelf can be withdrawn.
+     *
+     * @return {@code true} if they were withdrawn, {@code false} if fewer are available
+     */
+    public boolean withdrawCopies(String isbn, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        AtomicLong counts = stock.get(requireIsbn(isbn));
+        if (counts == null) {
+            return false;
+        }
+        for (;;) {
+            long current = counts.get();
+            if (available(current) < count) {
+                return false;
+            }
+            if (counts.compareAndSet(current, pack(total(current) - count, available(current) - count))) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Takes one available copy off the shelf, atomically.
+     *
+     * @return {@code true} if a copy was taken, {@code false} if none is available
+     */
+    public boolean tryCheckout(String isbn) {
+        AtomicLong counts = stock.get(requireIsbn(isbn));
+        if (counts == null) {
+            return false;
+        }
+        for (;;) {
+            long current = counts.get();
+            if (available(current) == 0) {
+                return false;
+            }
+            // Available sits in the low bits and is positive, so decrementing the
+            // packed value decrements it alone
+            if (counts.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Puts one checked-out copy back on the shelf.
+     *
+     * @throws IllegalStateException if no copy of the title is checked out
+     */
+    public void returnCopy(String isbn) {
+        AtomicLong counts = stock.get(requireIsbn(isbn));
+        for (;;) {
+            long current = counts == null ? 0 : counts.get();
+            if (available(current) >= total(current)) {
+                throw new IllegalStateException("No copy of " + isbn + " is checked out");
+            }
+            if (counts.compareAndSet(current, current + 1)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Copies of the title on the shelf; 0 for unknown titles. */
+    public int available(String isbn) {
+        AtomicLong counts = stock.get(requireIsbn(isbn));
+        return counts == null ? 0 : available(counts.get());
+    }
+
+    /** Copies of the title the library owns; 0 for unknown titles. */
+    public int total(String isbn) {
+        AtomicLong counts = stock.get(requireIsbn(isbn));
+        return counts == null ? 0 : total(counts.get());
+    }
+
+    /** Copies of the title currently checked out, read as one consistent pair. */
+    public int checkedOut(String isbn) {
+        AtomicLong counts = stock.get(requireIsbn(isbn));
+        if (counts == null) {
+            return 0;
+        }
+        long current = counts.get();
+        return total(current) - available(current);
+    }
+
+    private static long pack(long total, long available) {
+        return total << 32 | available;
+    }
+
+    private static int total(long counts) {
+        return (int) (counts >>> 32);
+    }
+
+    private static int available(long counts) {
+        return (int) (counts & AVAILABLE_MASK);
+    }
+
+    private static String requireIsbn(String isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN cannot be null");
+        }
+        return isbn;
+    }
+}
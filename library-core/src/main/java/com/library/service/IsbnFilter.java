@@ -0,0 +1,55 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.search.BloomFilter;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over a service's registered ISBNs, behind
+ * {@link LibraryService#mightContainIsbn}.
+ *
+ * The exact lookups do not go through it: a HashMap miss on an in-heap map is one
+ * cache line, already cheaper than hashing and probing the filter. "Maybe" answers
+ * are confirmed against the ISBN map purely to measure the false-positive rate;
+ * definite misses — most importer queries — are answered by the filter alone.
+ * Item 82: Thread-safe — the filter is lock-free and the counters are LongAdders.
+ */
+final class IsbnFilter {
+
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    // Large enough that small catalogs never grow the filter; each slice added
+    // later costs lookups one more cache line, so starting tiny would be false economy
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final BloomFilter filter;
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    IsbnFilter(double falsePositiveRate) {
+        this.filter = new BloomFilter(falsePositiveRate, INITIAL_CAPACITY);
+    }
+
+    // Must run before the ISBN becomes visible in the map, so the filter never
+    // answers "absent" for a book a lookup could find
+    void add(String isbn) {
+        filter.add(isbn);
+    }
+
+    boolean mightContain(String isbn, Map<String, Book> booksByIsbn) {
+        if (!filter.mightContain(isbn)) {
+            definiteMisses.increment();
+            return false;
+        }
+        if (!booksByIsbn.containsKey(isbn)) {
+            falsePositives.increment();
+        }
+        return true;
+    }
+
+    IsbnFilterStats stats() {
+        return new IsbnFilterStats(filter.falsePositiveRate(), filter.estimatedFalsePositiveRate(),
+            filter.fillRatio(), filter.bitCount(), filter.sliceCount(),
+            definiteMisses.sum(), falsePositives.sum());
+    }
+}
@@ -0,0 +1,65 @@
+package com.library.service;
+
+/**
+ * Point-in-time statistics of the Bloom filter in front of ISBN lookups.
+ *
+ * Item 17: Immutable value — safe to log or hand to a metrics exporter.
+ */
+public final class IsbnFilterStats {
+
+    private final double targetFalsePositiveRate;
+    private final double estimatedFalsePositiveRate;
+    private final double fillRatio;
+    private final long bitCount;
+    private final int sliceCount;
+    private final long definiteMisses;
+    private final long falsePositives;
+
+    IsbnFilterStats(double targetFalsePositiveRate, double estimatedFalsePositiveRate, double fillRatio,
+                    long bitCount, int sliceCount, long definiteMisses, long falsePositives) {
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.estimatedFalsePositiveRate = estimatedFalsePositiveRate;
+        this.fillRatio = fillRatio;
+        this.bitCount = bitCount;
+        this.sliceCount = sliceCount;
+        this.definiteMisses = definiteMisses;
+        this.falsePositives = falsePositives;
+    }
+
+    /** The configured bound on the false-positive rate. */
+    public double targetFalsePositiveRate() { return targetFalsePositiveRate; }
+
+    /** False-positive probability implied by how full the filter currently is. */
+    public double estimatedFalsePositiveRate() { return estimatedFalsePositiveRate; }
+
+    /** Fraction of the filter's bits that are set. */
+    public double fillRatio() { return fillRatio; }
+
+    public long bitCount() { return bitCount; }
+
+    /** Number of filter slices — one more each time the catalog outgrows the filter. */
+    public int sliceCount() { return sliceCount; }
+
+    /** {@code mightContainIsbn} calls answered "definitely not registered". */
+    public long definiteMisses() { return definiteMisses; }
+
+    /** {@code mightContainIsbn} calls answered "maybe" for an ISBN that is not registered. */
+    public long falsePositives() { return falsePositives; }
+
+    /**
+     * Share of {@code mightContainIsbn} calls for unregistered ISBNs that the filter
+     * failed to rule out; 0 before any such call.
+     */
+    public double observedFalsePositiveRate() {
+        long misses = definiteMisses + falsePositives;
+        return misses == 0 ? 0 : (double) falsePositives / misses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.ROOT,
+            "IsbnFilterStats{target=%.4f, estimated=%.4f, observed=%.4f, fill=%.3f, bits=%d, slices=%d}",
+            targetFalsePositiveRate, estimatedFalsePositiveRate, observedFalsePositiveRate(),
+            fillRatio, bitCount, sliceCount);
+    }
+}
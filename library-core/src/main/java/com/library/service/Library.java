@@ -3,8 +3,6 @@ package com.library.service;
 import com.library.core.Book;
 import com.library.core.Member;
 
-import java.util.ArrayList;
-import java.util.List;
 
 // Item 3: Singleton — implemented via enum (Bloch’s preferred method)
 // Advantages:
@@ -24,9 +22,9 @@ public enum Library {
     INSTANCE;
 
     // Item 15 (foreshadowed): Internal mutable state — but exposed via immutable views
-    // We use defensive copying in accessors to prevent external mutation
-    private final List<Book> catalog = new ArrayList<>();
-    private final List<Member> members = new ArrayList<>();
+    // Append-only stores hand out O(1) immutable snapshots instead of defensive copies
+    private final AppendOnlyStore<Book> catalog = new AppendOnlyStore<>();
+    private final AppendOnlyStore<Member> members = new AppendOnlyStore<>();
 
     // Item 3: No constructor needed — enum provides implicit private constructor
     // Attempting 'new Library()' won't compile — compile-time safety
@@ -40,24 +38,24 @@ public enum Library {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null");
         }
-        catalog.add(book);
+        catalog.append(book);
     }
 
     public void registerMember(Member member) {
         if (member == null) {
             throw new IllegalArgumentException("Member cannot be null");
         }
-        members.add(member);
+        members.append(member);
     }
 
-    // Item 15: Accessor returns defensive copy — prevents external mutation of internal state
-    // Also Item 52: Return interface type (List) not implementation (ArrayList)
-    public List<Book> listAllBooks() {
-        return List.copyOf(catalog); // JDK 10+ — immutable copy
+    // Item 15: Accessor returns an immutable snapshot — prevents external mutation of internal state
+    // Also Item 52: Return interface type (Snapshot, a List) not implementation
+    public Snapshot<Book> listAllBooks() {
+        return catalog.snapshot(); // O(1) — same instance until the next registration
     }
 
-    public List<Member> listAllMembers() {
-        return List.copyOf(members); // immutable copy
+    public Snapshot<Member> listAllMembers() {
+        return members.snapshot();
     }
 
     // Item 10: Override toString() for debugging
@@ -2,15 +2,145 @@ package com.library.service;
 
 import com.library.core.Book;
 import com.library.core.Member;
+import com.library.search.SearchOperator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // Item 5: Program to interface, not implementation (also Item 52)
 // Enables mocking, swapping implementations, and clear contracts
 public interface LibraryService {
-    void registerBook(Book book);
-    void registerMember(Member member);
-    List<Book> listAllBooks();
-    List<Member> listAllMembers();
-    // Item 31: Add flexible bulk registration
-    void registerAllBooks(List<? extends Book> books);
-}
\ No newline at end of file
+
+    /**
+     * Registers a book in the catalog.
+     * Item 11: Book equality is ISBN-based, so registering a second book with an
+     * ISBN that is already known is a no-op — the first registration wins.
+     *
+     * @return {@code true} if the book was added, {@code false} if its ISBN was already registered
+     */
+    boolean registerBook(Book book);
+
+    /**
+     * Registers a member. Members are identified by {@link Member#getId()};
+     * registering a second member with an id that is already known is a no-op.
+     *
+     * @return {@code true} if the member was added, {@code false} if the id was already registered
+     */
+    boolean registerMember(Member member);
+
+    /**
+     * Returns an immutable snapshot of the catalog in registration order.
+     * O(1): repeated calls with no registration in between return the same instance,
+     * and {@link Snapshot#version()} tells callers cheaply whether anything changed.
+     */
+    Snapshot<Book> listAllBooks();
+    Snapshot<Member> listAllMembers();
+    /**
+     * Registers a batch of books in list order, with the same first-wins rule as
+     * {@link #registerBook}. Item 31: Add flexible bulk registration.
+     *
+     * Cheaper than registering one by one: storage for the batch is reserved
+     * at once, large batches are validated in parallel and indexes catch up
+     * once per batch. Null elements are counted as rejected instead of failing
+     * the whole batch.
+     *
+     * @return how many books were accepted, duplicates or rejected
+     */
+    BatchResult registerAllBooks(List<? extends Book> books);
+
+    // Item 45 + Item 21: Streams and paging are views over the O(1) snapshot,
+    // so every implementation gets them for free and nothing is copied.
+    default Stream<Book> streamBooks() {
+        return listAllBooks().stream();
+    }
+
+    default Stream<Member> streamMembers() {
+        return listAllMembers().stream();
+    }
+
+    /**
+     * Returns one page of the catalog in registration order — a view over the
+     * current snapshot, so memory is proportional to the page, not the catalog.
+     * Item 54: An offset past the end yields an empty page, never null.
+     *
+     * @param offset index of the first book to return
+     * @param limit maximum number of books to return
+     */
+    default List<Book> listBooks(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
+        }
+        Snapshot<Book> books = listAllBooks();
+        int from = Math.min(offset, books.size());
+        int to = (int) Math.min((long) from + limit, books.size());
+        return books.subList(from, to);
+    }
+
+    // Item 55: Return Optional rather than null when a lookup may find nothing
+    Optional<Book> findByIsbn(String isbn);
+    boolean containsIsbn(String isbn);
+
+    /**
+     * Answers from the Bloom filter alone: {@code false} means the ISBN is definitely
+     * not registered, so an importer can skip the exact lookup; {@code true} means it
+     * may be, with probability of error bounded by the configured false-positive rate.
+     */
+    boolean mightContainIsbn(String isbn);
+
+    /** Current fill, size and false-positive statistics of the ISBN Bloom filter. */
+    IsbnFilterStats isbnFilterStats();
+
+    /**
+     * Full-text search over titles and authors. Case and accents are ignored.
+     * Item 54: Returns an empty list, never null, when nothing matches.
+     *
+     * @param query one or more terms
+     * @param operator whether a book must match all terms or any of them
+     * @param limit maximum number of results
+     * @return matching books, best match first
+     */
+    List<Book> search(String query, SearchOperator operator, int limit);
+
+    /**
+     * Type-ahead over titles and authors: returns up to {@code limit} titles or
+     * author names starting with {@code prefix}, most common first.
+     * Case and accents in the prefix are ignored.
+     */
+    List<String> autocomplete(String prefix, int limit);
+
+    /**
+     * Returns every book by exactly {@code author}, in registration order.
+     * O(1) in the catalog size — served from an author index, not a scan.
+     */
+    List<Book> findByAuthor(String author);
+
+    // Ordered browsing — Item 12: all three follow Book.BY_TITLE_THEN_AUTHOR and
+    // read from a sorted index, so they cost O(log n + k) with no re-sorting.
+
+    /** Returns books whose title is at least {@code fromTitle} and below {@code toTitle}. */
+    List<Book> booksBetween(String fromTitle, String toTitle);
+
+    /** Returns the first {@code n} books in title order. */
+    List<Book> firstN(int n);
+
+    /** Lazily streams books in title order, starting at the first title at least {@code fromTitle}. */
+    Stream<Book> booksFrom(String fromTitle);
+
+    /**
+     * Returns a thread-safe service for callers that register concurrently.
+     * Item 1: Static factory — the implementation class stays package-private.
+     */
+    static LibraryService concurrent() {
+        return new ConcurrentLibraryService(IsbnFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Returns a thread-safe service whose ISBN Bloom filter targets the given
+     * false-positive rate; the filter grows with the catalog to keep it.
+     *
+     * @param isbnFalsePositiveRate between 0 and 1, exclusive
+     */
+    static LibraryService concurrent(double isbnFalsePositiveRate) {
+        return new ConcurrentLibraryService(isbnFalsePositiveRate);
+    }
+}
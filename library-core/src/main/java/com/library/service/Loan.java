@@ -0,0 +1,36 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+
+/**
+ * One book on loan to one member, as recorded by {@link LoanLedger}.
+ *
+ * Item 17: Immutable value. Identity-based equality is deliberate: a book that is
+ * returned and checked out again to the same member is a new loan — with a new
+ * {@link #sequence()}.
+ */
+public final class Loan {
+
+    private final Book book;
+    private final Member member;
+    private final long sequence;
+
+    Loan(Book book, Member member, long sequence) {
+        this.book = book;
+        this.member = member;
+        this.sequence = sequence;
+    }
+
+    public Book book() { return book; }
+
+    public Member member() { return member; }
+
+    /** The ledger's sequence number for the checkout that started this loan; see {@link LoanChanges}. */
+    public long sequence() { return sequence; }
+
+    @Override
+    public String toString() {
+        return "Loan{isbn='" + book.getIsbn() + "', memberId='" + member.getId() + "'}";
+    }
+}
@@ -0,0 +1,54 @@
+package com.library.service;
+
+import java.util.List;
+
+/**
+ * The net change to a {@link LoanLedger}'s loans between two watermarks, as
+ * returned by {@link LoanLedger#changesSince}.
+ *
+ * Every checkout and return takes the ledger's next sequence number, and a
+ * watermark is the sequence number of the last change included. Applying a delta
+ * to the loans as they stood at {@link #since()} — dropping {@link #closed()},
+ * adding {@link #opened()} — gives the loans at {@link #through()}. A loan that
+ * started and ended between the two appears in neither list; from watermark 0, the
+ * opened loans are all current loans.
+ *
+ * Item 17: Immutable.
+ */
+public final class LoanChanges {
+
+    private final long since;
+    private final long through;
+    private final List<Loan> opened;
+    private final List<Loan> closed;
+
+    LoanChanges(long since, long through, List<Loan> opened, List<Loan> closed) {
+        this.since = since;
+        this.through = through;
+        this.opened = List.copyOf(opened);
+        this.closed = List.copyOf(closed);
+    }
+
+    /** The watermark these changes start after. */
+    public long since() { return since; }
+
+    /** The watermark these changes end at: pass it to the next {@link LoanLedger#changesSince}. */
+    public long through() { return through; }
+
+    /** Loans started after {@link #since()} and still current at {@link #through()}, in checkout order. */
+    public List<Loan> opened() { return opened; }
+
+    /** Loans current at {@link #since()} that have ended since, in return order. */
+    public List<Loan> closed() { return closed; }
+
+    /** Whether nothing changed between the two watermarks. */
+    public boolean isEmpty() {
+        return opened.isEmpty() && closed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "LoanChanges{since=" + since + ", through=" + through
+            + ", opened=" + opened.size() + ", closed=" + closed.size() + "}";
+    }
+}
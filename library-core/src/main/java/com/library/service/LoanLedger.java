@@ -0,0 +1,347 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Central record of who has which book, indexed both ways: ISBN to loan and
+ * member id to that member's loans. Every operation is O(1) — no scan of members
+ * or of a member's books.
+ *
+ * The ledger keeps each {@link Member}'s own borrowed-books view in step: a
+ * checkout adds the book to the member, a return removes it.
+ *
+ * Item 81 + Item 82: Thread-safe. Each ISBN is claimed with an atomic
+ * {@link ConcurrentMap#compute}, so of several racing checkouts of one book exactly
+ * one wins, and checkouts of different books never share a lock. The member side is
+ * updated inside that compute, so once {@link #currentHolder} reports a loan the
+ * member's loans and {@link Member#getBorrowedBooks()} already include it; on return
+ * they drop it just before {@link #currentHolder} does.
+ *
+ * Every checkout and return also takes the next number of one ledger-wide
+ * sequence and is kept in a change log ordered by it, so {@link #changesSince}
+ * finds what changed after a watermark in time proportional to the changes, not
+ * to the loans. Numbering is the one step all mutations share: a short lock held
+ * only to take the number and append the change. The log grows until
+ * {@link #discardChangesThrough} trims what has been exported. A
+ * {@link DurableLibraryService} logs the numbers and restores them, so its
+ * watermarks stay valid across restarts; a plain ledger starts again at 0.
+ */
+public final class LoanLedger {
+
+    private final ConcurrentMap<String, Loan> loansByIsbn = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Loan>> loansByMember = new ConcurrentHashMap<>();
+    // Sequence number to change: the loan that started, or the loan that ended
+    private final ConcurrentNavigableMap<Long, Change> changes = new ConcurrentSkipListMap<>();
+    private final Object sequencing = new Object();
+    // Written under sequencing, after the change is in the log: every change up to it is visible
+    private volatile long sequence;
+    private volatile long discardedThrough;
+
+    /**
+     * Lends {@code book} to {@code member}.
+     *
+     * @return {@code true} if the loan was recorded, {@code false} if the book is already on loan
+     */
+    public boolean checkout(Book book, Member member) {
+        return checkout(book, member, 0);
+    }
+
+    /**
+     * Lends {@code book} to {@code member} under the given sequence number, which
+     * must be after {@link #sequence()}; 0 takes the next one. For restoring a
+     * logged checkout with the number it had.
+     */
+    boolean checkout(Book book, Member member, long number) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        boolean[] lent = new boolean[1];
+        loansByIsbn.compute(book.getIsbn(), (isbn, current) -> {
+            if (current != null) {
+                return current;
+            }
+            Loan loan;
+            synchronized (sequencing) {
+                long next = next(number);
+                loan = new Loan(book, member, next);
+                changes.put(next, new Change(loan, true));
+                sequence = next;
+            }
+            loansByMember.computeIfAbsent(member.getId(), id -> ConcurrentHashMap.newKeySet()).add(loan);
+            member.checkoutBook(book);
+            lent[0] = true;
+            return loan;
+        });
+        return lent[0];
+    }
+
+    /**
+     * Ends the loan of the book with this ISBN.
+     *
+     * @return the loan that ended, or empty if the book was not on loan
+     */
+    public Optional<Loan> returnBook(String isbn) {
+        return returnBook(isbn, 0);
+    }
+
+    /**
+     * Ends the loan of the book with this ISBN under the given sequence number, which
+     * must be after {@link #sequence()}; 0 takes the next one.
+     */
+    Optional<Loan> returnBook(String isbn, long number) {
+        Loan[] ended = new Loan[1];
+        loansByIsbn.computeIfPresent(requireIsbn(isbn), (key, loan) -> {
+            Set<Loan> loans = loansByMember.get(loan.member().getId());
+            if (loans != null) {
+                loans.remove(loan);
+            }
+            loan.member().returnBook(loan.book());
+            synchronized (sequencing) {
+                long next = next(number);
+                changes.put(next, new Change(loan, false));
+                sequence = next;
+            }
+            ended[0] = loan;
+            return null; // removes the entry
+        });
+        return Optional.ofNullable(ended[0]);
+    }
+
+    /** Returns the member who has the book with this ISBN, if it is on loan. */
+    public Optional<Member> currentHolder(String isbn) {
+        return loanOf(isbn).map(Loan::member);
+    }
+
+    /** Returns the current loan of the book with this ISBN, if any. */
+    public Optional<Loan> loanOf(String isbn) {
+        return Optional.ofNullable(loansByIsbn.get(requireIsbn(isbn)));
+    }
+
+    /**
+     * Returns the member's current loans as an unmodifiable live view — O(1), no
+     * copy. Iteration is weakly consistent: it never throws while loans change, and
+     * reflects some state at or after the call. Copy it for a fixed picture.
+     */
+    public Set<Loan> loansOf(String memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member id cannot be null");
+        }
+        Set<Loan> loans = loansByMember.get(memberId);
+        return loans == null ? Set.of() : Collections.unmodifiableSet(loans);
+    }
+
+    /**
+     * Streams every current loan. Weakly consistent: it never throws while loans
+     * change, and sees each book's loan as of some moment during the traversal.
+     */
+    public Stream<Loan> streamLoans() {
+        return loansByIsbn.values().stream();
+    }
+
+    /** Number of books currently on loan. */
+    public int activeLoans() {
+        return loansByIsbn.size();
+    }
+
+    /** The sequence number of the latest checkout or return; 0 before the first. */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the net change to the loans after {@code watermark}, through the
+     * latest change at the time of the call — O(log n + changes since the watermark).
+     * Pass {@link LoanChanges#through()} as the next watermark; pass 0 for every
+     * current loan, which is always possible — once changes have been discarded it
+     * walks the loans instead, O(loans).
+     *
+     * @throws IllegalArgumentException if {@code watermark} is negative or ahead of {@link #sequence()}
+     * @throws IllegalStateException if {@code watermark} is not 0 and changes after it have been discarded
+     */
+    public LoanChanges changesSince(long watermark) {
+        long through = sequence;
+        if (watermark < 0 || watermark > through) {
+            throw new IllegalArgumentException("Watermark " + watermark + " is outside 0.." + through);
+        }
+        if (watermark == 0 && discardedThrough > 0) {
+            return currentLoans();
+        }
+        List<Change> window = new ArrayList<>(changes.subMap(watermark, false, through, true).values());
+        // Checked after the copy: a discard marks before it trims, so a trimmed copy is caught here
+        if (watermark < discardedThrough) {
+            throw new IllegalStateException("Changes through " + discardedThrough
+                + " were discarded; watermark " + watermark + " needs a full report");
+        }
+        Map<Loan, Boolean> ended = new IdentityHashMap<>();
+        for (Change change : window) {
+            if (!change.opened) {
+                ended.put(change.loan, Boolean.TRUE);
+            }
+        }
+        List<Loan> opened = new ArrayList<>();
+        List<Loan> closed = new ArrayList<>();
+        for (Change change : window) {
+            if (change.opened && !ended.containsKey(change.loan)) {
+                opened.add(change.loan);
+            } else if (!change.opened && change.loan.sequence() <= watermark) {
+                closed.add(change.loan);
+            }
+        }
+        return new LoanChanges(watermark, through, opened, closed);
+    }
+
+    // Every loan current at some sequence number, from the loans and the returns logged since
+    private LoanChanges currentLoans() {
+        while (true) {
+            long through = sequence;
+            Map<Loan, Boolean> current = new IdentityHashMap<>();
+            for (Loan loan : loansByIsbn.values()) {
+                if (loan.sequence() <= through) {
+                    current.put(loan, Boolean.TRUE);
+                }
+            }
+            // A loan returned after through was current then, but the walk may have missed it
+            for (Change change : changes.tailMap(through, false).values()) {
+                if (!change.opened && change.loan.sequence() <= through) {
+                    current.put(change.loan, Boolean.TRUE);
+                }
+            }
+            // Checked after the copy, as in changesSince: those returns must not have been trimmed
+            if (discardedThrough <= through) {
+                List<Loan> opened = new ArrayList<>(current.keySet());
+                opened.sort(Comparator.comparingLong(Loan::sequence));
+                return new LoanChanges(0, through, opened, List.of());
+            }
+        }
+    }
+
+    /**
+     * Drops the logged changes up to and including {@code watermark}, typically once
+     * a report ending there is safely stored. Later calls to {@link #changesSince}
+     * must pass at least {@code watermark}.
+     */
+    public void discardChangesThrough(long watermark) {
+        if (watermark < 0 || watermark > sequence) {
+            throw new IllegalArgumentException("Watermark " + watermark + " is outside 0.." + sequence);
+        }
+        synchronized (sequencing) {
+            if (watermark > discardedThrough) {
+                discardedThrough = watermark;
+            }
+        }
+        changes.headMap(watermark, true).clear();
+    }
+
+    // --- Saving and restoring the ledger, for snapshots ---
+
+    /** The watermark the change log was last trimmed to; 0 if it never was. */
+    long discardedThrough() {
+        return discardedThrough;
+    }
+
+    /**
+     * Copies the logged changes up to and including {@code through}, by number, each
+     * with the loan it started or ended; a loan was started by the change with its
+     * own number. Changes are only ever trimmed up to {@link #discardedThrough()},
+     * so read that after the copy: the copy holds every change after it.
+     */
+    NavigableMap<Long, Loan> changesThrough(long through) {
+        NavigableMap<Long, Loan> copy = new TreeMap<>();
+        changes.headMap(through, true).forEach((number, change) -> copy.put(number, change.loan));
+        return copy;
+    }
+
+    /**
+     * Continues numbering after {@code number}, the sequence a snapshot was taken
+     * at, with the changes through {@code discarded} gone, as they were when it was
+     * taken. The changes after that come back through {@link #restoreChange}.
+     */
+    void restoreSequence(long number, long discarded) {
+        synchronized (sequencing) {
+            sequence = Math.max(sequence, number);
+            discardedThrough = Math.max(discardedThrough, discarded);
+        }
+    }
+
+    /** Adds a current loan taken from a snapshot; no change is logged. */
+    void restoreLoan(Loan loan) {
+        if (loansByIsbn.putIfAbsent(loan.book().getIsbn(), loan) == null) {
+            loansByMember.computeIfAbsent(loan.member().getId(), id -> ConcurrentHashMap.newKeySet()).add(loan);
+            loan.member().checkoutBook(loan.book());
+            synchronized (sequencing) {
+                sequence = Math.max(sequence, loan.sequence());
+            }
+        }
+    }
+
+    /** Puts back a change a snapshot kept, numbered at or before its sequence. */
+    void restoreChange(long number, Loan loan) {
+        if (number > discardedThrough) {
+            changes.put(number, new Change(loan, loan.sequence() == number));
+        }
+    }
+
+    /** Logs the return of a loan the ledger no longer holds, such as one a snapshot missed. */
+    void restoreReturn(Loan loan, long number) {
+        synchronized (sequencing) {
+            long next = next(number);
+            changes.put(next, new Change(loan, false));
+            sequence = next;
+        }
+    }
+
+    /** Uses up the numbers through {@code number}, such as those of a logged change that cannot be restored. */
+    void skipThrough(long number) {
+        synchronized (sequencing) {
+            sequence = Math.max(sequence, number);
+        }
+    }
+
+    // Guarded by sequencing
+    private long next(long number) {
+        if (number == 0) {
+            return sequence + 1;
+        }
+        if (number <= sequence) {
+            throw new IllegalStateException("Sequence number " + number + " is not after " + sequence);
+        }
+        return number;
+    }
+
+    // Item 24: Static member class — one entry of the change log
+    private static final class Change {
+        final Loan loan;
+        final boolean opened;
+
+        Change(Loan loan, boolean opened) {
+            this.loan = loan;
+            this.opened = opened;
+        }
+    }
+
+    private static String requireIsbn(String isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN cannot be null");
+        }
+        return isbn;
+    }
+}
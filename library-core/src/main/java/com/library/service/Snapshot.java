@@ -0,0 +1,22 @@
+package com.library.service;
+
+import java.util.List;
+
+/**
+ * An immutable, point-in-time view of a registry (books or members).
+ *
+ * Item 17: Snapshots never change after they are handed out — all mutators throw
+ * {@link UnsupportedOperationException} — so they can be shared freely between threads.
+ * Item 64: Callers refer to it as a {@link List}; the version is an optional extra.
+ *
+ * @param <E> element type
+ */
+public interface Snapshot<E> extends List<E> {
+
+    /**
+     * Returns the version of the registry this snapshot was taken at.
+     * Versions only grow: if two snapshots of the same registry have the same
+     * version, nothing was registered in between.
+     */
+    long version();
+}
@@ -0,0 +1,284 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes snapshot files: the full catalog, members and loans at one
+ * point, the loan changes not yet discarded, plus the number of the first log file
+ * whose records are not covered.
+ *
+ * Layout: a header
+ * {@code [int magic][int version][long firstLogFile][long sequence][long discardedThrough]},
+ * where {@code sequence} is the {@link LoanLedger#sequence()} the log was rolled at
+ * and {@code discardedThrough} the watermark the ledger's changes were trimmed to,
+ * then blocks framed like log records, {@code [int length][int CRC32C][payload]}.
+ * Each block's payload is a type byte, a varint count and that many entries in the
+ * {@link BinaryRecords} encoding. A loan is its ISBN, member id and sequence number;
+ * a change is the ISBN and member id of its loan, the loan's sequence number and
+ * its own, equal for a checkout. Keeping the changes means a restart does not cut
+ * an incremental report short: only {@link LoanLedger#discardChangesThrough} does.
+ * A final block holds the four totals, so a file cut short is detected. Blocks are
+ * about {@link #BLOCK_BYTES} long.
+ *
+ * Reading maps the file with {@link FileChannel#map} in windows of up to
+ * {@link #WINDOW_BYTES}, so even multi-gigabyte snapshots are decoded straight from
+ * the page cache without read calls or an intermediate heap copy of the file.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x4C534E50; // "LSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    private static final byte BOOKS = 1;
+    private static final byte MEMBERS = 2;
+    private static final byte LOANS = 3;
+    private static final byte CHANGES = 4;
+    private static final byte END = 5;
+
+    // Item 4: Noninstantiable utility class
+    private SnapshotFile() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Writes a snapshot and forces it to disk. Loans and changes are stored as ISBN
+     * and member id, so every book and member they refer to must also be in
+     * {@code books} and {@code members}. Changes through {@code discardedThrough} are
+     * left out.
+     */
+    static void write(Path file, long firstLogFile, long sequence, long discardedThrough, List<Book> books,
+                      List<Member> members, List<Loan> loans, Map<Long, Loan> changes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            BlockWriter writer = new BlockWriter(channel);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION)
+                .putLong(firstLogFile).putLong(sequence).putLong(discardedThrough);
+            writeFully(channel, header.flip());
+            for (Book book : books) {
+                BinaryRecords.putBook(writer.add(BOOKS, BinaryRecords.sizeOf(book)), book);
+            }
+            for (Member member : members) {
+                BinaryRecords.putMember(writer.add(MEMBERS, BinaryRecords.sizeOf(member)), member);
+            }
+            for (Loan loan : loans) {
+                putLoan(writer.add(LOANS, loanSize(loan)), loan);
+            }
+            int kept = 0;
+            for (Map.Entry<Long, Loan> change : changes.entrySet()) {
+                long number = change.getKey();
+                if (number > discardedThrough) {
+                    Loan loan = change.getValue();
+                    ByteBuffer entry = writer.add(CHANGES, loanSize(loan) + BinaryRecords.varlongSize(number));
+                    putLoan(entry, loan);
+                    BinaryRecords.putVarlong(entry, number);
+                    kept++;
+                }
+            }
+            writer.flush();
+            ByteBuffer end = ByteBuffer.allocate(24);
+            BinaryRecords.putVarint(end, books.size());
+            BinaryRecords.putVarint(end, members.size());
+            BinaryRecords.putVarint(end, loans.size());
+            BinaryRecords.putVarint(end, kept);
+            writer.writeBlock(END, 0, end.flip());
+            channel.force(true);
+        }
+    }
+
+    private static int loanSize(Loan loan) {
+        return BinaryRecords.sizeOf(loan.book().getIsbn()) + BinaryRecords.sizeOf(loan.member().getId())
+            + BinaryRecords.varlongSize(loan.sequence());
+    }
+
+    private static void putLoan(ByteBuffer entry, Loan loan) {
+        BinaryRecords.putString(entry, loan.book().getIsbn());
+        BinaryRecords.putString(entry, loan.member().getId());
+        BinaryRecords.putVarlong(entry, loan.sequence());
+    }
+
+    /**
+     * Reads a snapshot into {@code contents}: the sequences first, then the books a
+     * block at a time, then the members, the loans and the changes.
+     *
+     * @return the number of the first log file not covered by the snapshot
+     * @throws IOException if the file is not a complete, intact snapshot
+     */
+    static long read(Path file, Contents contents) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedRegions regions = new MappedRegions(channel);
+            ByteBuffer header = regions.get(0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " snapshot: " + file);
+            }
+            long firstLogFile = header.getLong();
+            long sequence = header.getLong();
+            contents.sequence(sequence, header.getLong());
+            long position = HEADER_BYTES;
+            long[] counts = new long[END];
+            CRC32C checksum = new CRC32C();
+            while (true) {
+                ByteBuffer frame = regions.get(position, WriteAheadLog.HEADER_BYTES);
+                int length = frame.getInt();
+                int expected = frame.getInt();
+                if (length < 0) {
+                    throw new IOException("Corrupt snapshot block at offset " + position + ": " + file);
+                }
+                ByteBuffer block = regions.get(position + WriteAheadLog.HEADER_BYTES, length);
+                checksum.reset();
+                checksum.update(block.duplicate());
+                if ((int) checksum.getValue() != expected) {
+                    throw new IOException("Corrupt snapshot block at offset " + position + ": " + file);
+                }
+                position += WriteAheadLog.HEADER_BYTES + length;
+                byte type = block.get();
+                int count = BinaryRecords.getVarint(block);
+                if (type == END) {
+                    for (int total = BOOKS; total < END; total++) {
+                        if (counts[total] != BinaryRecords.getVarint(block)) {
+                            throw new IOException("Snapshot totals do not match its contents: " + file);
+                        }
+                    }
+                    return firstLogFile;
+                }
+                if (type < BOOKS || type > CHANGES) {
+                    throw new IOException("Unknown snapshot block type " + type + ": " + file);
+                }
+                counts[type] += count;
+                decode(type, count, block, contents);
+            }
+        }
+    }
+
+    private static void decode(byte type, int count, ByteBuffer block, Contents contents) {
+        if (type == BOOKS) {
+            List<Book> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(BinaryRecords.getBook(block));
+            }
+            contents.books(batch);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            if (type == MEMBERS) {
+                contents.member(BinaryRecords.getMember(block));
+                continue;
+            }
+            String isbn = BinaryRecords.getString(block);
+            String memberId = BinaryRecords.getString(block);
+            long loanNumber = BinaryRecords.getVarlong(block);
+            if (type == LOANS) {
+                contents.loan(isbn, memberId, loanNumber);
+            } else {
+                contents.change(isbn, memberId, loanNumber, BinaryRecords.getVarlong(block));
+            }
+        }
+    }
+
+    // What a snapshot is read into, in the order of the file
+    interface Contents {
+        void sequence(long sequence, long discardedThrough);
+
+        void books(List<Book> books);
+
+        void member(Member member);
+
+        void loan(String isbn, String memberId, long number);
+
+        void change(String isbn, String memberId, long loanNumber, long number);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Item 24: Static member class — packs entries of one type into checksummed blocks
+    private static final class BlockWriter {
+        private final FileChannel channel;
+        private final ByteBuffer frame = ByteBuffer.allocate(WriteAheadLog.HEADER_BYTES);
+        private final CRC32C checksum = new CRC32C();
+        private ByteBuffer entries = ByteBuffer.allocate(BLOCK_BYTES);
+        private byte type;
+        private int count;
+
+        BlockWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        // Starts an entry of {@code size} bytes; the caller writes it into the returned buffer
+        ByteBuffer add(byte entryType, int size) throws IOException {
+            if (entryType != type || entries.position() >= BLOCK_BYTES) {
+                flush();
+                type = entryType;
+            }
+            if (entries.remaining() < size) {
+                entries = ByteBuffer.allocate(entries.position() + size).put(entries.flip());
+            }
+            count++;
+            return entries;
+        }
+
+        void flush() throws IOException {
+            if (count > 0) {
+                writeBlock(type, count, entries.flip());
+            }
+            entries.clear();
+            count = 0;
+        }
+
+        void writeBlock(byte blockType, int entryCount, ByteBuffer body) throws IOException {
+            ByteBuffer prefix = ByteBuffer.allocate(6);
+            prefix.put(blockType);
+            BinaryRecords.putVarint(prefix, entryCount);
+            prefix.flip();
+            checksum.reset();
+            checksum.update(prefix.duplicate());
+            checksum.update(body.duplicate());
+            frame.clear().putInt(prefix.remaining() + body.remaining()).putInt((int) checksum.getValue()).flip();
+            ByteBuffer[] buffers = {frame, prefix, body};
+            while (body.hasRemaining() || prefix.hasRemaining() || frame.hasRemaining()) {
+                channel.write(buffers);
+            }
+        }
+    }
+
+    // Item 24: Static member class — serves byte ranges of the file from a sliding mapped window
+    private static final class MappedRegions {
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedRegions(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        ByteBuffer get(long position, int length) throws IOException {
+            if (position + length > size) {
+                throw new IOException("Snapshot is truncated at offset " + position);
+            }
+            if (window == null || position < windowStart || position + length > windowStart + window.capacity()) {
+                long mapped = Math.min(size - position, Math.max(WINDOW_BYTES, length));
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, mapped);
+                windowStart = position;
+            }
+            return window.slice((int) (position - windowStart), length);
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.library.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only file of records, written through a {@link FileChannel} with group
+ * commit: writers that arrive while a write is in flight queue their records in
+ * memory, and the next of them to go writes the whole queue with one {@code write}
+ * and, under {@link SyncPolicy#everyWrite()}, one {@code force}. One disk flush
+ * thus makes a whole group of concurrent writers durable at once.
+ *
+ * Each record is framed as {@code [int length][int CRC32C][payload]}, with a
+ * payload of at least one byte. On {@link #open} the existing records are read back
+ * and handed to a replay callback; a torn or corrupt tail — a crash in the middle of
+ * a write — is cut off there. Zero bytes, as a file system may leave in an extent
+ * allocated but never written, read as a zero length and so end the log too: an
+ * empty payload's CRC32C is 0, so they would otherwise pass as valid records.
+ *
+ * {@link #roll} moves appending to a new file, so older files can be deleted once
+ * their records are saved elsewhere, such as in a snapshot.
+ *
+ * Once {@link #append} returns, the record survives a crash of the process: it has
+ * reached the operating system. Whether it also survives a power loss depends on
+ * the {@link SyncPolicy}.
+ *
+ * Item 82: Thread-safe. Item 9: AutoCloseable — use with try-with-resources.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = 8; // length + checksum
+    static final int MAX_RECORD_BYTES = 1 << 24;
+    private static final int INITIAL_BUFFER_BYTES = 1 << 16;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final SyncPolicy policy;
+    private final ScheduledExecutorService syncer; // only for SyncPolicy.interval
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition written = lock.newCondition();
+
+    // Guarded by lock. Writers fill one buffer while the leader writes the other.
+    private FileChannel channel; // replaced by roll
+    private ByteBuffer filling = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+    private ByteBuffer draining = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+    private long queuedSeq;   // last record queued
+    private long writtenSeq;  // last record written, and forced if the policy says so
+    private long syncedSeq;   // last record forced
+    private boolean leading;  // a writer is writing the draining buffer
+    private boolean closed;
+    private IOException failure;
+    private long syncs;
+
+    private WriteAheadLog(FileChannel channel, SyncPolicy policy) {
+        this.channel = channel;
+        this.policy = policy;
+        if (policy.intervalMillis > 0) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "write-ahead-log-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncInBackground,
+                policy.intervalMillis, policy.intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * Opens the log, creating the file and forcing its directory entry if needed.
+     * Every intact record already in it
+     * is passed to {@code replay}, oldest first, as a read-only buffer that is only
+     * valid during the call; anything after the last intact record is truncated.
+     * New records are appended after the replayed ones.
+     */
+    public static WriteAheadLog open(Path file, SyncPolicy policy, Consumer<ByteBuffer> replay) throws IOException {
+        Objects.requireNonNull(policy, "policy must not be null");
+        Objects.requireNonNull(replay, "replay must not be null");
+        boolean created = Files.notExists(file);
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (created) {
+                forceDirectory(file.toAbsolutePath().getParent());
+            }
+            long end = recover(channel, replay);
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(false);
+            }
+            channel.position(end);
+            return new WriteAheadLog(channel, policy);
+        } catch (IOException | RuntimeException | Error e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends one record and returns once it is written — and forced to disk under
+     * {@link SyncPolicy#everyWrite()}.
+     *
+     * @throws IOException if this or an earlier write failed; the log then refuses further records
+     */
+    public void append(byte[] payload) throws IOException {
+        awaitWritten(enqueue(payload));
+    }
+
+    /**
+     * Queues a record without waiting for it. Records are written in the order they
+     * are queued, so a caller holding its own lock across {@code enqueue} fixes the
+     * log order without holding that lock during the write.
+     *
+     * @return the record's sequence number, for {@link #awaitWritten}
+     */
+    long enqueue(byte[] payload) throws IOException {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null");
+        }
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Payload cannot be empty");
+        }
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds " + MAX_RECORD_BYTES);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log is closed");
+            }
+            checkFailure();
+            if (filling.remaining() < HEADER_BYTES + payload.length) {
+                filling = grow(filling, HEADER_BYTES + payload.length);
+            }
+            filling.putInt(payload.length).putInt((int) checksum.getValue()).put(payload);
+            return ++queuedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Waits until the record with this sequence number is written, leading a group write if none is in flight. */
+    void awaitWritten(long seq) throws IOException {
+        lock.lock();
+        try {
+            while (writtenSeq < seq) {
+                checkFailure();
+                if (leading) {
+                    written.awaitUninterruptibly();
+                } else {
+                    writeQueued();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes and forces every queued record, then continues the log in a new, empty
+     * file. Records queued after the call starts may land in either file, so callers
+     * that need a clean cut hold off their own writers meanwhile.
+     *
+     * @param next the new file; it must not exist yet
+     */
+    public void roll(Path next) throws IOException {
+        FileChannel fresh = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory(next.toAbsolutePath().getParent()); // else a crash could lose the file with its records
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log is closed");
+            }
+            while (writtenSeq < queuedSeq || leading) {
+                checkFailure();
+                if (leading) {
+                    written.awaitUninterruptibly();
+                } else {
+                    writeQueued();
+                }
+            }
+            checkFailure();
+            channel.force(false);
+            channel.close();
+            channel = fresh;
+            syncedSeq = writtenSeq;
+        } catch (IOException | RuntimeException | Error e) {
+            fresh.close();
+            Files.deleteIfExists(next);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records appended since the log was opened. */
+    public long appended() {
+        lock.lock();
+        try {
+            return queuedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Times the file has been forced to disk — compare with {@link #appended()} for the group size. */
+    public long syncs() {
+        lock.lock();
+        try {
+            return syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writes every queued record, forces the file unless it already failed, and closes it. */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            while (writtenSeq < queuedSeq && failure == null) {
+                if (leading) {
+                    written.awaitUninterruptibly();
+                } else {
+                    writeQueued();
+                }
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (syncer != null) {
+                syncer.shutdown();
+                awaitTermination(syncer);
+            }
+            if (failure == null) {
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Called with the lock held; releases it for the duration of the write
+    private void writeQueued() {
+        leading = true;
+        ByteBuffer batch = filling;
+        filling = draining;
+        draining = batch;
+        long batchSeq = queuedSeq;
+        FileChannel target = channel;
+        boolean force = policy.intervalMillis == 0;
+        IOException error = null;
+        lock.unlock();
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                target.write(batch);
+            }
+            if (force) {
+                target.force(false);
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.lock();
+            batch.clear();
+            leading = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                writtenSeq = batchSeq;
+                if (force) {
+                    syncedSeq = batchSeq;
+                    syncs++;
+                }
+            }
+            written.signalAll();
+        }
+    }
+
+    private void syncInBackground() {
+        long target;
+        FileChannel forced;
+        lock.lock();
+        try {
+            if (closed || failure != null || syncedSeq == writtenSeq) {
+                return;
+            }
+            target = writtenSeq;
+            forced = channel;
+        } finally {
+            lock.unlock();
+        }
+        IOException error = null;
+        try {
+            forced.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+        lock.lock();
+        try {
+            if (forced != channel) {
+                return; // rolled meanwhile: roll forced and closed that file itself
+            }
+            if (error != null) {
+                failure = error;
+                written.signalAll();
+            } else {
+                syncedSeq = Math.max(syncedSeq, target);
+                syncs++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Write-ahead log failed earlier", failure);
+        }
+    }
+
+    // Replays intact records and returns the file offset just past the last of them
+    private static long recover(FileChannel channel, Consumer<ByteBuffer> replay) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES).flip();
+        CRC32C checksum = new CRC32C();
+        long end = 0;
+        while (fill(channel, buffer, HEADER_BYTES)) {
+            int length = buffer.getInt(buffer.position());
+            int expected = buffer.getInt(buffer.position() + 4);
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                break; // a corrupt header or zero-filled tail: nothing after it can be trusted
+            }
+            if (buffer.capacity() < HEADER_BYTES + length) {
+                buffer = grow(buffer.compact(), HEADER_BYTES + length).flip();
+            }
+            if (!fill(channel, buffer, HEADER_BYTES + length)) {
+                break; // torn final record
+            }
+            ByteBuffer payload = buffer.slice(buffer.position() + HEADER_BYTES, length);
+            checksum.reset();
+            checksum.update(payload.duplicate());
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+            replay.accept(payload.asReadOnlyBuffer());
+            buffer.position(buffer.position() + HEADER_BYTES + length);
+            end += HEADER_BYTES + length;
+        }
+        return end;
+    }
+
+    // Reads until at least {@code needed} bytes are readable; false at end of file
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < needed) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            buffer.flip();
+        }
+    }
+
+    // A larger buffer of the same kind holding the readable bytes of {@code buffer}, ready for writing
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+        ByteBuffer larger = buffer.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        return larger.put(buffer.flip());
+    }
+
+    // Makes a new or renamed entry in the directory durable, where the platform allows forcing a directory
+    static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported on every platform, such as Windows
+        }
+    }
+
+    private static void awaitTermination(ScheduledExecutorService executor) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * When the log forces written records to disk. Every policy survives a crash of
+     * the process once {@link #append} returns; they differ on power loss.
+     *
+     * Item 1: Static factories name the three choices.
+     */
+    public static final class SyncPolicy {
+
+        private static final SyncPolicy EVERY_WRITE = new SyncPolicy(0);
+        private static final SyncPolicy NEVER = new SyncPolicy(-1);
+
+        private final long intervalMillis; // 0: every write; negative: never
+
+        private SyncPolicy(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        /** Forces each group write before its writers return: nothing acknowledged is lost. */
+        public static SyncPolicy everyWrite() {
+            return EVERY_WRITE;
+        }
+
+        /** Forces in the background at most this often: a power loss loses up to one interval. */
+        public static SyncPolicy interval(Duration interval) {
+            if (interval == null || interval.toMillis() < 1) {
+                throw new IllegalArgumentException("interval must be at least one millisecond");
+            }
+            return new SyncPolicy(interval.toMillis());
+        }
+
+        /** Leaves flushing to the operating system, and to {@link WriteAheadLog#close()}. */
+        public static SyncPolicy never() {
+            return NEVER;
+        }
+
+        @Override
+        public String toString() {
+            if (intervalMillis == 0) {
+                return "everyWrite";
+            }
+            return intervalMillis < 0 ? "never" : "interval(" + intervalMillis + "ms)";
+        }
+    }
+}
@@ -13,6 +13,8 @@ class InterfaceDesignTest {
         // Item 22: Scan all interfaces — they must have at least one abstract method
         Class<?>[] interfaces = {
             com.library.service.LibraryService.class,
+            com.library.service.Snapshot.class,
+            com.library.search.BookIndex.class,
             com.library.io.ReportExporter.class
             // Add new interfaces here
         };
@@ -0,0 +1,123 @@
+package com.library.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal timing harness shared by the {@code *Benchmark} classes.
+ *
+ * Benchmarks are plain JUnit classes whose names do not match Surefire's default
+ * {@code *Test} pattern, so a normal build never runs them. Run one explicitly:
+ * <pre>
+ *   mvn test -Dtest=IsbnLookupBenchmark
+ * </pre>
+ * Item 67: Optimize judiciously — measure before and after every performance change.
+ */
+public final class Benchmarks {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    // Results are folded into this field so the JIT cannot eliminate the measured work
+    @SuppressWarnings("unused")
+    private static volatile long sink;
+
+    // Item 4: Noninstantiable utility class
+    private Benchmarks() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Runs {@code round} a few times to warm up, then returns the best observed
+     * nanoseconds per operation over the measured rounds.
+     *
+     * @param operationsPerRound number of operations one call to {@code round} performs
+     * @param round the measured work; returns a checksum that is kept alive
+     */
+    public static double nanosPerOp(int operationsPerRound, LongSupplier round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += round.getAsLong();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += round.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / operationsPerRound;
+    }
+
+    /**
+     * Starts {@code threads} threads behind a common gate, runs {@code worker}
+     * once on each (passing the thread index) and returns total operations per second.
+     *
+     * @param worker performs the work for one thread and returns how many operations it did
+     */
+    public static double opsPerSecond(int threads, IntToLongFunction worker) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicLong operations = new AtomicLong();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    operations.addAndGet(worker.applyAsLong(index));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return operations.get() * 1e9 / elapsed;
+    }
+
+    /**
+     * Returns the heap in use after requesting a few full collections — good enough
+     * to compare the footprint of two structures built in the same JVM.
+     */
+    public static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns the bytes the calling thread has allocated so far; the difference
+     * across a piece of work is what it allocated, whether or not it survives.
+     */
+    public static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    /** Keeps a value alive outside of {@link #nanosPerOp}. */
+    public static void consume(long value) {
+        sink += value;
+    }
+
+    /** Prints one line of a benchmark report. */
+    public static void report(String format, Object... args) {
+        System.out.println(String.format(Locale.ROOT, format, args));
+    }
+}
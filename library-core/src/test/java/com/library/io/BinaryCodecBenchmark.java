@@ -0,0 +1,119 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Encoding and decoding loans — a book and its member — with {@link BinaryCodec}
+ * versus the CSV and JSON report formats, on the same data: hyphenated ISBN-13s,
+ * short titles and authors, members with an id and a name. The text formats write
+ * the member's name only, the binary one its id as well. Reports nanoseconds and
+ * bytes per loan; JSON decoding goes through {@link JsonLoanReader}.
+ *
+ * Run with: mvn test -Dtest=BinaryCodecBenchmark
+ */
+class BinaryCodecBenchmark {
+
+    private static final int LOANS = 100_000;
+
+    @Test
+    void binaryVersusTextFormats() throws IOException {
+        Book[] books = new Book[LOANS];
+        Member[] members = new Member[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            books[i] = Book.create("Title " + i + ", Volume " + (i % 12), "Author " + (i % 20_000),
+                String.format("978-%010d", i));
+            members[i] = Member.builder().id("M" + (i % 1_000)).name("Member " + (i % 1_000)).build();
+        }
+
+        StringWriter csv = new StringWriter(LOANS * 128);
+        ReportExporter csvExporter = new CsvReportExporter();
+        double csvNanos = Benchmarks.nanosPerOp(LOANS, () -> export(csvExporter, csv, books, members));
+        StringWriter json = new StringWriter(LOANS * 160);
+        ReportExporter jsonExporter = new JsonReportExporter();
+        double jsonNanos = Benchmarks.nanosPerOp(LOANS, () -> export(jsonExporter, json, books, members));
+
+        ByteBuffer heap = ByteBuffer.allocate(LOANS * 96);
+        double heapNanos = Benchmarks.nanosPerOp(LOANS, () -> encode(heap, books, members));
+        ByteBuffer direct = ByteBuffer.allocateDirect(LOANS * 96);
+        double directNanos = Benchmarks.nanosPerOp(LOANS, () -> encode(direct, books, members));
+
+        Benchmarks.report("encode CSV:            %6.0f ns/loan, %5.1f bytes/loan",
+            csvNanos, utf8Bytes(csv) / (double) LOANS);
+        Benchmarks.report("encode JSON:           %6.0f ns/loan, %5.1f bytes/loan",
+            jsonNanos, utf8Bytes(json) / (double) LOANS);
+        Benchmarks.report("encode binary, heap:   %6.0f ns/loan, %5.1f bytes/loan",
+            heapNanos, heap.position() / (double) LOANS);
+        Benchmarks.report("encode binary, direct: %6.0f ns/loan", directNanos);
+
+        String jsonText = json.toString();
+        double jsonDecode = Benchmarks.nanosPerOp(LOANS, () -> decodeJson(jsonText));
+        ByteBuffer heapEncoded = heap.duplicate().flip();
+        double heapDecode = Benchmarks.nanosPerOp(LOANS, () -> decode(heapEncoded.duplicate()));
+        ByteBuffer directEncoded = direct.duplicate().flip();
+        double directDecode = Benchmarks.nanosPerOp(LOANS, () -> decode(directEncoded.duplicate()));
+        Benchmarks.report("decode JSON (JsonLoanReader): %6.0f ns/loan", jsonDecode);
+        Benchmarks.report("decode binary, heap:          %6.0f ns/loan", heapDecode);
+        Benchmarks.report("decode binary, direct:        %6.0f ns/loan", directDecode);
+    }
+
+    private static long export(ReportExporter exporter, StringWriter out, Book[] books, Member[] members) {
+        out.getBuffer().setLength(0);
+        try {
+            exporter.exportHeader(out);
+            for (int i = 0; i < books.length; i++) {
+                exporter.exportLoan(out, books[i], members[i]);
+            }
+            exporter.exportFooter(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.getBuffer().length();
+    }
+
+    private static long encode(ByteBuffer buffer, Book[] books, Member[] members) {
+        buffer.clear();
+        BinaryCodec.writeHeader(buffer);
+        for (int i = 0; i < books.length; i++) {
+            BinaryCodec.writeBook(buffer, books[i]);
+            BinaryCodec.writeMember(buffer, members[i]);
+        }
+        return buffer.position();
+    }
+
+    private static long decode(ByteBuffer buffer) {
+        BinaryCodec.readHeader(buffer);
+        long checksum = 0;
+        while (buffer.hasRemaining()) {
+            checksum += BinaryCodec.readBook(buffer).getIsbn().length();
+            checksum += BinaryCodec.readMember(buffer).getId().length();
+        }
+        return checksum;
+    }
+
+    private static long decodeJson(String json) {
+        long checksum = 0;
+        try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(json))) {
+            for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                checksum += loan.get().book().getIsbn().length() + loan.get().member().getId().length();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return checksum;
+    }
+
+    private static long utf8Bytes(StringWriter out) {
+        return out.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,156 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.BinaryRecords;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryCodecTest {
+
+    private static final List<String> ISBNS = List.of(
+        "978-0134685991", "9780134685991", "978-0-13-468599-1", "0-306-40615-X", "030640615X",
+        "0000000000001", "0", "1-2", // packed
+        "isbn-5", "978--0134685991", "-978", "978-", "X", "97801346859912", "0-306-40615-XX", "978 0134685991",
+        "١٢٣");
+
+    @Test
+    void booksRoundTripForEveryIsbnShape() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        BinaryCodec.writeHeader(buffer);
+        for (String isbn : ISBNS) {
+            BinaryCodec.writeBook(buffer, Book.create("Title", "Author", isbn));
+        }
+        buffer.flip();
+
+        BinaryCodec.readHeader(buffer);
+        for (String isbn : ISBNS) {
+            assertThat(BinaryCodec.readBook(buffer).getIsbn()).isEqualTo(isbn);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void recordsAreTheLogAndSnapshotEncoding() {
+        Book book = Book.create("Effective Java", "Joshua Bloch", "978-0-13-468599-1");
+        Member member = Member.builder().id("M1").name("Alice").phone("555-0100").build();
+        ByteBuffer codec = ByteBuffer.allocate(128);
+        ByteBuffer records = ByteBuffer.allocate(128);
+
+        BinaryCodec.writeBook(codec, book);
+        BinaryCodec.writeMember(codec, member);
+        BinaryRecords.putBook(records, book);
+        BinaryRecords.putMember(records, member);
+
+        assertThat(codec.flip()).isEqualTo(records.flip());
+        assertThat(BinaryCodec.sizeOf(book)).isEqualTo(1 + 14 + 1 + 12 + 1 + Long.BYTES);
+    }
+
+    @Test
+    void isbnsOfDigitsAndHyphensArePackedIntoEightBytes() {
+        assertThat(BinaryCodec.sizeOf(Book.create("T", "A", "978-0-13-468599-1"))).isEqualTo(2 + 2 + 1 + Long.BYTES);
+        assertThat(BinaryCodec.sizeOf(Book.create("T", "A", "0-306-40615-X"))).isEqualTo(2 + 2 + 1 + Long.BYTES);
+        assertThat(BinaryCodec.sizeOf(Book.create("T", "A", "isbn-5"))).isEqualTo(2 + 2 + 1 + 7);
+        assertThat(BinaryCodec.sizeOf(Book.create("T", "A", "97801346859912"))).isEqualTo(2 + 2 + 1 + 15);
+    }
+
+    @Test
+    void stringsKeepEveryCharacterAndSizeOfIsExact() {
+        Book book = Book.create("Café ✓ 📚, \"quoted\"\n", "Ünïcödé 作者", "978-1");
+        Member member = Member.builder().id("M\u0000").name("Zoë").email("zoe@example.org").build();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        BinaryCodec.writeBook(buffer, book);
+        assertThat(buffer.position()).isEqualTo(BinaryCodec.sizeOf(book));
+        BinaryCodec.writeMember(buffer, member);
+        assertThat(buffer.position()).isEqualTo(BinaryCodec.sizeOf(book) + BinaryCodec.sizeOf(member));
+        buffer.flip();
+
+        Book read = BinaryCodec.readBook(buffer);
+        assertThat(read.getTitle()).isEqualTo(book.getTitle());
+        assertThat(read.getAuthor()).isEqualTo(book.getAuthor());
+        assertThat(BinaryCodec.readMember(buffer)).hasToString(member.toString());
+    }
+
+    @Test
+    void unpairedSurrogatesAreWrittenAsQuestionMarks() {
+        Book book = Book.create("a\uD83Db", "\uDCDA", "1");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        BinaryCodec.writeBook(buffer, book);
+        assertThat(buffer.position()).isEqualTo(BinaryCodec.sizeOf(book));
+
+        Book read = BinaryCodec.readBook(buffer.flip());
+        assertThat(read.getTitle()).isEqualTo("a?b");
+        assertThat(read.getAuthor()).isEqualTo("?");
+    }
+
+    @Test
+    void membersRoundTripWithAndWithoutOptionalFields() {
+        List<Member> members = List.of(
+            Member.builder().id("M1").name("Alice").build(),
+            Member.builder().id("M2").name("Bob").email("bob@example.org").build(),
+            Member.builder().id("M3").name("Carol").phone("555-0100").build(),
+            Member.builder().id("M4").name("Dan").email("dan@example.org").phone("555-0101").build());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(512);
+        for (Member member : members) {
+            BinaryCodec.writeMember(buffer, member);
+        }
+        buffer.flip();
+
+        for (Member member : members) {
+            Member read = BinaryCodec.readMember(buffer);
+            assertThat(read).hasToString(member.toString());
+            assertThat(read.getEmail()).isEqualTo(member.getEmail());
+            assertThat(read.getPhone()).isEqualTo(member.getPhone());
+        }
+    }
+
+    @Test
+    void directBuffersDecodeLikeHeapBuffers() {
+        Book book = Book.create("Effective Java ✓", "Joshua Bloch", "978-0134685991");
+        ByteBuffer heap = ByteBuffer.allocate(128);
+        ByteBuffer direct = ByteBuffer.allocateDirect(128);
+        BinaryCodec.writeBook(heap, book);
+        BinaryCodec.writeBook(direct, book);
+
+        assertThat(direct.flip()).isEqualTo(heap.flip());
+        Book read = BinaryCodec.readBook(direct);
+        assertThat(read).isEqualTo(book);
+        assertThat(read.getTitle()).isEqualTo(book.getTitle());
+    }
+
+    @Test
+    void aRecordThatDoesNotFitIsNotWrittenAtAll() {
+        Book book = Book.create("A title long enough not to fit", "Author", "978-0134685991");
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.sizeOf(book) - 1);
+
+        assertThatThrownBy(() -> BinaryCodec.writeBook(buffer, book)).isInstanceOf(BufferOverflowException.class);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void truncatedRecordsAndForeignHeadersAreRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        BinaryCodec.writeBook(buffer, Book.create("Title", "Author", "isbn-1"));
+        ByteBuffer truncated = buffer.flip().limit(buffer.limit() - 2);
+        assertThatThrownBy(() -> BinaryCodec.readBook(truncated)).isInstanceOf(BufferUnderflowException.class);
+
+        ByteBuffer future = ByteBuffer.allocate(8);
+        BinaryCodec.writeHeader(future);
+        future.put(4, (byte) (BinaryCodec.FORMAT_VERSION + 1)).flip();
+        assertThatThrownBy(() -> BinaryCodec.readHeader(future))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("version");
+        future.clear().put(4, (byte) 1);
+        assertThatThrownBy(() -> BinaryCodec.readHeader(future))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("version 1");
+        assertThatThrownBy(() -> BinaryCodec.readHeader(ByteBuffer.wrap("[{\"a\"".getBytes(StandardCharsets.UTF_8))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.LibraryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CsvCatalogImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("catalog.csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    void importsRowsAndSkipsHeader() throws IOException {
+        Path file = write("Book Title,Author,ISBN,Borrowed By\n"
+            + "Effective Java,Joshua Bloch,978-0134685991,Alice\n"
+            + "Clean Code,Robert Martin,978-0132350884\n");
+        LibraryService library = LibraryService.concurrent();
+
+        ImportReport report = CsvCatalogImporter.create().importInto(file, library);
+
+        assertThat(report.rows()).isEqualTo(2);
+        assertThat(report.accepted()).isEqualTo(2);
+        assertThat(report.malformed()).isZero();
+        assertThat(library.listAllBooks()).extracting(Book::getTitle)
+            .containsExactly("Effective Java", "Clean Code");
+    }
+
+    @Test
+    void unquotesFieldsAndToleratesCrlfAndBlankLines() throws IOException {
+        Path file = write("\"Java, Concurrency\",\"Brian \"\"Java\"\" Goetz\",978-0321349606\r\n"
+            + "\r\n"
+            + "\"\"\"Quoted\"\"\",Author,978-1\n"
+            + "\n");
+        LibraryService library = LibraryService.concurrent();
+
+        ImportReport report = CsvCatalogImporter.create().importInto(file, library);
+
+        assertThat(report.rows()).isEqualTo(2);
+        assertThat(report.malformed()).isZero();
+        Book book = library.findByIsbn("978-0321349606").orElseThrow();
+        assertThat(book.getTitle()).isEqualTo("Java, Concurrency");
+        assertThat(book.getAuthor()).isEqualTo("Brian \"Java\" Goetz");
+        assertThat(library.findByIsbn("978-1").orElseThrow().getTitle()).isEqualTo("\"Quoted\"");
+    }
+
+    @Test
+    void reportsMalformedLinesWithLineNumbers() throws IOException {
+        Path file = write("Book Title,Author,ISBN\n"
+            + "Good,Author,1\n"
+            + "only two,fields\n"
+            + "\"unterminated,Author,2\n"
+            + "Blank isbn,Author,\n"
+            + "\"closed\"x,Author,3\n"
+            + "Also good,Author,4\n");
+        LibraryService library = LibraryService.concurrent();
+
+        ImportReport report = CsvCatalogImporter.create().importInto(file, library);
+
+        assertThat(report.rows()).isEqualTo(6);
+        assertThat(report.accepted()).isEqualTo(2);
+        assertThat(report.malformed()).isEqualTo(4);
+        assertThat(report.diagnostics()).extracting(ImportReport.MalformedLine::lineNumber)
+            .containsExactly(3L, 4L, 5L, 6L);
+        assertThat(report.diagnostics().get(0).reason()).contains("expected at least 3 fields");
+        assertThat(report.diagnostics().get(0).content()).isEqualTo("only two,fields");
+        assertThat(report.diagnostics().get(1).reason()).isEqualTo("unterminated quoted field");
+        assertThat(report.diagnostics().get(3).reason()).isEqualTo("unexpected character after closing quote");
+    }
+
+    @Test
+    void countsDuplicatesAgainstExistingCatalog() throws IOException {
+        Path file = write("A,Author,1\nB,Author,2\nA again,Author,1\n");
+        LibraryService library = LibraryService.concurrent();
+        library.registerBook(Book.create("Existing", "Author", "2"));
+
+        ImportReport report = CsvCatalogImporter.create().importInto(file, library);
+
+        assertThat(report.accepted()).isEqualTo(1);
+        assertThat(report.duplicates()).isEqualTo(2);
+        assertThat(library.findByIsbn("1").orElseThrow().getTitle()).isEqualTo("A");
+    }
+
+    @Test
+    void manySmallChunksKeepFileOrderAndLineNumbers() throws IOException {
+        StringBuilder csv = new StringBuilder("Book Title,Author,ISBN\n");
+        for (int i = 0; i < 5_000; i++) {
+            csv.append(i % 1_000 == 999 ? "broken line\n" : "Title " + i + ",Author " + (i % 7) + ",isbn-" + i + "\n");
+        }
+        Path file = write(csv.toString());
+        LibraryService library = LibraryService.concurrent();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CsvCatalogImporter importer = CsvCatalogImporter.builder()
+                .chunkBytes(256)
+                .batchSize(37)
+                .pool(pool)
+                .build();
+
+            ImportReport report = importer.importInto(file, library);
+
+            assertThat(report.rows()).isEqualTo(5_000);
+            assertThat(report.accepted()).isEqualTo(4_995);
+            assertThat(report.bytes()).isEqualTo(Files.size(file));
+            // Data row i is on line i + 2, after the header
+            assertThat(report.diagnostics()).extracting(ImportReport.MalformedLine::lineNumber)
+                .containsExactly(1_001L, 2_001L, 3_001L, 4_001L, 5_001L);
+            assertThat(library.listAllBooks().get(0).getTitle()).isEqualTo("Title 0");
+            assertThat(library.listAllBooks().get(4_994).getTitle()).isEqualTo("Title 4998");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void lastLineWithoutNewlineIsImported() throws IOException {
+        Path file = write("A,Author,1\nB,Author,2");
+        LibraryService library = LibraryService.concurrent();
+
+        ImportReport report = CsvCatalogImporter.builder().chunkBytes(4).build().importInto(file, library);
+
+        assertThat(report.accepted()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyFileImportsNothing() throws IOException {
+        ImportReport report = CsvCatalogImporter.create().importInto(write(""), LibraryService.concurrent());
+
+        assertThat(report.rows()).isZero();
+        assertThat(report.diagnostics()).isEmpty();
+    }
+
+    @Test
+    void readsWhatReportWriterWrites() throws IOException {
+        Path file = tempDir.resolve("report.csv");
+        Member member = Member.builder().id("M001").name("Alice").build();
+        try (ReportWriter writer = ReportWriter.forCsvReport(file)) {
+            writer.writeHeader();
+            writer.writeLoan(Book.create("Effective Java", "Joshua Bloch", "978-0134685991"), member);
+            writer.writeLoan(Book.create("Clean Code", "Robert Martin", "978-0132350884"), member);
+        }
+        LibraryService library = LibraryService.concurrent();
+
+        ImportReport report = CsvCatalogImporter.create().importInto(file, library);
+
+        assertThat(report.accepted()).isEqualTo(2);
+        assertThat(library.findByIsbn("978-0132350884")).map(Book::getAuthor).contains("Robert Martin");
+    }
+
+    @Test
+    void quotedFieldsFromReportWriterRoundTrip() throws IOException {
+        Path file = tempDir.resolve("report.csv");
+        Member member = Member.builder().id("M001").name("Smith, Alice").build();
+        try (ReportWriter writer = ReportWriter.forCsvReport(file)) {
+            writer.writeHeader();
+            writer.writeLoan(Book.create("Java, \"The\" Language", "Gosling, James", "978-0321349804"), member);
+        }
+        LibraryService library = LibraryService.concurrent();
+
+        ImportReport report = CsvCatalogImporter.create().importInto(file, library);
+
+        assertThat(report.accepted()).isEqualTo(1);
+        Book book = library.findByIsbn("978-0321349804").orElseThrow();
+        assertThat(book.getTitle()).isEqualTo("Java, \"The\" Language");
+        assertThat(book.getAuthor()).isEqualTo("Gosling, James");
+    }
+
+    @Test
+    void missingFileThrowsIOException() {
+        assertThatThrownBy(() -> CsvCatalogImporter.create()
+                .importInto(tempDir.resolve("missing.csv"), LibraryService.concurrent()))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void builderRejectsInvalidSettings() {
+        assertThatThrownBy(() -> CsvCatalogImporter.builder().chunkBytes(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CsvCatalogImporter.builder().batchSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CsvCatalogImporter.builder().pool(null))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.service.LibraryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Importing a generated catalog file: the mapped, chunked importer at several
+ * pool sizes against a BufferedReader + String.split loop feeding the same
+ * registerAllBooks batches. Each round imports into a fresh concurrent service.
+ *
+ * Run with: mvn test -Dtest=CsvImportBenchmark
+ */
+class CsvImportBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int ROUNDS = 5;
+    private static final int[] PARALLELISM = {1, 2, 4};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rowsPerSecond() throws IOException {
+        Path file = tempDir.resolve("catalog.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("Book Title,Author,ISBN,Borrowed By\n");
+            for (int i = 0; i < ROWS; i++) {
+                writer.write("\"Title " + i + ", Volume " + (i % 12) + "\",Author " + (i % 20_000)
+                    + ",978-" + String.format("%09d", i) + ",Member " + (i % 500) + "\n");
+            }
+        }
+        double megabytes = Files.size(file) / (double) (1 << 20);
+        Benchmarks.report("%d rows, %.1f MB, %d available processors",
+            ROWS, megabytes, Runtime.getRuntime().availableProcessors());
+        Benchmarks.report("%22s %12s %10s", "importer", "rows/s", "MB/s");
+
+        double lineLoopNs = Benchmarks.nanosPerOp(ROWS, () -> lineLoop(file, LibraryService.concurrent()));
+        Benchmarks.report("%22s %12.0f %10.1f", "BufferedReader+split",
+            1e9 / lineLoopNs, megabytes * 1e9 / (lineLoopNs * ROWS));
+
+        for (int parallelism : PARALLELISM) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                CsvCatalogImporter importer = CsvCatalogImporter.builder().pool(pool).chunkBytes(1 << 20).build();
+                ImportReport best = null;
+                for (int round = 0; round < ROUNDS; round++) {
+                    ImportReport report = importer.importInto(file, LibraryService.concurrent());
+                    if (best == null || report.elapsedNanos() < best.elapsedNanos()) {
+                        best = report;
+                    }
+                }
+                Benchmarks.report("%22s %12.0f %10.1f", "mapped, " + parallelism + " workers",
+                    best.rowsPerSecond(), best.megabytesPerSecond());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // The straightforward importer: unquoted fields only, which suffices for timing
+    private static long lineLoop(Path file, LibraryService library) {
+        List<Book> batch = new ArrayList<>(10_000);
+        long accepted = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            reader.readLine(); // header
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split(",");
+                batch.add(Book.create(fields[0], fields[2], fields[3]));
+                if (batch.size() == 10_000) {
+                    accepted += library.registerAllBooks(batch).accepted();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return accepted + library.registerAllBooks(batch).accepted();
+    }
+}
@@ -0,0 +1,88 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CSV rows written by {@link CsvReportExporter} versus the {@code String.format}
+ * per row it used before, into a writer that discards them: nanoseconds and bytes
+ * allocated per row. Then {@link ReportWriter} end to end, into a file.
+ *
+ * Run with: mvn test -Dtest=CsvReportBenchmark
+ */
+class CsvReportBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int FILE_ROWS = 5_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void formatVersusReusedBuffer() throws IOException {
+        Book[] books = new Book[ROWS];
+        Member[] members = new Member[1_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member " + i).build();
+        }
+        for (int i = 0; i < ROWS; i++) {
+            // one title in ten has a comma, and so needs quoting
+            books[i] = Book.create(i % 10 == 0 ? "Title " + i + ", Volume 2" : "Title " + i,
+                "Author " + (i % 20_000), String.format("978-%010d", i));
+        }
+        Writer sink = Writer.nullWriter();
+        ReportExporter exporter = new CsvReportExporter();
+
+        report("String.format", () -> {
+            try {
+                for (int i = 0; i < ROWS; i++) {
+                    sink.write(String.format("%s,%s,%s,%s%n", books[i].getTitle(), books[i].getAuthor(),
+                        books[i].getIsbn(), members[i % members.length].getName()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        report("CsvReportExporter", () -> {
+            try {
+                for (int i = 0; i < ROWS; i++) {
+                    exporter.exportLoan(sink, books[i], members[i % members.length]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        Path file = tempDir.resolve("report.csv");
+        long start = System.nanoTime();
+        try (ReportWriter writer = ReportWriter.forCsvReport(file)) {
+            writer.writeHeader();
+            for (int i = 0; i < FILE_ROWS; i++) {
+                writer.writeLoan(books[i % ROWS], members[i % members.length]);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Benchmarks.report("ReportWriter, %d rows to a file: %.2f s, %.0f rows/s, %.0f MB/s",
+            FILE_ROWS, seconds, FILE_ROWS / seconds, Files.size(file) / 1e6 / seconds);
+    }
+
+    private static void report(String name, Runnable rows) {
+        double nanos = Benchmarks.nanosPerOp(ROWS, () -> {
+            rows.run();
+            return ROWS;
+        });
+        long before = Benchmarks.allocatedBytes();
+        rows.run();
+        double allocated = (Benchmarks.allocatedBytes() - before) / (double) ROWS;
+        Benchmarks.report("%-18s %5.0f ns/row, %6.1f bytes allocated/row", name, nanos, allocated);
+    }
+}
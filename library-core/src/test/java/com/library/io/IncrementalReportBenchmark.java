@@ -0,0 +1,80 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.Loan;
+import com.library.service.LoanChanges;
+import com.library.service.LoanLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * A nightly report over a large ledger with a few thousand checkouts and returns
+ * since the previous one: the full report versus {@link IncrementalReportExport}
+ * from the previous watermark.
+ *
+ * Run with: mvn test -Dtest=IncrementalReportBenchmark (-Dbenchmark.loans=N for another size)
+ */
+class IncrementalReportBenchmark {
+
+    private static final int LOANS = Integer.getInteger("benchmark.loans", 2_000_000);
+    private static final int[] CHURN = {1_000, 10_000, 100_000};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fullVersusIncremental() throws IOException {
+        LoanLedger ledger = new LoanLedger();
+        Member[] members = new Member[10_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member " + i).build();
+        }
+        Book[] books = new Book[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            books[i] = Book.create("Title " + i, "Author " + (i % 20_000), String.format("978-%010d", i));
+            ledger.checkout(books[i], members[i % members.length]);
+        }
+        ReportExporter exporter = new CsvReportExporter();
+        long watermark = ledger.sequence();
+        Benchmarks.report("%d loans", ledger.activeLoans());
+
+        int next = 0;
+        for (int round = 0; round < 2; round++) { // the first round warms up
+            for (int churn : CHURN) {
+                // A day's churn: half the changes return a book, half lend it out again
+                for (int i = 0; i < churn / 2; i++, next = (next + 7_919) % LOANS) {
+                    ledger.returnBook(books[next].getIsbn());
+                    ledger.checkout(books[next], members[(next + round + 1) % members.length]);
+                }
+
+                long start = System.nanoTime();
+                try (Writer writer = ReportSink.open(tempDir.resolve("full.csv"))) {
+                    exporter.exportHeader(writer);
+                    for (Loan loan : (Iterable<Loan>) ledger.streamLoans()::iterator) {
+                        exporter.exportLoan(writer, loan.book(), loan.member());
+                    }
+                    exporter.exportFooter(writer);
+                }
+                double full = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                LoanChanges changes = ledger.changesSince(watermark);
+                IncrementalReportExport.export(exporter, changes, tempDir.resolve("delta"), ".csv");
+                double incremental = (System.nanoTime() - start) / 1e6;
+                ledger.discardChangesThrough(changes.through());
+                watermark = changes.through();
+
+                if (round > 0) {
+                    Benchmarks.report("churn %,7d: full %7.1f ms, incremental %6.1f ms (%d opened, %d closed)",
+                        churn, full, incremental, changes.opened().size(), changes.closed().size());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.LoanChanges;
+import com.library.service.LoanLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IncrementalReportExportTest {
+
+    private static final String HEADER = "Book Title,Author,ISBN,Borrowed By\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final Book effectiveJava = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+    private final Book cleanCode = Book.create("Clean Code", "Robert Martin", "978-0132350884");
+    private final Member alice = Member.builder().id("M1").name("Alice").build();
+    private final Member bob = Member.builder().id("M2").name("Bob").build();
+
+    @Test
+    void eachExportHoldsOnlyTheChangesAndNamesItsWatermarks() throws IOException {
+        LoanLedger ledger = new LoanLedger();
+        ReportExporter exporter = new CsvReportExporter();
+        Path reports = tempDir.resolve("reports");
+        assertThat(IncrementalReportExport.lastWatermark(reports)).isZero();
+
+        ledger.checkout(effectiveJava, alice);
+        ledger.checkout(cleanCode, alice);
+        Path first = IncrementalReportExport.export(exporter,
+            ledger.changesSince(IncrementalReportExport.lastWatermark(reports)), reports, ".csv");
+        assertThat(first.getFileName()).hasToString("loans-0-2-opened.csv");
+        assertThat(Files.readString(first)).isEqualTo(HEADER
+            + "Effective Java,Joshua Bloch,978-0134685991,Alice\n"
+            + "Clean Code,Robert Martin,978-0132350884,Alice\n");
+        assertThat(IncrementalReportExport.lastWatermark(reports)).isEqualTo(2);
+
+        ledger.returnBook(cleanCode.getIsbn());
+        ledger.checkout(cleanCode, bob);
+        LoanChanges changes = ledger.changesSince(IncrementalReportExport.lastWatermark(reports));
+        Path second = IncrementalReportExport.export(exporter, changes, reports, ".csv");
+
+        assertThat(second.getFileName()).hasToString("loans-2-4-opened.csv");
+        assertThat(Files.readString(second)).isEqualTo(HEADER + "Clean Code,Robert Martin,978-0132350884,Bob\n");
+        assertThat(Files.readString(reports.resolve("loans-2-4-closed.csv")))
+            .isEqualTo(HEADER + "Clean Code,Robert Martin,978-0132350884,Alice\n");
+        assertThat(IncrementalReportExport.lastWatermark(reports)).isEqualTo(4);
+    }
+
+    @Test
+    void unfinishedExportsAreNotCounted() throws IOException {
+        Files.createFile(tempDir.resolve("loans-0-7-opened.json.tmp"));
+        Files.createFile(tempDir.resolve("loans-0-9-closed.json"));
+        Files.createFile(tempDir.resolve("loans-0-5-opened.json"));
+
+        assertThat(IncrementalReportExport.lastWatermark(tempDir)).isEqualTo(5);
+    }
+
+    @Test
+    void nothingChangedStillWritesEmptyReports() throws IOException {
+        LoanLedger ledger = new LoanLedger();
+        Path opened = IncrementalReportExport.export(new JsonReportExporter(), ledger.changesSince(0), tempDir, ".json");
+
+        assertThat(Files.readString(opened)).isEqualTo("[\n]\n");
+        assertThat(tempDir.resolve("loans-0-0-closed.json")).exists();
+        assertThatThrownBy(() -> IncrementalReportExport.export(null, ledger.changesSince(0), tempDir, ".json"))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
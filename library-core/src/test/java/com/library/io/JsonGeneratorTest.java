@@ -0,0 +1,63 @@
+package com.library.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JsonGeneratorTest {
+
+    private static String render(JsonGenerator json) throws IOException {
+        StringWriter writer = new StringWriter();
+        json.writeTo(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void placesCommasAndColonsFromTheNesting() throws IOException {
+        JsonGenerator json = new JsonGenerator()
+            .startArray()
+            .startObject().field("a", "1").name("b").startArray().value("x").value(null).endArray().endObject()
+            .startObject().name("c").startObject().endObject().endObject()
+            .value("last")
+            .endArray();
+
+        assertThat(render(json)).isEqualTo("[\n"
+            + "  {\"a\":\"1\",\"b\":[\"x\",null]},\n"
+            + "  {\"c\":{}},\n"
+            + "  \"last\"\n"
+            + "]");
+    }
+
+    @Test
+    void bufferIsHandedOverAndReused() throws IOException {
+        JsonGenerator json = new JsonGenerator().startArray();
+        assertThat(render(json)).isEqualTo("[");
+        json.value("x".repeat(100_000));
+        assertThat(render(json)).hasSize(100_005);
+        assertThat(render(json.value("y"))).isEqualTo(",\n  \"y\"");
+    }
+
+    @Test
+    void keepsSurrogatePairsAndEscapesLoneHalves() throws IOException {
+        JsonGenerator json = new JsonGenerator().value("📚 \uDCDA\uD83D");
+
+        assertThat(render(json)).isEqualTo("\"📚 \\udcda\\ud83d\"");
+    }
+
+    @Test
+    void rejectsMisplacedTokens() {
+        assertThatThrownBy(() -> new JsonGenerator().startObject().value("no name"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new JsonGenerator().startArray().name("a"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new JsonGenerator().startArray().endObject())
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new JsonGenerator().startObject().name("a").endObject())
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new JsonGenerator().endArray())
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.LibraryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Streaming a JsonReportExporter file of about 1 GB through JsonLoanReader, with
+ * heap use sampled along the way to show it stays flat. A restore into a live
+ * service is timed separately on a slice small enough for the service to hold.
+ *
+ * Run with: mvn test -Dtest=JsonLoanReaderBenchmark (-Dbenchmark.json.mb=N for another size)
+ */
+class JsonLoanReaderBenchmark {
+
+    private static final long TARGET_BYTES = Long.getLong("benchmark.json.mb", 1024) << 20;
+    private static final int RESTORE_LOANS = 500_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamingThroughput() throws IOException {
+        Path file = tempDir.resolve("loans.json");
+        long loansWritten = export(file, TARGET_BYTES, Long.MAX_VALUE);
+        double megabytes = Files.size(file) / (double) (1 << 20);
+
+        System.gc();
+        long heapBefore = Benchmarks.usedHeapBytes();
+        long peakHeap = heapBefore;
+        long loans = 0;
+        long start = System.nanoTime();
+        try (JsonLoanReader reader = JsonLoanReader.open(file)) {
+            for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                Benchmarks.consume(loan.get().book().getIsbn().length());
+                if (++loans % 1_000_000 == 0) {
+                    peakHeap = Math.max(peakHeap, Benchmarks.usedHeapBytes());
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Benchmarks.report("streamed %d of %d loans, %.0f MB in %.1f s: %.1f MB/s, %.0f loans/s",
+            loans, loansWritten, megabytes, seconds, megabytes / seconds, loans / seconds);
+        Benchmarks.report("heap after GC before: %.1f MB, peak sampled while streaming: %.1f MB",
+            heapBefore / 1e6, peakHeap / 1e6);
+
+        Path slice = tempDir.resolve("slice.json");
+        export(slice, Long.MAX_VALUE, RESTORE_LOANS);
+        LibraryService library = LibraryService.concurrent();
+        ImportReport report;
+        try (JsonLoanReader reader = JsonLoanReader.open(slice)) {
+            report = reader.restoreInto(library);
+        }
+        Benchmarks.report("restoreInto, %d loans: %s", RESTORE_LOANS, report);
+    }
+
+    private static long export(Path file, long maxBytes, long maxLoans) throws IOException {
+        ReportExporter exporter = new JsonReportExporter();
+        Member[] members = new Member[1_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member \"" + i + "\"").build();
+        }
+        long loans = 0;
+        long bytes = 0;
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            exporter.exportHeader(writer);
+            while (bytes < maxBytes && loans < maxLoans) {
+                Book book = Book.create("Title " + loans + ", Volume " + (loans % 12),
+                    "Author " + (loans % 20_000), "978-" + loans);
+                exporter.exportLoan(writer, book, members[(int) (loans % members.length)]);
+                bytes += 100; // close enough to the element size to stop near the target
+                loans++;
+            }
+            exporter.exportFooter(writer);
+        }
+        return loans;
+    }
+}
@@ -0,0 +1,194 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.LibraryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JsonLoanReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<LoanRecord> readAll(String json) throws IOException {
+        List<LoanRecord> loans = new ArrayList<>();
+        try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(json))) {
+            for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                loans.add(loan.get());
+            }
+        }
+        return loans;
+    }
+
+    @Test
+    void readsBackWhatJsonReportExporterWrites() throws IOException {
+        Path file = tempDir.resolve("loans.json");
+        Member alice = Member.builder().id("M1").name("Alice").build();
+        Member bob = Member.builder().id("M2").name("Bob \"B\" Smith").build();
+        ReportExporter exporter = new JsonReportExporter();
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            exporter.exportHeader(writer);
+            exporter.exportLoan(writer, Book.create("Effective Java", "Joshua Bloch", "978-0134685991"), alice);
+            exporter.exportLoan(writer, Book.create("C:\\Path \"quoted\"", "Tab\tAuthor", "978-1"), bob);
+            exporter.exportFooter(writer);
+        }
+
+        List<LoanRecord> loans = new ArrayList<>();
+        try (JsonLoanReader reader = JsonLoanReader.open(file)) {
+            for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                loans.add(loan.get());
+            }
+        }
+
+        assertThat(loans).hasSize(2);
+        assertThat(loans.get(0).book().getTitle()).isEqualTo("Effective Java");
+        assertThat(loans.get(0).member().getName()).isEqualTo("Alice");
+        assertThat(loans.get(1).book().getTitle()).isEqualTo("C:\\Path \"quoted\"");
+        assertThat(loans.get(1).book().getAuthor()).isEqualTo("Tab\tAuthor");
+        assertThat(loans.get(1).member().getName()).isEqualTo("Bob \"B\" Smith");
+    }
+
+    @Test
+    void acceptsAnyValidJsonLayout() throws IOException {
+        List<LoanRecord> loans = readAll(" [ {\"isbn\" : \"1\", \"extra\": {\"nested\": [1, \"]}\", null]},"
+            + "\"borrowedBy\":\"Al\\u0069ce\", \"title\":\"T\\/1\", \"author\":\"A\", \"count\": -1.5e3 } ]\n\n");
+
+        assertThat(loans).hasSize(1);
+        assertThat(loans.get(0).book().getTitle()).isEqualTo("T/1");
+        assertThat(loans.get(0).member().getName()).isEqualTo("Alice");
+    }
+
+    @Test
+    void emptyArrayHasNoLoans() throws IOException {
+        assertThat(readAll("[\n]\n")).isEmpty();
+        assertThat(readAll("[]")).isEmpty();
+    }
+
+    @Test
+    void skipsElementsThatAreNotLoansAndReportsTheirLines() throws IOException {
+        String json = "[\n"
+            + "  {\"title\":\"Good\",\"author\":\"A\",\"isbn\":\"1\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\"No isbn\",\"author\":\"A\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\" \",\"author\":\"A\",\"isbn\":\"2\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":42,\"author\":\"A\",\"isbn\":\"3\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\"Also good\",\"author\":\"A\",\"isbn\":\"4\",\"borrowedBy\":\"Bob\"}\n"
+            + "]\n";
+        try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(json))) {
+            assertThat(reader.next()).map(loan -> loan.book().getIsbn()).contains("1");
+            assertThat(reader.next()).map(loan -> loan.book().getIsbn()).contains("4");
+            assertThat(reader.next()).isEmpty();
+
+            assertThat(reader.elementsRead()).isEqualTo(5);
+            assertThat(reader.malformed()).isEqualTo(3);
+            assertThat(reader.diagnostics()).extracting(ImportReport.MalformedLine::lineNumber)
+                .containsExactly(3L, 4L, 5L);
+            assertThat(reader.diagnostics().get(0).reason()).isEqualTo("missing field \"isbn\"");
+            assertThat(reader.diagnostics().get(2).reason()).contains("\"title\"").contains("not a string");
+        }
+    }
+
+    @Test
+    void brokenSyntaxThrowsWithLineAfterEarlierLoans() throws IOException {
+        String truncated = "[\n"
+            + "  {\"title\":\"T\",\"author\":\"A\",\"isbn\":\"1\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\"T2\",\"auth";
+        try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(truncated))) {
+            assertThat(reader.next()).isPresent();
+            assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 3")
+                .hasMessageContaining("end of input");
+        }
+    }
+
+    @Test
+    void rejectsTrailingContentAndMissingArray() {
+        assertThatThrownBy(() -> readAll("[] []")).isInstanceOf(IOException.class).hasMessageContaining("after ']'");
+        assertThatThrownBy(() -> readAll("{}")).isInstanceOf(IOException.class).hasMessageContaining("'['");
+        assertThatThrownBy(() -> readAll("[{\"a\":1} {\"a\":2}]")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void readsAcrossBufferBoundaries() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 20_000; i++) {
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("{\"title\":\"Title \\\"").append(i).append("\\\"\",\"author\":\"Author\",")
+                .append("\"isbn\":\"").append(i).append("\",\"borrowedBy\":\"M").append(i % 10).append("\"}");
+        }
+        json.append("]");
+
+        List<LoanRecord> loans = readAll(json.toString());
+
+        assertThat(loans).hasSize(20_000);
+        assertThat(loans.get(19_999).book().getTitle()).isEqualTo("Title \"19999\"");
+    }
+
+    @Test
+    void restoresBooksMembersAndLoansIntoService() throws IOException {
+        String json = "[\n"
+            + "  {\"title\":\"A\",\"author\":\"X\",\"isbn\":\"1\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\"B\",\"author\":\"X\",\"isbn\":\"2\",\"borrowedBy\":\"Bob\"},\n"
+            + "  {\"title\":\"C\",\"author\":\"Y\",\"isbn\":\"3\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\"broken\"}\n"
+            + "]\n";
+        LibraryService library = LibraryService.concurrent();
+        Member existingBob = Member.builder().id("Bob").name("Bob").build();
+        library.registerMember(existingBob);
+
+        ImportReport report;
+        try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(json))) {
+            report = reader.restoreInto(library);
+        }
+
+        assertThat(report.rows()).isEqualTo(4);
+        assertThat(report.accepted()).isEqualTo(3);
+        assertThat(report.malformed()).isEqualTo(1);
+        assertThat(library.listAllBooks()).extracting(Book::getIsbn).containsExactly("1", "2", "3");
+        assertThat(library.listAllMembers()).extracting(Member::getId).containsExactly("Bob", "Alice");
+        Member alice = library.listAllMembers().get(1);
+        assertThat(alice.getBorrowedBooks()).extracting(Book::getIsbn).containsExactly("1", "3");
+        assertThat(existingBob.getBorrowedBooks()).extracting(Book::getIsbn).containsExactly("2");
+    }
+
+    @Test
+    void brokenSyntaxKeepsTheLoansReadBeforeIt() {
+        String json = "[\n"
+            + "  {\"title\":\"A\",\"author\":\"X\",\"isbn\":\"1\",\"borrowedBy\":\"Alice\"},\n"
+            + "  {\"title\":\"B\",\"author\":\"X\",\"isbn\":\"2\",\"borrowedBy\":\"Bob\"},\n"
+            + "  {\"title\":\"C\",\"auth";
+        LibraryService library = LibraryService.concurrent();
+        for (int i = 0; i < 1_000; i++) {
+            library.registerMember(Member.builder().id("M" + i).name("Member " + i).build());
+        }
+        Member existingBob = Member.builder().id("Bob").name("Bob").build();
+        library.registerMember(existingBob);
+
+        assertThatThrownBy(() -> {
+            try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(json))) {
+                reader.restoreInto(library);
+            }
+        }).isInstanceOf(IOException.class);
+
+        assertThat(library.listAllBooks()).extracting(Book::getIsbn).containsExactly("1", "2");
+        assertThat(existingBob.getBorrowedBooks()).extracting(Book::getIsbn).containsExactly("2");
+    }
+
+    @Test
+    void factoriesRejectNull() {
+        assertThatThrownBy(() -> JsonLoanReader.of(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> JsonLoanReader.open(null)).isInstanceOf(NullPointerException.class);
+    }
+}
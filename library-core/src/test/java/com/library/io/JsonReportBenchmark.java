@@ -0,0 +1,120 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * {@link JsonReportExporter} on its streaming generator versus the implementation
+ * it replaced — {@code String.format} per loan after a per-field escape — into a
+ * writer that discards the output: nanoseconds and bytes allocated per loan, then
+ * loans per second with one shared exporter serving one export per thread.
+ *
+ * Run with: mvn test -Dtest=JsonReportBenchmark
+ */
+class JsonReportBenchmark {
+
+    private static final int LOANS = 200_000;
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    @Test
+    void generatorVersusFormat() throws InterruptedException {
+        Book[] books = new Book[LOANS];
+        Member[] members = new Member[1_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member \"" + i + "\"").build();
+        }
+        for (int i = 0; i < LOANS; i++) {
+            books[i] = Book.create("Title " + i + ", Volume " + (i % 12), "Author " + (i % 20_000),
+                String.format("978-%010d", i));
+        }
+
+        ReportExporter previous = new FormattingJsonExporter();
+        ReportExporter streaming = new JsonReportExporter();
+        report("String.format (previous)", previous, books, members);
+        report("JsonGenerator", streaming, books, members);
+
+        Benchmarks.opsPerSecond(1, thread -> export(streaming, Writer.nullWriter(), books, members)); // warm-up
+        for (int threads : THREADS) {
+            double perSecond = Benchmarks.opsPerSecond(threads,
+                thread -> export(streaming, Writer.nullWriter(), books, members));
+            Benchmarks.report("JsonGenerator, %d concurrent exports on one exporter: %.0f loans/s", threads, perSecond);
+        }
+    }
+
+    private static void report(String name, ReportExporter exporter, Book[] books, Member[] members) {
+        Writer sink = Writer.nullWriter();
+        double nanos = Benchmarks.nanosPerOp(LOANS, () -> export(exporter, sink, books, members));
+        long before = Benchmarks.allocatedBytes();
+        export(exporter, sink, books, members);
+        double allocated = (Benchmarks.allocatedBytes() - before) / (double) LOANS;
+        Benchmarks.report("%-25s %5.0f ns/loan, %6.1f bytes allocated/loan", name, nanos, allocated);
+    }
+
+    private static long export(ReportExporter exporter, Writer writer, Book[] books, Member[] members) {
+        try {
+            exporter.exportHeader(writer);
+            for (int i = 0; i < books.length; i++) {
+                exporter.exportLoan(writer, books[i], members[i % members.length]);
+            }
+            exporter.exportFooter(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return books.length;
+    }
+
+    // The exporter as it was before the generator, kept as the baseline
+    private static final class FormattingJsonExporter implements ReportExporter {
+        private boolean first = true;
+
+        @Override
+        public void exportHeader(Writer writer) throws IOException {
+            writer.write("[\n");
+            first = true;
+        }
+
+        @Override
+        public void exportLoan(Writer writer, Book book, Member member) throws IOException {
+            if (!first) {
+                writer.write(",\n");
+            }
+            writer.write(String.format(
+                "  {\"title\":\"%s\",\"author\":\"%s\",\"isbn\":\"%s\",\"borrowedBy\":\"%s\"}",
+                escape(book.getTitle()), escape(book.getAuthor()), escape(book.getIsbn()),
+                escape(member.getName())));
+            first = false;
+        }
+
+        @Override
+        public void exportFooter(Writer writer) throws IOException {
+            writer.write("\n]\n");
+        }
+
+        private static String escape(String s) {
+            StringBuilder out = new StringBuilder(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.append('\\').append(c);
+                } else if (c == '\n') {
+                    out.append("\\n");
+                } else if (c == '\r') {
+                    out.append("\\r");
+                } else if (c == '\t') {
+                    out.append("\\t");
+                } else if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+            return out.toString();
+        }
+    }
+}
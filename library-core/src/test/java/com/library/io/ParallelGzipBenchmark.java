@@ -0,0 +1,112 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression of a CSV loan report, rendered once into memory, through
+ * {@link GZIPOutputStream} versus {@link ParallelGzipOutputStream} on pools of
+ * increasing size, with the ratio each gets; then the ratio for a few block sizes.
+ * Output goes to a counting stream, so only compression is measured. Scaling is
+ * bounded by the cores available: on one CPU the parallel stream can only show
+ * its overhead.
+ *
+ * Run with: mvn test -Dtest=ParallelGzipBenchmark (-Dbenchmark.loans=N for another size)
+ */
+class ParallelGzipBenchmark {
+
+    private static final int LOANS = Integer.getInteger("benchmark.loans", 1_000_000);
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int[] BLOCK_SIZES = {32 << 10, 128 << 10, 1 << 20};
+
+    @Test
+    void gzipVersusParallelGzip() throws IOException {
+        byte[] report = renderReport();
+        Benchmarks.report("%.0f MB report, %d available processors", report.length / 1e6,
+            Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round < 2; round++) { // the first round warms up
+            CountingStream counter = new CountingStream();
+            long start = System.nanoTime();
+            try (OutputStream gzip = new GZIPOutputStream(counter, 8192)) {
+                gzip.write(report);
+            }
+            report(round, "GZIPOutputStream", start, report.length, counter.count);
+
+            for (int threads : THREADS) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    counter = new CountingStream();
+                    start = System.nanoTime();
+                    try (OutputStream gzip = ParallelGzipOutputStream.builder().pool(pool).build(counter)) {
+                        gzip.write(report);
+                    }
+                    report(round, "parallel, " + threads + " threads", start, report.length, counter.count);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        for (int blockSize : BLOCK_SIZES) {
+            CountingStream counter = new CountingStream();
+            try (OutputStream gzip = ParallelGzipOutputStream.builder().blockSize(blockSize).build(counter)) {
+                gzip.write(report);
+            }
+            Benchmarks.report("%-24s ratio %.2f", "block size " + (blockSize >> 10) + " KB",
+                (double) report.length / counter.count);
+        }
+    }
+
+    private static byte[] renderReport() throws IOException {
+        ReportExporter exporter = new CsvReportExporter();
+        Member[] members = new Member[10_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member " + i).build();
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            exporter.exportHeader(writer);
+            for (int i = 0; i < LOANS; i++) {
+                Book book = Book.create("Title " + (i % 50_000) + ", Volume " + (i % 12), "Author " + (i % 20_000),
+                    String.format("978-%010d", i));
+                exporter.exportLoan(writer, book, members[(i * 7) % members.length]);
+            }
+            exporter.exportFooter(writer);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void report(int round, String mode, long start, long in, long out) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (round > 0) {
+            Benchmarks.report("%-24s %.2f s, %4.0f MB/s, ratio %.2f", mode, seconds, in / 1e6 / seconds,
+                (double) in / out);
+        }
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
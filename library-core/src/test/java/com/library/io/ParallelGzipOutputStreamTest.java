@@ -0,0 +1,187 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParallelGzipOutputStreamTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutDown() {
+        pool.shutdown();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // Compressible but not trivially so, like a report
+    private static byte[] sampleBytes(int size) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(size + 64);
+        while (text.length() < size) {
+            text.append("Title ").append(random.nextInt(5_000)).append(",Author ").append(random.nextInt(300)).append('\n');
+        }
+        return text.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void manyBlocksDecompressToTheInput() throws IOException {
+        byte[] data = sampleBytes(1_000_003);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Random random = new Random(7);
+        try (ParallelGzipOutputStream gzip = ParallelGzipOutputStream.builder()
+                .blockSize(10_000).pool(pool).build(compressed)) {
+            // Uneven writes, so blocks are filled across write boundaries
+            for (int from = 0; from < data.length; ) {
+                int count = Math.min(data.length - from, random.nextInt(30_000));
+                if (count == 1) {
+                    gzip.write(data[from]);
+                } else {
+                    gzip.write(data, from, count);
+                }
+                from += count;
+            }
+        }
+
+        assertThat(gunzip(compressed.toByteArray())).isEqualTo(data);
+        assertThat(compressed.size()).isLessThan(data.length / 3);
+    }
+
+    @Test
+    void eachBlockIsAnIndependentGzipMember() throws IOException {
+        byte[] data = sampleBytes(25_000);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream gzip = ParallelGzipOutputStream.builder()
+                .blockSize(10_000).pool(pool).build(compressed)) {
+            gzip.write(data);
+        }
+
+        // Walk the members: header, raw deflate stream, CRC-32 and length
+        byte[] bytes = compressed.toByteArray();
+        int members = 0;
+        int offset = 0;
+        while (offset < bytes.length) {
+            assertThat(bytes[offset] & 0xff).isEqualTo(0x1f);
+            assertThat(bytes[offset + 1] & 0xff).isEqualTo(0x8b);
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(bytes, offset + 10, bytes.length - offset - 10);
+                byte[] block = new byte[10_000];
+                int size = inflater.inflate(block);
+                assertThat(inflater.finished()).isTrue();
+                assertThat(size).isEqualTo(Math.min(10_000, data.length - members * 10_000));
+                offset += 10 + (bytes.length - offset - 10 - inflater.getRemaining()) + 8;
+            } catch (DataFormatException e) {
+                throw new AssertionError(e);
+            } finally {
+                inflater.end();
+            }
+            members++;
+        }
+        assertThat(members).isEqualTo(3);
+    }
+
+    @Test
+    void emptyStreamIsStillAGzipFile() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream.create(compressed).close();
+
+        assertThat(gunzip(compressed.toByteArray())).isEmpty();
+    }
+
+    @Test
+    void flushMakesEverythingWrittenSoFarReadable() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream gzip = ParallelGzipOutputStream.builder().pool(pool).build(compressed);
+        gzip.write("first part\n".getBytes(StandardCharsets.US_ASCII));
+        gzip.flush();
+        assertThat(gunzip(compressed.toByteArray())).asString(StandardCharsets.US_ASCII).isEqualTo("first part\n");
+
+        gzip.write("second part\n".getBytes(StandardCharsets.US_ASCII));
+        gzip.close();
+        gzip.close();
+        assertThat(gunzip(compressed.toByteArray())).asString(StandardCharsets.US_ASCII)
+            .isEqualTo("first part\nsecond part\n");
+        assertThatThrownBy(() -> gzip.write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void anyExporterCanWriteThroughIt() throws IOException {
+        ReportExporter exporter = new JsonReportExporter();
+        Member member = Member.builder().id("M1").name("Zoë").build();
+        StringBuilder expected = new StringBuilder();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (Writer plain = new StringWriter();
+             Writer writer = new OutputStreamWriter(ParallelGzipOutputStream.builder()
+                 .blockSize(4_096).pool(pool).build(compressed), StandardCharsets.UTF_8)) {
+            exporter.exportHeader(plain);
+            exporter.exportHeader(writer);
+            for (int i = 0; i < 5_000; i++) {
+                Book book = Book.create("Título " + i, "Autor ✓", "978-" + i);
+                exporter.exportLoan(plain, book, member);
+                exporter.exportLoan(writer, book, member);
+            }
+            exporter.exportFooter(plain);
+            exporter.exportFooter(writer);
+            expected.append(plain);
+        }
+
+        assertThat(new String(gunzip(compressed.toByteArray()), StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void failingOutputIsReportedAndStillClosed() {
+        boolean[] closed = new boolean[1];
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        ParallelGzipOutputStream gzip = ParallelGzipOutputStream.builder().blockSize(1_000).pool(pool).build(failing);
+
+        assertThatThrownBy(() -> gzip.write(sampleBytes(100_000))).hasMessage("disk full");
+        assertThatThrownBy(gzip::close).hasMessage("disk full");
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    void builderRejectsBadSettings() {
+        assertThatThrownBy(() -> ParallelGzipOutputStream.builder().blockSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ParallelGzipOutputStream.builder().level(10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ParallelGzipOutputStream.builder().pool(null))
+            .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> ParallelGzipOutputStream.create(null))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
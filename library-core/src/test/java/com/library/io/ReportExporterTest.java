@@ -4,7 +4,14 @@ import com.library.core.Book;
 import com.library.core.Member;
 import org.junit.jupiter.api.Test;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static org.assertj.core.api.Assertions.*;
 
 class ReportExporterTest {
@@ -45,4 +52,100 @@ class ReportExporterTest {
                          .startsWith("[")
                          .endsWith("]\n");
     }
-}
\ No newline at end of file
+
+    @Test
+    void csvExporterQuotesFieldsPerRfc4180() throws IOException {
+        ReportExporter exporter = new CsvReportExporter();
+        StringWriter writer = new StringWriter();
+        Member member = Member.builder().id("M1").name("Smith, \"Bob\"").build();
+
+        exporter.exportLoan(writer, Book.create("Plain Title", "Author", "978-1"), member);
+        exporter.exportLoan(writer, Book.create("Line\nBreak", "Carriage\rReturn", "978-2"), member);
+
+        assertThat(writer.toString()).isEqualTo(
+            "Plain Title,Author,978-1,\"Smith, \"\"Bob\"\"\"\n"
+            + "\"Line\nBreak\",\"Carriage\rReturn\",978-2,\"Smith, \"\"Bob\"\"\"\n");
+    }
+
+    @Test
+    void csvRowsLongerThanTheBufferAreWrittenWhole() throws IOException {
+        StringWriter writer = new StringWriter();
+        String title = "\"".repeat(5_000);
+
+        new CsvReportExporter().exportLoan(writer, Book.create(title, "Author", "978-1"),
+            Member.builder().id("M1").name("Alice").build());
+
+        assertThat(writer.toString()).isEqualTo("\"" + "\"\"".repeat(5_000) + "\",Author,978-1,Alice\n");
+    }
+
+    @Test
+    void jsonExporterEscapesEveryCharacterJsonRequires() throws IOException {
+        ReportExporter exporter = new JsonReportExporter();
+        StringWriter writer = new StringWriter();
+        Book book = Book.create("Quote \" back\\slash\ttab\u0001\b\f", "line\u2028sep \uD83D end", "978-1");
+
+        exporter.exportHeader(writer);
+        exporter.exportLoan(writer, book, Member.builder().id("M1").name("Zoë 📚").build());
+        exporter.exportFooter(writer);
+
+        assertThat(writer.toString()).isEqualTo("[\n"
+            + "  {\"title\":\"Quote \\\" back\\\\slash\\ttab\\u0001\\b\\f\","
+            + "\"author\":\"line\\u2028sep \\ud83d end\",\"isbn\":\"978-1\",\"borrowedBy\":\"Zoë 📚\"}\n"
+            + "]\n");
+    }
+
+    @Test
+    void oneJsonExporterServesConcurrentExports() throws Exception {
+        ReportExporter exporter = new JsonReportExporter();
+        Member member = Member.builder().id("M1").name("Alice").build();
+        int exports = 8;
+        int loans = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> reports = new ArrayList<>();
+            for (int e = 0; e < exports; e++) {
+                int export = e;
+                reports.add(executor.submit(() -> {
+                    StringWriter writer = new StringWriter();
+                    exporter.exportHeader(writer);
+                    for (int i = 0; i < loans; i++) {
+                        exporter.exportLoan(writer, Book.create("Title " + i, "Author", export + "-" + i), member);
+                        Thread.yield();
+                    }
+                    exporter.exportFooter(writer);
+                    return writer.toString();
+                }));
+            }
+            for (int e = 0; e < exports; e++) {
+                List<LoanRecord> read = new ArrayList<>();
+                try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(reports.get(e).get()))) {
+                    for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                        read.add(loan.get());
+                    }
+                    assertThat(reader.malformed()).isZero();
+                }
+                assertThat(read).hasSize(loans);
+                assertThat(read.get(loans - 1).book().getIsbn()).isEqualTo(e + "-" + (loans - 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void jsonExportsWithoutLoansOrHeaderStillFormOneArray() throws IOException {
+        ReportExporter exporter = new JsonReportExporter();
+        StringWriter empty = new StringWriter();
+        exporter.exportHeader(empty);
+        exporter.exportFooter(empty);
+        assertThat(empty).hasToString("[\n]\n");
+
+        StringWriter continued = new StringWriter();
+        continued.write("[");
+        exporter.exportLoan(continued, Book.create("A", "Author", "1"), Member.builder().id("M1").name("N").build());
+        exporter.exportLoan(continued, Book.create("B", "Author", "2"), Member.builder().id("M1").name("N").build());
+        exporter.exportFooter(continued);
+        assertThat(continued.toString()).startsWith("[\n  {\"title\":\"A\"").contains("},\n  {\"title\":\"B\"")
+            .endsWith("}\n]\n");
+    }
+}
@@ -0,0 +1,83 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A multi-hundred-megabyte report written through {@code Files.newBufferedWriter}
+ * versus {@link ReportSink}, for CSV and JSON, with ASCII-only data and with
+ * accented titles that take the multi-byte path. The file is rewritten in place,
+ * so the page cache, not the disk, is what is measured.
+ *
+ * Run with: mvn test -Dtest=ReportSinkBenchmark (-Dbenchmark.loans=N for another size)
+ */
+class ReportSinkBenchmark {
+
+    private static final int LOANS = Integer.getInteger("benchmark.loans", 4_000_000);
+    private static final int DISTINCT = 100_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void bufferedWriterVersusSink() throws IOException {
+        Member[] members = new Member[1_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member " + i).build();
+        }
+        Book[] ascii = new Book[DISTINCT];
+        Book[] accented = new Book[DISTINCT];
+        for (int i = 0; i < DISTINCT; i++) {
+            ascii[i] = Book.create("Title " + i + " Volume " + (i % 12), "Author " + (i % 20_000),
+                String.format("978-%010d", i));
+            accented[i] = Book.create("Título " + i + " Écrit à Zürich", "Auteur Émile " + (i % 20_000),
+                String.format("978-%010d", i));
+        }
+        Path file = tempDir.resolve("report");
+
+        for (int round = 0; round < 2; round++) { // the first round warms up
+            for (ReportExporter exporter : new ReportExporter[] {new CsvReportExporter(), new JsonReportExporter()}) {
+                for (Book[] books : new Book[][] {ascii, accented}) {
+                    String data = exporter.getClass().getSimpleName() + (books == ascii ? ", ASCII" : ", accented");
+                    long start = System.nanoTime();
+                    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        export(exporter, writer, books, members);
+                    }
+                    report(round, data, "newBufferedWriter", start, file);
+                    start = System.nanoTime();
+                    try (Writer writer = ReportSink.open(file)) {
+                        export(exporter, writer, books, members);
+                    }
+                    report(round, data, "ReportSink", start, file);
+                }
+            }
+        }
+    }
+
+    private static void export(ReportExporter exporter, Writer writer, Book[] books, Member[] members)
+            throws IOException {
+        exporter.exportHeader(writer);
+        for (int i = 0; i < LOANS; i++) {
+            exporter.exportLoan(writer, books[i % books.length], members[i % members.length]);
+        }
+        exporter.exportFooter(writer);
+    }
+
+    private static void report(int round, String data, String sink, long start, Path file) throws IOException {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (round > 0) {
+            double megabytes = Files.size(file) / 1e6;
+            Benchmarks.report("%-30s %-18s %5.2f s, %4.0f MB, %4.0f MB/s", data, sink, seconds, megabytes,
+                megabytes / seconds);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReportSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ASCII, two- and three-byte chars and surrogate pairs, long enough to cross several buffer boundaries
+    private static String mixedText(int chars) {
+        Random random = new Random(42);
+        String[] pieces = {"plain ascii, ", "é", "ß", "✓", "作者", "📚", "\n"};
+        StringBuilder text = new StringBuilder(chars + 8);
+        while (text.length() < chars) {
+            text.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return text.toString();
+    }
+
+    @Test
+    void utf8MatchesTheJdkEncoderAcrossBufferBoundaries() throws IOException {
+        String text = mixedText(3 * ReportSink.BUFFER_BYTES);
+        Path file = tempDir.resolve("report.txt");
+        Random random = new Random(7);
+        try (ReportSink sink = ReportSink.open(file)) {
+            // Uneven pieces, so surrogate pairs are split between writes too
+            for (int from = 0; from < text.length(); ) {
+                int to = Math.min(text.length(), from + 1 + random.nextInt(5_000));
+                if (random.nextBoolean()) {
+                    sink.write(text, from, to - from);
+                } else {
+                    sink.write(text.substring(from, to).toCharArray());
+                }
+                from = to;
+            }
+        }
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void surrogatePairSplitBetweenWritesIsJoined() throws IOException {
+        Path file = tempDir.resolve("pair.txt");
+        try (ReportSink sink = ReportSink.open(file)) {
+            sink.write("a\uD83D");
+            sink.write("\uDCDAb");
+        }
+
+        assertThat(Files.readString(file)).isEqualTo("a📚b");
+    }
+
+    @Test
+    void unpairedSurrogatesBecomeQuestionMarks() throws IOException {
+        Path file = tempDir.resolve("lone.txt");
+        try (ReportSink sink = ReportSink.open(file)) {
+            sink.write("\uDCDAx\uD83Dy");
+            sink.write("\uD83D");
+        }
+
+        assertThat(Files.readString(file)).isEqualTo("?x?y?");
+    }
+
+    @Test
+    void otherCharsetsGoThroughTheirEncoder() throws IOException {
+        String text = mixedText(ReportSink.BUFFER_BYTES);
+        for (Charset charset : new Charset[] {StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16, StandardCharsets.US_ASCII}) {
+            Path file = tempDir.resolve(charset.name());
+            try (ReportSink sink = ReportSink.open(file, charset)) {
+                for (int from = 0; from < text.length(); from += 999) {
+                    sink.write(text, from, Math.min(999, text.length() - from));
+                }
+            }
+
+            assertThat(Files.readAllBytes(file)).as(charset.name()).isEqualTo(text.getBytes(charset));
+        }
+    }
+
+    @Test
+    void anyExporterCanWriteThroughIt() throws IOException {
+        Path file = tempDir.resolve("loans.json");
+        ReportExporter exporter = new JsonReportExporter();
+        Member member = Member.builder().id("M1").name("Zoë").build();
+        try (ReportSink sink = ReportSink.open(file)) {
+            exporter.exportHeader(sink);
+            for (int i = 0; i < 10_000; i++) {
+                exporter.exportLoan(sink, Book.create("Título " + i, "Autor ✓", "978-" + i), member);
+            }
+            exporter.exportFooter(sink);
+        }
+
+        long loans = 0;
+        try (JsonLoanReader reader = JsonLoanReader.open(file)) {
+            for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                assertThat(loan.get().book().getAuthor()).isEqualTo("Autor ✓");
+                loans++;
+            }
+        }
+        assertThat(loans).isEqualTo(10_000);
+    }
+
+    @Test
+    void flushWritesBufferedBytesAndCloseIsFinal() throws IOException {
+        Path file = tempDir.resolve("report.txt");
+        ReportSink sink = ReportSink.open(file);
+        sink.write("header\n");
+        assertThat(Files.size(file)).isZero();
+        sink.flush();
+        assertThat(Files.readString(file)).isEqualTo("header\n");
+        assertThat(sink.bytesWritten()).isEqualTo(7);
+
+        sink.close();
+        sink.close();
+        assertThatThrownBy(() -> sink.write("late")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ReportSink.open(file, null)).isInstanceOf(NullPointerException.class);
+    }
+}
@@ -5,6 +5,9 @@ import com.library.core.Member;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import static org.assertj.core.api.Assertions.*;
 import java.nio.file.Files;
@@ -75,4 +78,40 @@ class ReportWriterTest {
         String content = Files.readString(reportFile);
         assertThat(content).contains("Book Title");
     }
-}
\ No newline at end of file
+
+    @Test
+    void writesInTheRequestedCharset() throws IOException {
+        Path reportFile = tempDir.resolve("latin1.csv");
+        try (ReportWriter writer = ReportWriter.forCsvReport(reportFile, StandardCharsets.ISO_8859_1)) {
+            writer.writeLoan(Book.create("Café", "Müller", "978-1"), Member.builder().id("M1").name("Zoë ✓").build());
+        }
+
+        assertThat(Files.readAllBytes(reportFile))
+            .isEqualTo("Café,Müller,978-1,Zoë ?\n".getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void compressedReportDecompressesToThePlainOne() throws IOException {
+        Path plainFile = tempDir.resolve("plain.csv");
+        Path compressedFile = tempDir.resolve("report.csv.gz");
+        Member member = Member.builder().id("M1").name("Zoë").build();
+        try (ReportWriter plain = ReportWriter.forCsvReport(plainFile);
+             ReportWriter compressed = ReportWriter.forCompressedCsvReport(compressedFile)) {
+            plain.writeHeader();
+            compressed.writeHeader();
+            for (int i = 0; i < 20_000; i++) {
+                Book book = Book.create("Title " + i, "Author, " + (i % 50), "978-" + i);
+                plain.writeLoan(book, member);
+                compressed.writeLoan(book, member);
+            }
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressedFile))) {
+            assertThat(in.readAllBytes()).isEqualTo(Files.readAllBytes(plainFile));
+        }
+        assertThat(Files.size(compressedFile)).isLessThan(Files.size(plainFile) / 4);
+        assertThatThrownBy(() -> ReportWriter.forCompressedCsvReport(null))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage("filePath must not be null");
+    }
+}
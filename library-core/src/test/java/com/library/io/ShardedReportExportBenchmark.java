@@ -0,0 +1,88 @@
+package com.library.io;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.Loan;
+import com.library.service.LoanLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A full loan report written to a file single-threaded versus through
+ * {@link ShardedReportExport} on pools of increasing size, for both formats.
+ * Scaling is bounded by the cores available: on one CPU the sharded export can
+ * only show its overhead.
+ *
+ * Run with: mvn test -Dtest=ShardedReportExportBenchmark (-Dbenchmark.loans=N for another size)
+ */
+class ShardedReportExportBenchmark {
+
+    private static final int LOANS = Integer.getInteger("benchmark.loans", 1_000_000);
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sequentialVersusSharded() throws IOException {
+        LoanLedger ledger = new LoanLedger();
+        Member[] members = new Member[10_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member " + i).build();
+        }
+        for (int i = 0; i < LOANS; i++) {
+            ledger.checkout(Book.create("Title " + i + ", Volume " + (i % 12), "Author " + (i % 20_000),
+                String.format("978-%010d", i)), members[i % members.length]);
+        }
+        List<Loan> loans = ledger.streamLoans().toList();
+        Benchmarks.report("%d loans, %d available processors", loans.size(), Runtime.getRuntime().availableProcessors());
+
+        for (ReportExporter exporter : List.of(new CsvReportExporter(), new JsonReportExporter())) {
+            String format = exporter.getClass().getSimpleName();
+            for (int round = 0; round < 2; round++) { // the first round warms up
+                Path file = tempDir.resolve("sequential");
+                long start = System.nanoTime();
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    exporter.exportHeader(writer);
+                    for (Loan loan : loans) {
+                        exporter.exportLoan(writer, loan.book(), loan.member());
+                    }
+                    exporter.exportFooter(writer);
+                }
+                report(format, "sequential", start, file, round);
+
+                for (int threads : THREADS) {
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    try {
+                        file = tempDir.resolve("sharded-" + threads);
+                        start = System.nanoTime();
+                        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                            ShardedReportExport.builder().pool(pool).build().export(exporter, loans, writer);
+                        }
+                        report(format, "sharded, " + threads + " threads", start, file, round);
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void report(String format, String mode, long start, Path file, int round) throws IOException {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (round > 0) {
+            Benchmarks.report("%-18s %-20s %.2f s, %.0f loans/s, %.0f MB", format, mode, seconds,
+                LOANS / seconds, Files.size(file) / 1e6);
+        }
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,132 @@
+package com.library.io;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.service.Loan;
+import com.library.service.LoanLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardedReportExportTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutDownPool() {
+        pool.shutdownNow();
+    }
+
+    private static List<Loan> loans(int count) {
+        LoanLedger ledger = new LoanLedger();
+        Member[] members = new Member[7];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Member.builder().id("M" + i).name("Member, \"" + i + "\"").build();
+        }
+        for (int i = 0; i < count; i++) {
+            ledger.checkout(Book.create("Title " + i, "Author " + i % 3, "isbn-" + i), members[i % members.length]);
+        }
+        return ledger.streamLoans().toList();
+    }
+
+    private static String sequential(ReportExporter exporter, List<Loan> loans) throws IOException {
+        StringWriter writer = new StringWriter();
+        exporter.exportHeader(writer);
+        for (Loan loan : loans) {
+            exporter.exportLoan(writer, loan.book(), loan.member());
+        }
+        exporter.exportFooter(writer);
+        return writer.toString();
+    }
+
+    private String sharded(ReportExporter exporter, List<Loan> loans, int shardSize) throws IOException {
+        StringWriter writer = new StringWriter();
+        long written = ShardedReportExport.builder().shardSize(shardSize).pool(pool).build()
+            .export(exporter, loans, writer);
+        assertThat(written).isEqualTo(loans.size());
+        return writer.toString();
+    }
+
+    @Test
+    void writesWhatASingleThreadedExportWrites() throws IOException {
+        List<Loan> loans = loans(1_000);
+        for (int shardSize : new int[] {1, 7, 100, 1_000, 5_000, Integer.MAX_VALUE}) {
+            assertThat(sharded(new CsvReportExporter(), loans, shardSize))
+                .isEqualTo(sequential(new CsvReportExporter(), loans));
+            assertThat(sharded(new JsonReportExporter(), loans, shardSize))
+                .isEqualTo(sequential(new JsonReportExporter(), loans));
+        }
+    }
+
+    @Test
+    void shardsKeepJsonStateToThemselves() throws IOException {
+        JsonReportExporter exporter = new JsonReportExporter();
+        List<Loan> loans = loans(1_000);
+
+        assertThat(sharded(exporter, loans, 10)).isEqualTo(sequential(new JsonReportExporter(), loans));
+        // Shards hold their generators; the shared table saw only the output writer, released at the footer
+        assertThat(exporter.trackedWriters()).isZero();
+    }
+
+    @Test
+    void shardedJsonReadsBackInOrder() throws IOException {
+        List<Loan> loans = loans(500);
+        List<String> isbns = new ArrayList<>();
+        try (JsonLoanReader reader = JsonLoanReader.of(new StringReader(sharded(new JsonReportExporter(), loans, 33)))) {
+            for (Optional<LoanRecord> loan = reader.next(); loan.isPresent(); loan = reader.next()) {
+                isbns.add(loan.get().book().getIsbn());
+            }
+            assertThat(reader.malformed()).isZero();
+        }
+        assertThat(isbns).containsExactlyElementsOf(loans.stream().map(loan -> loan.book().getIsbn()).toList());
+    }
+
+    @Test
+    void emptyReportHasHeaderAndFooterOnly() throws IOException {
+        assertThat(sharded(new JsonReportExporter(), List.of(), 10)).isEqualTo("[\n]\n");
+        assertThat(sharded(new CsvReportExporter(), List.of(), 10)).isEqualTo("Book Title,Author,ISBN,Borrowed By\n");
+    }
+
+    @Test
+    void aFailingShardFailsTheExport() {
+        List<Loan> loans = loans(100);
+        String failing = loans.get(57).book().getIsbn();
+        ReportExporter exporter = new ReportExporter() {
+            @Override
+            public void exportHeader(Writer writer) throws IOException {
+                writer.write("header\n");
+            }
+
+            @Override
+            public void exportLoan(Writer writer, Book book, Member member) throws IOException {
+                if (book.getIsbn().equals(failing)) {
+                    throw new IOException("cannot render " + failing);
+                }
+                writer.write(book.getIsbn() + "\n");
+            }
+        };
+
+        assertThatThrownBy(() -> sharded(exporter, loans, 10))
+            .isInstanceOf(IOException.class).hasMessage("cannot render " + failing);
+    }
+
+    @Test
+    void builderRejectsInvalidSettings() {
+        assertThatThrownBy(() -> ShardedReportExport.builder().shardSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ShardedReportExport.builder().pool(null))
+            .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> ShardedReportExport.create().export(null, List.of(), new StringWriter()))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
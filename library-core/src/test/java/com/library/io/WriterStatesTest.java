@@ -0,0 +1,41 @@
+package com.library.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WriterStatesTest {
+
+    // Equal to every other instance: only identity may tell writers apart
+    private static final class EqualWriter extends StringWriter {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EqualWriter;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    @Test
+    void statesAreKeptPerWriterIdentity() {
+        WriterStates<String> states = new WriterStates<>();
+        EqualWriter first = new EqualWriter();
+        EqualWriter second = new EqualWriter();
+
+        states.put(first, "first");
+        assertThat(states.get(second)).isNull();
+        assertThat(states.computeIfAbsent(second, () -> "second")).isEqualTo("second");
+        assertThat(states.computeIfAbsent(first, () -> "replaced")).isEqualTo("first");
+        assertThat(states.size()).isEqualTo(2);
+
+        assertThat(states.remove(first)).isEqualTo("first");
+        assertThat(states.get(first)).isNull();
+        assertThat(states.get(second)).isEqualTo("second");
+        assertThat(states.size()).isEqualTo(1);
+    }
+}
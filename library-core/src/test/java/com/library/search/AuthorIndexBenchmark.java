@@ -0,0 +1,90 @@
+package com.library.search;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Heap retained by an indexed catalog whose author strings are interned through
+ * the {@link AuthorIndex}, against one where every book holds its own copy, plus
+ * "books by author" latency through the index against a scan.
+ *
+ * 40% of books reuse an author already in the catalog, as in our production data.
+ * Every author string is built fresh, as it would be when parsed from a file.
+ *
+ * Run with: mvn test -Dtest=AuthorIndexBenchmark
+ */
+class AuthorIndexBenchmark {
+
+    private static final int BOOKS = 1_000_000;
+    private static final double DUPLICATE_AUTHOR_RATE = 0.4;
+    private static final int QUERIES = 10_000;
+    private static final int SCAN_QUERIES = 5;
+
+    @Test
+    void footprintAndLookupLatency() {
+        long baseline = Benchmarks.usedHeapBytes();
+        AuthorIndex plainIndex = new AuthorIndex();
+        List<Book> plain = catalog(plainIndex, false);
+        long plainBytes = Benchmarks.usedHeapBytes() - baseline;
+        Benchmarks.consume(plain.size() + plainIndex.authorCount());
+        plain = null;
+        plainIndex = null;
+
+        baseline = Benchmarks.usedHeapBytes();
+        AuthorIndex index = new AuthorIndex();
+        List<Book> shared = catalog(index, true);
+        long sharedBytes = Benchmarks.usedHeapBytes() - baseline;
+
+        Benchmarks.report("%10s %12s %16s %16s %10s", "books", "authors", "plain bytes", "interned bytes", "saved");
+        Benchmarks.report("%10d %12d %16d %16d %9.1f%%", BOOKS, index.authorCount(), plainBytes, sharedBytes,
+            100.0 * (plainBytes - sharedBytes) / plainBytes);
+
+        Random random = new Random(7);
+        String[] queries = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = shared.get(random.nextInt(BOOKS)).getAuthor();
+        }
+        double indexNs = Benchmarks.nanosPerOp(QUERIES, () -> {
+            long found = 0;
+            for (String author : queries) {
+                found += index.booksBy(author).length;
+            }
+            return found;
+        });
+        double scanNs = Benchmarks.nanosPerOp(SCAN_QUERIES, () -> {
+            long found = 0;
+            for (int q = 0; q < SCAN_QUERIES; q++) {
+                String author = queries[q];
+                found += shared.stream().filter(book -> book.getAuthor().equals(author)).count();
+            }
+            return found;
+        });
+        Benchmarks.report("%10s %14s %14s", "", "index ns", "scan ns");
+        Benchmarks.report("%10s %14.0f %14.0f", "", indexNs, scanNs);
+    }
+
+    // Builds and indexes the catalog, optionally swapping each author for its canonical instance
+    private static List<Book> catalog(AuthorIndex index, boolean intern) {
+        Random random = new Random(42);
+        List<Book> books = new ArrayList<>(BOOKS);
+        int authors = 0;
+        for (int i = 0; i < BOOKS; i++) {
+            int author = authors > 0 && random.nextDouble() < DUPLICATE_AUTHOR_RATE
+                ? random.nextInt(authors)
+                : authors++;
+            String name = new StringBuilder("Author Name ").append(author).toString();
+            if (intern) {
+                name = index.intern(name);
+            }
+            Book book = Book.create("Title " + i, name, "ISBN-" + i);
+            books.add(book);
+            index.add(i, book);
+        }
+        return books;
+    }
+}
@@ -0,0 +1,62 @@
+package com.library.search;
+
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuthorIndexTest {
+
+    @Test
+    void shouldReturnIdsOfEveryBookByTheAuthorInOrder() {
+        AuthorIndex index = new AuthorIndex();
+        for (int id = 0; id < 10; id++) {
+            index.add(id, Book.create("Book " + id, id % 3 == 0 ? "Joshua Bloch" : "Brian Goetz", "ISBN-" + id));
+        }
+
+        assertThat(index.booksBy("Joshua Bloch")).containsExactly(0, 3, 6, 9);
+        assertThat(index.booksBy("Brian Goetz")).containsExactly(1, 2, 4, 5, 7, 8);
+        assertThat(index.authorCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMatchAuthorsExactly() {
+        AuthorIndex index = new AuthorIndex();
+        index.add(0, Book.create("Effective Java", "Joshua Bloch", "1"));
+
+        assertThat(index.booksBy("joshua bloch")).isEmpty();
+        assertThat(index.booksBy("Nobody")).isEmpty();
+    }
+
+    @Test
+    void returnedIdsShouldNotExposeInternalState() {
+        AuthorIndex index = new AuthorIndex();
+        index.add(0, Book.create("Effective Java", "Joshua Bloch", "1"));
+
+        index.booksBy("Joshua Bloch")[0] = 42;
+
+        assertThat(index.booksBy("Joshua Bloch")).containsExactly(0);
+    }
+
+    @Test
+    void internShouldReturnTheFirstInstanceForEqualAuthors() {
+        AuthorIndex index = new AuthorIndex();
+        String first = new String("Joshua Bloch");
+        String second = new String("Joshua Bloch");
+
+        assertThat(index.intern(first)).isSameAs(first);
+        assertThat(index.intern(second)).isSameAs(first);
+        assertThat(index.authorCount()).isEqualTo(1);
+        assertThat(index.booksBy("Joshua Bloch")).isEmpty();
+    }
+
+    @Test
+    void addShouldKeepTheInternedInstance() {
+        AuthorIndex index = new AuthorIndex();
+        String canonical = index.intern(new String("Joshua Bloch"));
+        index.add(0, Book.create("Effective Java", new String("Joshua Bloch"), "1"));
+
+        assertThat(index.intern(new String("Joshua Bloch"))).isSameAs(canonical);
+        assertThat(index.booksBy("Joshua Bloch")).containsExactly(0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.library.search;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Top-10 completion latency and memory footprint of the prefix index.
+ *
+ * Run with: mvn test -Dtest=AutocompleteBenchmark
+ */
+class AutocompleteBenchmark {
+
+    private static final int[] CATALOG_SIZES = {10_000, 100_000, 1_000_000};
+    private static final String[] WORDS = {
+        "the", "art", "of", "java", "effective", "modern", "history", "world", "war", "love",
+        "garden", "secret", "night", "city", "river", "programming", "design", "patterns", "data", "science"
+    };
+    private static final int QUERIES = 10_000;
+
+    @Test
+    void completionLatencyAndFootprint() {
+        Benchmarks.report("%10s %10s %12s %14s %14s %14s %12s",
+            "books", "entries", "nodes", "est. bytes", "bytes/entry", "1-char ns", "3-char ns");
+        for (int size : CATALOG_SIZES) {
+            Random random = new Random(42);
+            PrefixIndex index = new PrefixIndex();
+            for (int i = 0; i < size; i++) {
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + random.nextInt(size);
+                String author = "Author " + random.nextInt(size / 4 + 1);
+                index.add(i, Book.create(title, author, String.valueOf(i)));
+            }
+
+            String[] shortPrefixes = new String[QUERIES];
+            String[] longPrefixes = new String[QUERIES];
+            for (int q = 0; q < QUERIES; q++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                shortPrefixes[q] = word.substring(0, 1);
+                longPrefixes[q] = word.substring(0, Math.min(3, word.length()));
+            }
+            double shortNs = Benchmarks.nanosPerOp(QUERIES, () -> complete(index, shortPrefixes));
+            double longNs = Benchmarks.nanosPerOp(QUERIES, () -> complete(index, longPrefixes));
+
+            long bytes = index.estimatedSizeInBytes();
+            Benchmarks.report("%10d %10d %12d %14d %14.1f %14.0f %12.0f",
+                size, index.entryCount(), index.nodeCount(), bytes,
+                (double) bytes / index.entryCount(), shortNs, longNs);
+        }
+    }
+
+    private static long complete(PrefixIndex index, String[] prefixes) {
+        long found = 0;
+        for (String prefix : prefixes) {
+            found += index.complete(prefix, 10).size();
+        }
+        return found;
+    }
+}
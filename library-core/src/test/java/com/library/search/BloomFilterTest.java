@@ -0,0 +1,100 @@
+package com.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverReportAnAddedKeyAsAbsent() {
+        BloomFilter filter = new BloomFilter(0.01, 1_000);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("978-" + i);
+        }
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(filter.mightContain("978-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldGrowAndKeepFalsePositivesNearTheTarget() {
+        BloomFilter filter = new BloomFilter(0.01, 1_000);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("978-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("979-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(filter.sliceCount()).isGreaterThan(1);
+        assertThat((double) falsePositives / probes).isLessThan(0.015);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.0, 0.015);
+        assertThat(filter.fillRatio()).isStrictlyBetween(0.0, 0.6);
+    }
+
+    @Test
+    void concurrentAddsShouldNeverBeLostWhileTheFilterGrows() throws Exception {
+        BloomFilter filter = new BloomFilter(0.01, 100);
+        int threads = 4;
+        int keysPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    int missed = 0;
+                    for (int i = 0; i < keysPerThread; i++) {
+                        String key = thread + "-" + i;
+                        filter.add(key);
+                        if (!filter.mightContain(key)) {
+                            missed++;
+                        }
+                    }
+                    return missed;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(filter.sliceCount()).isGreaterThan(1);
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < keysPerThread; i++) {
+                assertThat(filter.mightContain(t + "-" + i)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void repeatedKeysShouldNotUseUpCapacity() {
+        BloomFilter filter = new BloomFilter(0.01, 100);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("same");
+        }
+
+        assertThat(filter.keyCount()).isEqualTo(1);
+        assertThat(filter.sliceCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new BloomFilter(0, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(1, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(0.01, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.library.search;
+
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static InvertedIndex indexOf(Book... books) {
+        InvertedIndex index = new InvertedIndex();
+        for (int id = 0; id < books.length; id++) {
+            index.add(id, books[id]);
+        }
+        return index;
+    }
+
+    @Test
+    void andQueryShouldRequireEveryTerm() {
+        InvertedIndex index = indexOf(
+            Book.create("Effective Java", "Joshua Bloch", "1"),
+            Book.create("Java Concurrency in Practice", "Brian Goetz", "2"),
+            Book.create("Effective C++", "Scott Meyers", "3"));
+
+        assertThat(index.search("effective java", SearchOperator.AND, 10)).containsExactly(0);
+        assertThat(index.search("java goetz", SearchOperator.AND, 10)).containsExactly(1);
+        assertThat(index.search("java missing", SearchOperator.AND, 10)).isEmpty();
+    }
+
+    @Test
+    void orQueryShouldRankBooksMatchingMoreTermsFirst() {
+        InvertedIndex index = indexOf(
+            Book.create("Java Puzzlers", "Joshua Bloch", "1"),
+            Book.create("Effective Java", "Joshua Bloch", "2"),
+            Book.create("Effective C++", "Scott Meyers", "3"));
+
+        assertThat(index.search("effective java", SearchOperator.OR, 10)).containsExactly(1, 0, 2);
+        assertThat(index.search("effective java", SearchOperator.OR, 1)).containsExactly(1);
+    }
+
+    @Test
+    void titleMatchesShouldOutrankAuthorMatches() {
+        InvertedIndex index = indexOf(
+            Book.create("Gardening Basics", "Martin Fowler", "1"),
+            Book.create("Fowler's Refactoring Notes", "Someone Else", "2"));
+
+        assertThat(index.search("fowler", SearchOperator.OR, 10)).containsExactly(1, 0);
+    }
+
+    @Test
+    void shouldIgnoreCaseAccentsAndPunctuation() {
+        InvertedIndex index = indexOf(Book.create("Café-Society: A History", "Zoë Smith", "1"));
+
+        assertThat(index.search("CAFE society", SearchOperator.AND, 10)).containsExactly(0);
+        assertThat(index.search("zoe", SearchOperator.AND, 10)).containsExactly(0);
+    }
+
+    @Test
+    void shouldReturnEmptyResultForBlankQueryOrZeroLimit() {
+        InvertedIndex index = indexOf(Book.create("Effective Java", "Joshua Bloch", "1"));
+
+        assertThat(index.search("  ", SearchOperator.OR, 10)).isEmpty();
+        assertThat(index.search("java", SearchOperator.OR, 0)).isEmpty();
+        assertThatThrownBy(() -> index.search("java", SearchOperator.OR, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCountEachTermOncePerBook() {
+        InvertedIndex index = indexOf(Book.create("Java Java Java", "Java Author", "1"));
+
+        assertThat(index.termCount()).isEqualTo(2);
+        assertThat(index.postingCount()).isEqualTo(2);
+        assertThat(index.documentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void limitedResultsShouldBeThePrefixOfTheFullRanking() {
+        // Early termination must not change which books make the top-k
+        Random random = new Random(7);
+        InvertedIndex index = new InvertedIndex();
+        for (int id = 0; id < 2_000; id++) {
+            String title = "t" + random.nextInt(5) + " t" + random.nextInt(30);
+            String author = random.nextBoolean() ? "t" + random.nextInt(5) : "nobody";
+            index.add(id, Book.create(title, author, String.valueOf(id)));
+        }
+
+        for (SearchOperator operator : SearchOperator.values()) {
+            int[] full = index.search("t1 t2 t7", operator, Integer.MAX_VALUE);
+            for (int limit : new int[] {1, 5, 50}) {
+                assertThat(index.search("t1 t2 t7", operator, limit))
+                    .containsExactly(Arrays.copyOf(full, Math.min(limit, full.length)));
+            }
+        }
+    }
+}
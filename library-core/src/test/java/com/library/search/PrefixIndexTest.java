@@ -0,0 +1,66 @@
+package com.library.search;
+
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    @Test
+    void shouldCompleteTitlesAndAuthorsByPrefix() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(0, Book.create("Effective Java", "Joshua Bloch", "1"));
+        index.add(1, Book.create("Effective C++", "Scott Meyers", "2"));
+        index.add(2, Book.create("Java Puzzlers", "Joshua Bloch", "3"));
+
+        assertThat(index.complete("eff", 10)).containsExactly("Effective C++", "Effective Java");
+        assertThat(index.complete("JOSH", 10)).containsExactly("Joshua Bloch");
+        assertThat(index.complete("java", 10)).containsExactly("Java Puzzlers");
+        assertThat(index.complete("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRankMoreFrequentCompletionsFirst() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(0, Book.create("Book A", "Martin Fowler", "1"));
+        index.add(1, Book.create("Book B", "Mark Twain", "2"));
+        index.add(2, Book.create("Book C", "Martin Fowler", "3"));
+
+        assertThat(index.complete("mar", 10)).containsExactly("Martin Fowler", "Mark Twain");
+        assertThat(index.complete("mar", 1)).containsExactly("Martin Fowler");
+    }
+
+    @Test
+    void shouldHandlePrefixEndingInsideAnEdgeAndSplitEdges() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(0, Book.create("Refactoring", "Fowler", "1"));
+        index.add(1, Book.create("Ref", "Fowler", "2"));          // splits "refactoring"
+        index.add(2, Book.create("Reference Manual", "Fowler", "3"));
+
+        assertThat(index.complete("refa", 10)).containsExactly("Refactoring");
+        assertThat(index.complete("ref", 10)).containsExactly("Ref", "Refactoring", "Reference Manual");
+        assertThat(index.complete("refx", 10)).isEmpty();
+        assertThat(index.complete("", 1)).containsExactly("Fowler");
+    }
+
+    @Test
+    void shouldKeepFirstSeenSpellingAndIgnoreAccents() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(0, Book.create("Café Society", "Zoë Smith", "1"));
+        index.add(1, Book.create("CAFE SOCIETY", "Zoe Smith", "2"));
+
+        assertThat(index.complete("cafe", 10)).containsExactly("Café Society");
+        assertThat(index.entryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReportFootprint() {
+        PrefixIndex index = new PrefixIndex();
+        long empty = index.estimatedSizeInBytes();
+        index.add(0, Book.create("Effective Java", "Joshua Bloch", "1"));
+
+        assertThat(index.estimatedSizeInBytes()).isGreaterThan(empty);
+        assertThat(index.nodeCount()).isEqualTo(3);
+    }
+}
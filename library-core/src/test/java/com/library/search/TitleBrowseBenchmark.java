@@ -0,0 +1,75 @@
+package com.library.search;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Cost of one alphabetical browse page (20 books from a random title) through the
+ * sorted index, against sorting a full copy of the catalog as callers did before.
+ *
+ * Run with: mvn test -Dtest=TitleBrowseBenchmark
+ */
+class TitleBrowseBenchmark {
+
+    private static final int[] CATALOG_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int PAGE = 20;
+    private static final int QUERIES = 10_000;
+    private static final int SORT_QUERIES = 3;
+
+    @Test
+    void browsePageLatencyByCatalogSize() {
+        Benchmarks.report("%10s %14s %14s %14s", "books", "page ns", "firstN ns", "sort copy ns");
+        for (int size : CATALOG_SIZES) {
+            Random random = new Random(42);
+            TitleIndex index = new TitleIndex();
+            List<Book> catalog = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Book book = Book.create(title(random), "Author " + random.nextInt(size / 10 + 1), "ISBN-" + i);
+                catalog.add(book);
+                index.add(i, book);
+            }
+            String[] starts = new String[QUERIES];
+            for (int q = 0; q < QUERIES; q++) {
+                starts[q] = title(random);
+            }
+
+            double pageNs = Benchmarks.nanosPerOp(QUERIES, () -> {
+                long seen = 0;
+                for (String start : starts) {
+                    seen += index.from(start).limit(PAGE).count();
+                }
+                return seen;
+            });
+            double firstNs = Benchmarks.nanosPerOp(QUERIES, () -> {
+                long seen = 0;
+                for (int q = 0; q < QUERIES; q++) {
+                    seen += index.first(PAGE).size();
+                }
+                return seen;
+            });
+            double sortNs = Benchmarks.nanosPerOp(SORT_QUERIES, () -> {
+                long seen = 0;
+                for (int q = 0; q < SORT_QUERIES; q++) {
+                    List<Book> copy = new ArrayList<>(catalog);
+                    copy.sort(Book.BY_TITLE_THEN_AUTHOR);
+                    seen += copy.subList(0, PAGE).size();
+                }
+                return seen;
+            });
+            Benchmarks.report("%10d %14.0f %14.0f %14.0f", size, pageNs, firstNs, sortNs);
+        }
+    }
+
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            title.append((char) ('a' + random.nextInt(26)));
+        }
+        return title.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.library.search;
+
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TitleIndexTest {
+
+    @Test
+    void shouldKeepBooksInTitleThenAuthorOrder() {
+        TitleIndex index = new TitleIndex();
+        List<Book> books = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Book book = Book.create("Title " + random.nextInt(50), "Author " + random.nextInt(5), "ISBN-" + i);
+            books.add(book);
+            index.add(i, book);
+        }
+        books.sort(Book.BY_TITLE_THEN_AUTHOR);
+
+        assertThat(index.first(books.size())).containsExactlyElementsOf(books);
+        assertThat(index.size()).isEqualTo(books.size());
+    }
+
+    @Test
+    void betweenShouldIncludeLowerBoundAndExcludeUpperBound() {
+        TitleIndex index = new TitleIndex();
+        Book apple = Book.create("Apple", "A", "1");
+        Book banana = Book.create("Banana", "B", "2");
+        Book bananaSplit = Book.create("Banana Split", "B", "3");
+        Book cherry = Book.create("Cherry", "C", "4");
+        List.of(cherry, banana, apple, bananaSplit).forEach(index::add);
+
+        assertThat(index.between("Banana", "Cherry")).containsExactly(banana, bananaSplit);
+        assertThat(index.between("B", "C")).containsExactly(banana, bananaSplit);
+        assertThat(index.between("Apple", "Apple")).isEmpty();
+        assertThat(index.between("Cherry", "Apple")).isEmpty();
+    }
+
+    @Test
+    void shouldKeepEveryBookSharingATitle() {
+        TitleIndex index = new TitleIndex();
+        Book second = Book.create("Dune", "Frank Herbert", "2");
+        Book first = Book.create("Dune", "Frank Herbert", "1");
+        Book other = Book.create("Dune", "Brian Herbert", "3");
+        List.of(second, first, other).forEach(index::add);
+
+        assertThat(index.between("Dune", "Dune~")).containsExactly(other, first, second);
+    }
+
+    @Test
+    void firstShouldStopAfterNBooks() {
+        TitleIndex index = new TitleIndex();
+        index.add(Book.create("B", "X", "1"));
+        index.add(Book.create("A", "X", "2"));
+        index.add(Book.create("C", "X", "3"));
+
+        assertThat(index.first(2)).extracting(Book::getTitle).containsExactly("A", "B");
+        assertThat(index.first(0)).isEmpty();
+        assertThat(index.first(10)).hasSize(3);
+        assertThatThrownBy(() -> index.first(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldStreamLazilyFromTheGivenTitle() {
+        TitleIndex index = new TitleIndex();
+        for (char c = 'A'; c <= 'Z'; c++) {
+            index.add(Book.create(String.valueOf(c), "X", String.valueOf(c)));
+        }
+
+        assertThat(index.from("W").map(Book::getTitle)).containsExactly("W", "X", "Y", "Z");
+        assertThat(index.from("Mm").limit(2).map(Book::getTitle)).containsExactly("N", "O");
+        assertThat(index.from("ZZ")).isEmpty();
+    }
+
+    @Test
+    void addAllShouldMatchAddingOneByOne() {
+        List<Book> books = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000; i++) {
+            books.add(Book.create("Title " + random.nextInt(200), "Author " + random.nextInt(3), "ISBN-" + i));
+        }
+        TitleIndex batched = new TitleIndex();
+        batched.add(books.get(0));
+        batched.addAll(books);
+        TitleIndex oneByOne = new TitleIndex();
+        books.forEach(oneByOne::add);
+
+        assertThat(batched.first(books.size())).containsExactlyElementsOf(oneByOne.first(books.size()));
+    }
+}
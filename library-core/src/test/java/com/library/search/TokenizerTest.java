@@ -0,0 +1,25 @@
+package com.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenizerTest {
+
+    @Test
+    void shouldSplitOnNonAlphanumericsAndFoldCase() {
+        assertThat(Tokenizer.tokenize("Effective Java, 3rd Edition!"))
+            .containsExactly("effective", "java", "3rd", "edition");
+    }
+
+    @Test
+    void shouldStripAccents() {
+        assertThat(Tokenizer.tokenize("Crème Brûlée")).containsExactly("creme", "brulee");
+        assertThat(Tokenizer.fold("Zoë")).isEqualTo("zoe");
+    }
+
+    @Test
+    void shouldReturnNoTermsForBlankText() {
+        assertThat(Tokenizer.tokenize(" -- ")).isEmpty();
+    }
+}
@@ -0,0 +1,143 @@
+package com.library.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AppendOnlyStoreTest {
+
+    @Test
+    void shouldReturnSameSnapshotUntilNextAppend() {
+        AppendOnlyStore<String> store = new AppendOnlyStore<>();
+        store.append("a");
+
+        Snapshot<String> first = store.snapshot();
+        assertThat(store.snapshot()).isSameAs(first);
+
+        store.append("b");
+        Snapshot<String> second = store.snapshot();
+
+        assertThat(second).isNotSameAs(first).containsExactly("a", "b");
+        assertThat(second.version()).isGreaterThan(first.version());
+    }
+
+    @Test
+    void olderSnapshotsShouldNotSeeLaterAppends() {
+        // Item 17: A snapshot is immutable even though it shares structure with the store
+        AppendOnlyStore<Integer> store = new AppendOnlyStore<>();
+        IntStream.range(0, 10).forEach(store::append);
+        Snapshot<Integer> before = store.snapshot();
+
+        IntStream.range(10, 5_000).forEach(store::append); // crosses many bucket boundaries
+
+        assertThat(before).hasSize(10).containsExactlyElementsOf(IntStream.range(0, 10).boxed().toList());
+        assertThat(store.snapshot()).hasSize(5_000).containsExactlyElementsOf(IntStream.range(0, 5_000).boxed().toList());
+    }
+
+    @Test
+    void snapshotShouldRejectMutation() {
+        AppendOnlyStore<String> store = new AppendOnlyStore<>();
+        store.append("a");
+        Snapshot<String> snapshot = store.snapshot();
+
+        assertThatThrownBy(() -> snapshot.add("b")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.set(0, "b")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(snapshot::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void concurrentAppendsShouldAllBecomeVisible() throws Exception {
+        AppendOnlyStore<Integer> store = new AppendOnlyStore<>();
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        store.append(base + i);
+                        store.snapshot(); // readers alongside writers
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.size()).isEqualTo(threads * perThread);
+        assertThat(store.snapshot()).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void appendAllShouldPublishTheWholeBatchInOrderAcrossBuckets() {
+        AppendOnlyStore<Integer> store = new AppendOnlyStore<>();
+        store.append(-1);
+        Snapshot<Integer> before = store.snapshot();
+
+        int first = store.appendAll(IntStream.range(0, 1_000).boxed().toList()); // spans several buckets
+        store.append(1_000);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(before).containsExactly(-1);
+        assertThat(store.snapshot()).hasSize(1_002)
+            .containsExactlyElementsOf(IntStream.range(-1, 1_001).boxed().toList());
+    }
+
+    @Test
+    void appendAllShouldRejectNullsWithoutReservingSlots() {
+        AppendOnlyStore<String> store = new AppendOnlyStore<>();
+
+        assertThatThrownBy(() -> store.appendAll(Arrays.asList("a", null)))
+            .isInstanceOf(NullPointerException.class);
+        store.append("b");
+
+        assertThat(store.snapshot()).containsExactly("b");
+    }
+
+    @Test
+    void concurrentBatchesShouldEachLandContiguously() throws Exception {
+        AppendOnlyStore<Integer> store = new AppendOnlyStore<>();
+        int threads = 4;
+        int batches = 200;
+        int batchSize = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int b = 0; b < batches; b++) {
+                        int base = (thread * batches + b) * batchSize;
+                        store.appendAll(IntStream.range(base, base + batchSize).boxed().toList());
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Snapshot<Integer> all = store.snapshot();
+        assertThat(all).hasSize(threads * batches * batchSize).doesNotHaveDuplicates();
+        for (int i = 0; i < all.size(); i += batchSize) {
+            assertThat(all.subList(i, i + batchSize))
+                .containsExactlyElementsOf(IntStream.range(all.get(i), all.get(i) + batchSize).boxed().toList());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Registering a large catalog with one registerAllBooks call against a
+ * registerBook loop, on a fresh service each round. The concurrent service keeps
+ * its search indexes lazy, so its numbers isolate the registration path itself;
+ * the default service also indexes every book before returning.
+ *
+ * Run with: mvn test -Dtest=BulkRegistrationBenchmark
+ */
+class BulkRegistrationBenchmark {
+
+    private static final int BOOKS = 250_000;
+    private static final double DUPLICATE_RATE = 0.05;
+
+    @Test
+    void bulkAgainstOneByOne() {
+        List<Book> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            int isbn = i < BOOKS * (1 - DUPLICATE_RATE) ? i : i % 1_000; // tail repeats earlier ISBNs
+            books.add(Book.create("Title " + i, new String("Author " + (i % 20_000)), "ISBN-" + isbn));
+        }
+        Collections.shuffle(books, new Random(42)); // files arrive in no particular title order
+
+        Benchmarks.report("%12s %16s %16s", "service", "loop ns/book", "batch ns/book");
+        report("concurrent", LibraryService::concurrent, books);
+        report("default", DefaultLibraryService::new, books);
+    }
+
+    private static void report(String name, Supplier<LibraryService> services, List<Book> books) {
+        double loopNs = Benchmarks.nanosPerOp(books.size(), () -> {
+            LibraryService library = services.get();
+            long accepted = 0;
+            for (Book book : books) {
+                if (library.registerBook(book)) {
+                    accepted++;
+                }
+            }
+            return accepted;
+        });
+        double batchNs = Benchmarks.nanosPerOp(books.size(), () -> services.get().registerAllBooks(books).accepted());
+        Benchmarks.report("%12s %16.1f %16.1f", name, loopNs, batchNs);
+    }
+}
@@ -0,0 +1,192 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import com.library.search.SearchOperator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrentLibraryServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int BOOKS_PER_THREAD = 2_000;
+
+    @Test
+    void shouldBehaveLikeDefaultServiceSingleThreaded() {
+        LibraryService library = LibraryService.concurrent();
+        Book book = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+        Member member = Member.builder().id("M001").name("Alice").build();
+
+        assertThat(library.registerBook(book)).isTrue();
+        assertThat(library.registerBook(Book.create("Copy", "Someone", "978-0134685991"))).isFalse();
+        assertThat(library.registerMember(member)).isTrue();
+
+        assertThat(library.listAllBooks()).containsExactly(book);
+        assertThat(library.listAllMembers()).containsExactly(member);
+        assertThat(library.findByIsbn("978-0134685991")).containsSame(book);
+    }
+
+    @Test
+    void concurrentRegistrationsShouldRegisterEachIsbnExactlyOnce() throws Exception {
+        // Item 81: Every thread registers the same overlapping ISBN range —
+        // putIfAbsent must let exactly one registration per ISBN win.
+        LibraryService library = LibraryService.concurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Callable<Integer> task = () -> {
+                    start.await();
+                    int added = 0;
+                    for (int i = 0; i < BOOKS_PER_THREAD; i++) {
+                        if (library.registerBook(Book.create("Title " + i, "Author", "ISBN-" + i))) {
+                            added++;
+                        }
+                        library.listAllBooks(); // readers run alongside writers
+                    }
+                    return added;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            int totalAdded = 0;
+            for (Future<Integer> result : results) {
+                totalAdded += result.get();
+            }
+
+            assertThat(totalAdded).isEqualTo(BOOKS_PER_THREAD);
+            assertThat(library.listAllBooks()).hasSize(BOOKS_PER_THREAD).doesNotHaveDuplicates();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentMemberRegistrationsShouldNotLoseUpdates() throws Exception {
+        LibraryService library = LibraryService.concurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < BOOKS_PER_THREAD; i++) {
+                        library.registerMember(Member.builder().id(thread + "-" + i).name("Member").build());
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            assertThat(library.listAllMembers()).hasSize(THREADS * BOOKS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchShouldCatchUpWithConcurrentRegistrations() throws Exception {
+        LibraryService library = LibraryService.concurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < BOOKS_PER_THREAD; i++) {
+                        library.registerBook(Book.create("Shared Title " + i, "Author " + (char) ('A' + thread), thread + "-" + i));
+                        library.search("shared", SearchOperator.AND, 5); // queries interleave with writes
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            assertThat(library.search("shared title", SearchOperator.AND, Integer.MAX_VALUE))
+                .hasSize(THREADS * BOOKS_PER_THREAD);
+            assertThat(library.search("author d", SearchOperator.AND, Integer.MAX_VALUE))
+                .hasSize(BOOKS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void isbnFilterShouldHaveNoFalseNegativesUnderConcurrentRegistration() throws Exception {
+        LibraryService library = LibraryService.concurrent(0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int missed = 0;
+                    for (int i = 0; i < BOOKS_PER_THREAD; i++) {
+                        String isbn = "ISBN-" + thread + "-" + i;
+                        library.registerBook(Book.create("Title " + i, "Author", isbn));
+                        if (!library.mightContainIsbn(isbn) || !library.containsIsbn(isbn)) {
+                            missed++;
+                        }
+                    }
+                    return missed;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentBatchesShouldRegisterEachIsbnExactlyOnce() throws Exception {
+        LibraryService library = LibraryService.concurrent();
+        List<Book> batch = new ArrayList<>();
+        for (int i = 0; i < BOOKS_PER_THREAD; i++) {
+            batch.add(Book.create("Title " + i, "Author", "ISBN-" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<BatchResult>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return library.registerAllBooks(batch);
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            int duplicates = 0;
+            for (Future<BatchResult> result : results) {
+                accepted += result.get().accepted();
+                duplicates += result.get().duplicates();
+            }
+
+            assertThat(accepted).isEqualTo(BOOKS_PER_THREAD);
+            assertThat(duplicates).isEqualTo((THREADS - 1) * BOOKS_PER_THREAD);
+            assertThat(library.listAllBooks()).hasSize(BOOKS_PER_THREAD).doesNotHaveDuplicates();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Registration + lookup throughput of ConcurrentLibraryService versus a single
+ * global lock around DefaultLibraryService, from 1 to 64 threads.
+ *
+ * Run with: mvn test -Dtest=ConcurrentRegistrationBenchmark
+ */
+class ConcurrentRegistrationBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int BOOKS_PER_THREAD = 20_000;
+
+    @Test
+    void registrationThroughputByThreadCount() throws InterruptedException {
+        Book[][] books = new Book[THREAD_COUNTS[THREAD_COUNTS.length - 1]][BOOKS_PER_THREAD];
+        for (int t = 0; t < books.length; t++) {
+            for (int i = 0; i < BOOKS_PER_THREAD; i++) {
+                books[t][i] = Book.create("Title " + i, "Author " + t, t + "-" + i);
+            }
+        }
+
+        // Warm up both paths before measuring
+        globalLockRun(books, THREAD_COUNTS[THREAD_COUNTS.length - 1]);
+        concurrentRun(books, THREAD_COUNTS[THREAD_COUNTS.length - 1]);
+
+        Benchmarks.report("%8s %22s %22s", "threads", "global lock ops/s", "concurrent ops/s");
+        for (int threads : THREAD_COUNTS) {
+            Benchmarks.report("%8d %22.0f %22.0f",
+                threads, globalLockRun(books, threads), concurrentRun(books, threads));
+        }
+    }
+
+    private static double globalLockRun(Book[][] books, int threads) throws InterruptedException {
+        LibraryService library = new DefaultLibraryService();
+        Object lock = new Object();
+        return Benchmarks.opsPerSecond(threads, t -> {
+            long found = 0;
+            for (Book book : books[t]) {
+                synchronized (lock) {
+                    library.registerBook(book);
+                }
+                synchronized (lock) {
+                    found += library.containsIsbn(book.getIsbn()) ? 1 : 0;
+                }
+            }
+            return found;
+        });
+    }
+
+    private static double concurrentRun(Book[][] books, int threads) throws InterruptedException {
+        LibraryService library = LibraryService.concurrent();
+        return Benchmarks.opsPerSecond(threads, t -> {
+            long found = 0;
+            for (Book book : books[t]) {
+                library.registerBook(book);
+                found += library.containsIsbn(book.getIsbn()) ? 1 : 0;
+            }
+            return found;
+        });
+    }
+}
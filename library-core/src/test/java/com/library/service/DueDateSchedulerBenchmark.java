@@ -0,0 +1,70 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+/**
+ * Ten million outstanding loans due over four weeks: schedule and cancel cost,
+ * heap per pending entry, and the cost of advancing the clock a day at a time
+ * while the day's overdue loans are reported in batches.
+ *
+ * Run with: mvn test -Dtest=DueDateSchedulerBenchmark (-Dbenchmark.loans=N for another size)
+ */
+class DueDateSchedulerBenchmark {
+
+    private static final int LOANS = Integer.getInteger("benchmark.loans", 10_000_000);
+    private static final Instant START = Instant.parse("2026-01-05T09:00:00Z");
+
+    @Test
+    void tensOfMillionsOfLoans() {
+        DueDateSchedulerTest.ManualClock clock = new DueDateSchedulerTest.ManualClock(START);
+        long[] fired = new long[2]; // items, batches
+        DueDateScheduler<Object> scheduler = DueDateScheduler.builder()
+            .clock(clock)
+            .tick(Duration.ofSeconds(1))
+            .batchSize(4_096)
+            .onOverdue(batch -> {
+                fired[0] += batch.size();
+                fired[1]++;
+            })
+            .build();
+        Object loan = new Object(); // one shared item, so the heap figure is the scheduler's own
+        Random random = new Random(42);
+        long fourWeeks = Duration.ofDays(28).toMillis();
+
+        long heapBefore = Benchmarks.usedHeapBytes();
+        long[] handles = new long[LOANS / 2];
+        long start = System.nanoTime();
+        for (int i = 0; i < LOANS; i++) {
+            long handle = scheduler.schedule(loan, START.plusMillis((long) (random.nextDouble() * fourWeeks)));
+            if (i % 2 == 0) {
+                handles[i / 2] = handle;
+            }
+        }
+        double scheduleNs = (double) (System.nanoTime() - start) / LOANS;
+        long heapAfter = Benchmarks.usedHeapBytes();
+        Benchmarks.report("schedule: %.0f ns/loan, heap %.1f bytes/pending loan (%d loans, %.0f MB)",
+            scheduleNs, (double) (heapAfter - heapBefore) / LOANS, LOANS, (heapAfter - heapBefore) / 1e6);
+
+        start = System.nanoTime();
+        for (int i = 0; i < handles.length; i += 2) {
+            scheduler.cancel(handles[i]); // a quarter of the loans come back on time
+        }
+        Benchmarks.report("cancel: %.0f ns/loan", (double) (System.nanoTime() - start) / (handles.length / 2));
+
+        Benchmarks.report("%6s %12s %10s %12s", "day", "overdue", "batches", "advance ms");
+        for (int day = 1; day <= 29; day += 4) {
+            fired[0] = 0;
+            fired[1] = 0;
+            clock.advance(Duration.ofDays(day == 1 ? 1 : 4));
+            start = System.nanoTime();
+            scheduler.advance();
+            Benchmarks.report("%6d %12d %10d %12.1f", day, fired[0], fired[1], (System.nanoTime() - start) / 1e6);
+        }
+        Benchmarks.report("pending after four weeks: %d", scheduler.pending());
+    }
+}
@@ -0,0 +1,209 @@
+package com.library.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DueDateSchedulerTest {
+
+    private static final Instant START = Instant.parse("2026-01-05T09:00:00Z");
+
+    private final ManualClock clock = new ManualClock(START);
+    private final List<List<String>> batches = new ArrayList<>();
+
+    private DueDateScheduler<String> scheduler(Duration tick, int batchSize) {
+        return DueDateScheduler.<String>builder()
+            .clock(clock)
+            .tick(tick)
+            .batchSize(batchSize)
+            .onOverdue(batches::add)
+            .build();
+    }
+
+    private List<String> fired() {
+        return batches.stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void firesOnceDueAndNotBefore() {
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 100);
+        scheduler.schedule("loan-1", START.plus(Duration.ofDays(14)));
+        scheduler.schedule("loan-2", START.plus(Duration.ofDays(21)));
+
+        clock.advance(Duration.ofDays(14).minusSeconds(1));
+        assertThat(scheduler.advance()).isZero();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(scheduler.advance()).isEqualTo(1);
+        assertThat(fired()).containsExactly("loan-1");
+        assertThat(scheduler.pending()).isEqualTo(1);
+
+        clock.advance(Duration.ofDays(30));
+        scheduler.advance();
+        assertThat(fired()).containsExactly("loan-1", "loan-2");
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    @Test
+    void dueDatesRoundUpToWholeTicks() {
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofMinutes(1), 100);
+        scheduler.schedule("loan", START.plusSeconds(61));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(scheduler.advance()).isZero(); // due mid-tick: fires at the next whole tick
+
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(scheduler.advance()).isEqualTo(1);
+    }
+
+    @Test
+    void entryCascadedOnTheLastTickOfItsSlotStillFires() {
+        // START is tick 16 of a 64-tick window; tick 175 ends the third window, so the
+        // item waits in level 1 and is cascaded with exactly 64 ticks of range left
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 100);
+        scheduler.schedule("loan", START.plusSeconds(175));
+
+        for (int second = 1; second < 175; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(scheduler.advance()).isZero();
+        }
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(scheduler.advance()).isEqualTo(1);
+    }
+
+    @Test
+    void pastDueItemFiresOnNextAdvance() {
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 100);
+        scheduler.schedule("late", START.minus(Duration.ofDays(3)));
+
+        assertThat(scheduler.advance()).isEqualTo(1);
+        assertThat(fired()).containsExactly("late");
+    }
+
+    @Test
+    void cancelledItemNeverFires() {
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 100);
+        long returned = scheduler.schedule("returned", START.plus(Duration.ofDays(14)));
+        scheduler.schedule("kept", START.plus(Duration.ofDays(14)));
+
+        assertThat(scheduler.cancel(returned)).isTrue();
+        assertThat(scheduler.cancel(returned)).isFalse();
+
+        clock.advance(Duration.ofDays(15));
+        scheduler.advance();
+        assertThat(fired()).containsExactly("kept");
+    }
+
+    @Test
+    void staleHandleDoesNotCancelReusedEntry() {
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 100);
+        long first = scheduler.schedule("first", START.plusSeconds(10));
+        clock.advance(Duration.ofSeconds(10));
+        scheduler.advance();
+
+        scheduler.schedule("second", START.plusSeconds(20)); // reuses the freed entry
+
+        assertThat(scheduler.cancel(first)).isFalse();
+        assertThat(scheduler.pending()).isEqualTo(1);
+        assertThat(scheduler.cancel(-1L)).isFalse();
+    }
+
+    @Test
+    void reportsInBatches() {
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 1_000);
+        for (int i = 0; i < 2_500; i++) {
+            scheduler.schedule("loan-" + i, START.plusSeconds(1 + i % 7));
+        }
+
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(scheduler.advance()).isEqualTo(2_500);
+        assertThat(batches).extracting(List::size).allMatch(size -> size <= 1_000);
+        assertThat(fired()).hasSize(2_500).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void matchesNaiveScanAcrossLevelsAndClockJumps() {
+        // Random due dates from milliseconds to years, checked against the obvious
+        // rule after every advance: exactly the items due by now have fired
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofMillis(1), 64);
+        Random random = new Random(42);
+        Map<String, Instant> dues = new HashMap<>();
+        Map<String, Long> handles = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long horizon = new long[] {100, 10_000, 86_400_000L, 400L * 86_400_000L}[i % 4];
+            Instant due = START.plusMillis((long) (random.nextDouble() * horizon));
+            dues.put("loan-" + i, due);
+            handles.put("loan-" + i, scheduler.schedule("loan-" + i, due));
+        }
+        for (int i = 0; i < 5_000; i += 10) {
+            scheduler.cancel(handles.get("loan-" + i));
+            dues.remove("loan-" + i);
+        }
+
+        for (int step = 0; step < 200; step++) {
+            long jump = new long[] {1, 37, 5_000, 3_600_000L, 5L * 86_400_000L}[random.nextInt(5)];
+            clock.advance(Duration.ofMillis(jump));
+            scheduler.advance();
+            Instant now = clock.instant();
+            List<String> expected = dues.entrySet().stream()
+                .filter(entry -> !entry.getValue().isAfter(now))
+                .map(Map.Entry::getKey)
+                .toList();
+            assertThat(fired()).hasSameSizeAs(expected);
+            assertThat(new HashSet<>(fired())).isEqualTo(new HashSet<>(expected));
+        }
+    }
+
+    @Test
+    void builderValidatesSettings() {
+        assertThatThrownBy(() -> DueDateScheduler.<String>builder().build())
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> DueDateScheduler.<String>builder().tick(Duration.ofNanos(10)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DueDateScheduler.<String>builder().batchSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        DueDateScheduler<String> scheduler = scheduler(Duration.ofSeconds(1), 10);
+        assertThatThrownBy(() -> scheduler.schedule(null, START)).isInstanceOf(NullPointerException.class);
+    }
+
+    // A clock that only moves when told to — keeps the tests deterministic
+    static final class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
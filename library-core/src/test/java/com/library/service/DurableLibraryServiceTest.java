@@ -0,0 +1,443 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DurableLibraryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile() {
+        return tempDir.resolve("wal-0000000000.log"); // the first log file, before any snapshot
+    }
+
+    private DurableLibraryService open() throws IOException {
+        return DurableLibraryService.builder().directory(tempDir).open();
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    void restartRestoresBooksMembersAndLoans() throws IOException {
+        Book effective = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+        Book concurrency = Book.create("Java Concurrency in Practice", "Brian Goetz", "978-0321349606");
+        Book returned = Book.create("Clean Code", "Robert Martin", "978-0132350884");
+        Member alice = Member.builder().id("M1").name("Alice").email("alice@example.org").build();
+        Member bob = Member.builder().id("M2").name("Bob ✓").phone("555-0100").build();
+        try (DurableLibraryService service = open()) {
+            service.registerBook(effective);
+            service.registerAllBooks(Arrays.asList(concurrency, null, returned));
+            service.registerMember(alice);
+            service.registerMember(bob);
+            service.checkout(effective, alice);
+            service.checkout(returned, bob);
+            service.returnBook(returned.getIsbn());
+        }
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).containsExactly(effective, concurrency, returned);
+            assertThat(restored.listAllMembers()).extracting(Member::toString)
+                .containsExactly(alice.toString(), bob.toString());
+            assertThat(restored.activeLoans()).isEqualTo(1);
+            Loan loan = restored.loanOf(effective.getIsbn()).orElseThrow();
+            assertThat(loan.member().getId()).isEqualTo("M1");
+            assertThat(loan.member().getBorrowedBooks()).containsExactly(effective);
+            assertThat(restored.loansOf("M2")).isEmpty();
+        }
+    }
+
+    @Test
+    void loanWatermarksHoldAcrossRestarts() throws IOException {
+        Book effective = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+        Book returned = Book.create("Clean Code", "Robert Martin", "978-0132350884");
+        Member alice = Member.builder().id("M1").name("Alice").build();
+        long watermark;
+        try (DurableLibraryService service = open()) {
+            service.registerAllBooks(List.of(effective, returned));
+            service.registerMember(alice);
+            service.checkout(effective, alice);
+            watermark = service.loanChangesSince(0).through();
+            service.checkout(returned, alice);
+            service.returnBook(returned.getIsbn());
+            assertThat(service.loanChangesSince(0).through()).isEqualTo(3);
+        }
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.loanOf(effective.getIsbn()).orElseThrow().sequence()).isEqualTo(watermark);
+            LoanChanges changes = restored.loanChangesSince(watermark);
+            assertThat(changes.through()).isEqualTo(3);
+            assertThat(changes.isEmpty()).isTrue();
+
+            restored.returnBook(effective.getIsbn());
+            restored.checkout(returned, alice);
+            assertThat(restored.loanOf(returned.getIsbn()).orElseThrow().sequence()).isEqualTo(5);
+            changes = restored.loanChangesSince(3);
+            assertThat(changes.closed()).extracting(loan -> loan.book().getIsbn()).containsExactly(effective.getIsbn());
+            assertThat(changes.opened()).extracting(loan -> loan.book().getIsbn()).containsExactly(returned.getIsbn());
+        }
+    }
+
+    @Test
+    void loanChangesAfterASnapshotSurviveARestart() throws IOException {
+        Book early = Book.create("Early", "Author", "1");
+        Book late = Book.create("Late", "Author", "2");
+        Member alice = Member.builder().id("M1").name("Alice").build();
+        long watermark;
+        try (DurableLibraryService service = open()) {
+            service.registerAllBooks(List.of(early, late));
+            service.registerMember(alice);
+            service.checkout(early, alice);
+            service.checkout(late, alice);
+            service.returnBook(late.getIsbn());
+            watermark = service.loanChangesSince(0).through();
+            service.snapshot().join();
+            service.returnBook(early.getIsbn());
+            service.checkout(late, alice);
+        }
+
+        try (DurableLibraryService restored = open()) {
+            LoanChanges changes = restored.loanChangesSince(watermark);
+            assertThat(changes.through()).isEqualTo(5);
+            assertThat(changes.closed()).extracting(loan -> loan.book().getIsbn()).containsExactly(early.getIsbn());
+            assertThat(changes.opened()).extracting(Loan::sequence).containsExactly(5L);
+            // The snapshot kept the changes before it
+            LoanChanges older = restored.loanChangesSince(watermark - 1);
+            assertThat(older.through()).isEqualTo(5);
+            assertThat(older.closed()).extracting(Loan::sequence).containsExactlyInAnyOrder(1L, 2L);
+            assertThat(older.opened()).extracting(Loan::sequence).containsExactly(5L);
+            LoanChanges full = restored.loanChangesSince(0);
+            assertThat(full.through()).isEqualTo(5);
+            assertThat(full.opened()).extracting(loan -> loan.book().getIsbn()).containsExactly(late.getIsbn());
+        }
+    }
+
+    @Test
+    void aDiscardBeforeASnapshotStillHoldsAfterARestart() throws IOException {
+        Book book = Book.create("Book", "Author", "1");
+        Member alice = Member.builder().id("M1").name("Alice").build();
+        try (DurableLibraryService service = open()) {
+            service.registerBook(book);
+            service.registerMember(alice);
+            service.checkout(book, alice);
+            service.returnBook(book.getIsbn());
+            service.checkout(book, alice);
+            service.discardLoanChangesThrough(2);
+            service.snapshot().join();
+        }
+
+        try (DurableLibraryService restored = open()) {
+            assertThatThrownBy(() -> restored.loanChangesSince(1))
+                .isInstanceOf(IllegalStateException.class);
+            LoanChanges changes = restored.loanChangesSince(2);
+            assertThat(changes.through()).isEqualTo(3);
+            assertThat(changes.closed()).isEmpty();
+            assertThat(changes.opened()).extracting(Loan::sequence).containsExactly(3L);
+        }
+    }
+
+    @Test
+    void aReturnTheSnapshotMissedIsStillReported() throws IOException {
+        Book book = Book.create("Book", "Author", "1");
+        Member alice = Member.builder().id("M1").name("Alice").build();
+        try (DurableLibraryService service = open()) {
+            service.registerBook(book);
+            service.registerMember(alice);
+            service.checkout(book, alice);
+            service.snapshot().join();
+            service.returnBook(book.getIsbn());
+        }
+        // As if the snapshot's walk of the loans came after the return, which the new log file holds
+        Path snapshot = tempDir.resolve("snapshot-0000000001.snap");
+        Files.delete(snapshot);
+        Loan loan = new Loan(book, alice, 1);
+        SnapshotFile.write(snapshot, 1, 1, 0, List.of(book), List.of(alice), List.of(), Map.of(1L, loan));
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.activeLoans()).isZero();
+            LoanChanges changes = restored.loanChangesSince(1);
+            assertThat(changes.through()).isEqualTo(2);
+            assertThat(changes.closed()).extracting(Loan::sequence).containsExactly(1L);
+            assertThat(changes.opened()).isEmpty();
+        }
+    }
+
+    @Test
+    void zeroFilledLogTailDoesNotStopTheServiceOpening() throws IOException {
+        Book book = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+        try (DurableLibraryService service = open()) {
+            service.registerBook(book);
+        }
+        Files.write(logFile(), new byte[4096], StandardOpenOption.APPEND);
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).containsExactly(book);
+        }
+    }
+
+    @Test
+    void noOpsAreAnsweredWithoutARecord() throws IOException {
+        Book book = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+        Member alice = Member.builder().id("M1").name("Alice").build();
+        try (DurableLibraryService service = open()) {
+            assertThat(service.registerBook(book)).isTrue();
+            service.registerMember(alice);
+            assertThat(service.checkout(book, alice)).isTrue();
+            long size = Files.size(logFile());
+
+            assertThat(service.registerBook(Book.create("Other", "Author", book.getIsbn()))).isFalse();
+            assertThat(service.registerAllBooks(List.of(book))).isEqualTo(new BatchResult(0, 1, 0));
+            assertThat(service.registerMember(Member.builder().id("M1").name("Other").build())).isFalse();
+            assertThat(service.checkout(book, alice)).isFalse();
+            assertThat(service.returnBook("unknown")).isEmpty();
+
+            assertThat(Files.size(logFile())).isEqualTo(size);
+        }
+
+        try (DurableLibraryService restored = open()) {
+            long size = Files.size(logFile());
+            assertThat(restored.registerMember(alice)).isFalse();
+            assertThat(Files.size(logFile())).isEqualTo(size);
+        }
+    }
+
+    @Test
+    void tornFinalRecordLosesOnlyThatMutation() throws IOException {
+        try (DurableLibraryService service = open()) {
+            service.registerBook(Book.create("First", "Author", "1"));
+            service.registerBook(Book.create("Second", "Author", "2"));
+        }
+        try (FileChannel channel = FileChannel.open(logFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).extracting(Book::getIsbn).containsExactly("1");
+            restored.registerBook(Book.create("Third", "Author", "3"));
+        }
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).extracting(Book::getIsbn).containsExactly("1", "3");
+        }
+    }
+
+    @Test
+    void concurrentCheckoutsReplayToTheSameWinners() throws Exception {
+        int books = 200;
+        int threads = 4;
+        List<Member> members = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (DurableLibraryService service = open()) {
+            for (int i = 0; i < books; i++) {
+                service.registerBook(Book.create("Title " + i, "Author", "isbn-" + i));
+            }
+            for (int t = 0; t < threads; t++) {
+                Member member = Member.builder().id("M" + t).name("Member " + t).build();
+                members.add(member);
+                service.registerMember(member);
+            }
+            List<Future<?>> results = new ArrayList<>();
+            for (Member member : members) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < books; i++) {
+                        Book book = service.findByIsbn("isbn-" + i).orElseThrow();
+                        if (service.checkout(book, member) && i % 3 == 0) {
+                            service.returnBook(book.getIsbn());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            List<String> holders = holders(service, books);
+
+            try (DurableLibraryService restored = reopen(service)) {
+                assertThat(holders(restored, books)).isEqualTo(holders);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void restartReadsTheSnapshotAndOnlyTheLogAfterIt() throws IOException {
+        Book early = Book.create("Early", "Author", "1");
+        Book late = Book.create("Late", "Author", "2");
+        Member alice = Member.builder().id("M1").name("Alice").phone("555-0100").build();
+        try (DurableLibraryService service = open()) {
+            service.registerBook(early);
+            service.registerMember(alice);
+            service.checkout(early, alice);
+
+            Path snapshot = service.snapshot().join();
+            assertThat(snapshot.getFileName()).hasToString("snapshot-0000000001.snap");
+            assertThat(files()).containsExactly("snapshot-0000000001.snap", "wal-0000000001.log");
+
+            service.registerBook(late);
+            service.returnBook(early.getIsbn());
+            service.checkout(late, alice);
+        }
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).containsExactly(early, late);
+            assertThat(restored.listAllMembers()).extracting(Member::toString).containsExactly(alice.toString());
+            assertThat(restored.loanOf(early.getIsbn())).isEmpty();
+            assertThat(restored.loanOf(late.getIsbn()).orElseThrow().member().getBorrowedBooks()).containsExactly(late);
+
+            restored.snapshot().join();
+            assertThat(files()).containsExactly("snapshot-0000000002.snap", "wal-0000000002.log");
+        }
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).containsExactly(early, late);
+            assertThat(restored.activeLoans()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void snapshotsTakenWhileWritersRunRestoreExactly() throws Exception {
+        int threads = 4;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Book> books;
+        List<String> holders;
+        long watermark;
+        try (DurableLibraryService service = DurableLibraryService.builder()
+                .directory(tempDir)
+                .syncPolicy(WriteAheadLog.SyncPolicy.never())
+                .open()) {
+            Member member = Member.builder().id("M1").name("Alice").build();
+            service.registerMember(member);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        Book book = Book.create("Title " + i, "Author", thread + "-" + i);
+                        service.registerBook(book);
+                        service.checkout(book, member);
+                        if (i % 2 == 0) {
+                            service.returnBook(book.getIsbn());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            while (!results.stream().allMatch(Future::isDone)) {
+                service.snapshot().join();
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            books = List.copyOf(service.listAllBooks());
+            holders = holders(service, books);
+            watermark = service.loanChangesSince(0).through();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.listAllBooks()).containsExactlyElementsOf(books);
+            assertThat(holders(restored, books)).isEqualTo(holders);
+            assertThat(restored.loansOf("M1")).hasSize(threads * perThread / 2);
+            assertThat(restored.loanChangesSince(watermark).through()).isEqualTo(watermark);
+        }
+    }
+
+    @Test
+    void periodicSnapshotsReplaceOldLogFiles() throws Exception {
+        try (DurableLibraryService service = DurableLibraryService.builder()
+                .directory(tempDir)
+                .snapshotInterval(Duration.ofMillis(10))
+                .open()) {
+            service.registerBook(Book.create("Book", "Author", "1"));
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (files().contains("wal-0000000000.log") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(files()).doesNotContain("wal-0000000000.log").anyMatch(name -> name.startsWith("snapshot-"));
+        }
+        try (DurableLibraryService restored = open()) {
+            assertThat(restored.containsIsbn("1")).isTrue();
+        }
+    }
+
+    @Test
+    void damagedSnapshotFailsStartupInsteadOfLosingData() throws IOException {
+        try (DurableLibraryService service = open()) {
+            service.registerBook(Book.create("Book", "Author", "1"));
+            service.snapshot().join();
+        }
+        Path snapshot = tempDir.resolve("snapshot-0000000001.snap");
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertThatThrownBy(this::open).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void builderRequiresADirectory() {
+        assertThatThrownBy(() -> DurableLibraryService.builder().open()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> DurableLibraryService.builder().snapshotInterval(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNullsAndRefusesMutationsAfterClose() throws IOException {
+        DurableLibraryService service = open();
+        assertThatThrownBy(() -> service.registerBook(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.registerMember(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.registerAllBooks(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.checkout(null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.returnBook(null)).isInstanceOf(IllegalArgumentException.class);
+        service.close();
+
+        assertThatThrownBy(() -> service.registerBook(Book.create("Late", "Author", "1")))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private DurableLibraryService reopen(DurableLibraryService service) throws IOException {
+        service.close();
+        return open();
+    }
+
+    private static List<String> holders(DurableLibraryService service, int books) {
+        List<String> holders = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            holders.add(holder(service, "isbn-" + i));
+        }
+        return holders;
+    }
+
+    private static List<String> holders(DurableLibraryService service, List<Book> books) {
+        return books.stream().map(book -> holder(service, book.getIsbn())).toList();
+    }
+
+    private static String holder(DurableLibraryService service, String isbn) {
+        return service.loanOf(isbn).map(loan -> loan.member().getId() + "#" + loan.sequence()).orElse("-");
+    }
+}
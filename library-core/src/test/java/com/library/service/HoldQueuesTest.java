@@ -0,0 +1,165 @@
+package com.library.service;
+
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HoldQueuesTest {
+
+    private static final String ISBN = "978-0134685991";
+
+    private final Inventory inventory = new Inventory();
+    private final List<Hold> handedOff = new ArrayList<>();
+    private final HoldQueues holds = new HoldQueues(inventory, 3, handedOff::add);
+
+    private static Member member(String id) {
+        return Member.builder().id(id).name("Member " + id).build();
+    }
+
+    @Test
+    void returnedCopyGoesToOldestHold() {
+        inventory.addCopies(ISBN, 1);
+        assertThat(holds.tryCheckout(ISBN)).isTrue();
+        Hold first = holds.placeHold(ISBN, member("M1")).orElseThrow();
+        Hold second = holds.placeHold(ISBN, member("M2")).orElseThrow();
+
+        holds.returnCopy(ISBN);
+
+        assertThat(handedOff).containsExactly(first);
+        assertThat(first.isFulfilled()).isTrue();
+        assertThat(second.isWaiting()).isTrue();
+        assertThat(inventory.available(ISBN)).isZero(); // went to the holder, not the shelf
+        assertThat(holds.waiting(ISBN)).isEqualTo(1);
+
+        holds.returnCopy(ISBN);
+        assertThat(handedOff).containsExactly(first, second);
+        holds.returnCopy(ISBN);
+        assertThat(inventory.available(ISBN)).isEqualTo(1);
+    }
+
+    @Test
+    void holdOnShelvedTitleIsFulfilledAtOnce() {
+        inventory.addCopies(ISBN, 1);
+
+        Hold hold = holds.placeHold(ISBN, member("M1")).orElseThrow();
+
+        assertThat(hold.isFulfilled()).isTrue();
+        assertThat(handedOff).containsExactly(hold);
+        assertThat(inventory.available(ISBN)).isZero();
+    }
+
+    @Test
+    void walkInCheckoutDoesNotJumpTheQueue() {
+        inventory.addCopies(ISBN, 1);
+        holds.tryCheckout(ISBN);
+        holds.placeHold(ISBN, member("M1"));
+        inventory.addCopies(ISBN, 1); // new stock bypassing returnCopy
+
+        assertThat(holds.tryCheckout(ISBN)).isFalse();
+    }
+
+    @Test
+    void fullQueueRefusesHolds() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(holds.placeHold(ISBN, member("M" + i))).isPresent();
+        }
+
+        assertThat(holds.placeHold(ISBN, member("M3"))).isEmpty();
+        assertThat(holds.waiting(ISBN)).isEqualTo(3);
+        assertThat(holds.placeHold("other-isbn", member("M3"))).isPresent(); // titles are bounded separately
+    }
+
+    @Test
+    void cancelledHoldIsSkippedAndFreesItsPlace() {
+        inventory.addCopies(ISBN, 1);
+        holds.tryCheckout(ISBN);
+        Hold first = holds.placeHold(ISBN, member("M1")).orElseThrow();
+        Hold second = holds.placeHold(ISBN, member("M2")).orElseThrow();
+
+        assertThat(holds.cancel(first)).isTrue();
+        assertThat(holds.cancel(first)).isFalse();
+        assertThat(holds.waiting(ISBN)).isEqualTo(1);
+
+        holds.returnCopy(ISBN);
+        assertThat(handedOff).containsExactly(second);
+        assertThat(holds.cancel(second)).isFalse();
+        assertThat(first.isCancelled()).isTrue();
+    }
+
+    @Test
+    void aHoldFromAnotherQueueIsNotCancelled() {
+        inventory.addCopies(ISBN, 1);
+        holds.tryCheckout(ISBN);
+        Hold foreign = holds.placeHold(ISBN, member("M1")).orElseThrow();
+        HoldQueues other = new HoldQueues(new Inventory(), 3, hold -> { });
+
+        assertThat(other.cancel(foreign)).isFalse();
+        assertThat(foreign.isWaiting()).isTrue();
+        assertThat(holds.waiting(ISBN)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> new HoldQueues(inventory, 0, hold -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> holds.placeHold(null, member("M1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> holds.placeHold(ISBN, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> holds.cancel(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> holds.returnCopy(ISBN)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void racingHoldsAndReturnsNeverStrandACopy() throws Exception {
+        // Half the threads place holds while the other half return copies: every
+        // hold must be served, and no copy may end up on the shelf while one waits
+        int threads = 8;
+        int perThread = 500;
+        int copies = threads / 2 * perThread;
+        Inventory stock = new Inventory();
+        stock.addCopies(ISBN, copies);
+        for (int i = 0; i < copies; i++) {
+            stock.tryCheckout(ISBN);
+        }
+        ConcurrentLinkedQueue<Hold> served = new ConcurrentLinkedQueue<>();
+        HoldQueues queues = new HoldQueues(stock, Integer.MAX_VALUE, served::add);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean placer = t % 2 == 0;
+                String id = "M" + t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (placer) {
+                            queues.placeHold(ISBN, member(id));
+                        } else {
+                            queues.returnCopy(ISBN);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            assertThat(served).hasSize(copies).doesNotHaveDuplicates();
+            assertThat(queues.waiting(ISBN)).isZero();
+            assertThat(stock.available(ISBN)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -2,7 +2,21 @@ package com.library.service;
 
 import com.library.core.Book;
 import com.library.core.Member;
+import com.library.io.BinaryCodec;
+import com.library.io.CsvCatalogImporter;
+import com.library.io.ImportReport;
+import com.library.io.IncrementalReportExport;
+import com.library.io.JsonLoanReader;
+import com.library.io.LoanRecord;
+import com.library.io.ParallelGzipOutputStream;
+import com.library.io.ReportSink;
 import com.library.io.ReportWriter;
+import com.library.io.ShardedReportExport;
+import com.library.search.AuthorIndex;
+import com.library.search.BloomFilter;
+import com.library.search.InvertedIndex;
+import com.library.search.PrefixIndex;
+import com.library.search.TitleIndex;
 import com.library.util.ValidationUtil;
 import org.junit.jupiter.api.Test;
 
@@ -20,7 +34,46 @@ class InheritanceTest {
         Member.class,
         ValidationUtil.class,
         ReportWriter.class,
+        CsvCatalogImporter.class,
+        CsvCatalogImporter.Builder.class,
+        ImportReport.class,
+        ImportReport.MalformedLine.class,
+        JsonLoanReader.class,
+        BinaryCodec.class,
+        ShardedReportExport.class,
+        ReportSink.class,
+        ParallelGzipOutputStream.class,
+        ParallelGzipOutputStream.Builder.class,
+        IncrementalReportExport.class,
+        ShardedReportExport.Builder.class,
+        LoanRecord.class,
         DefaultLibraryService.class,
+        ConcurrentLibraryService.class,
+        AppendOnlyStore.class,
+        CatchUpIndex.class,
+        InvertedIndex.class,
+        PrefixIndex.class,
+        TitleIndex.class,
+        AuthorIndex.class,
+        BloomFilter.class,
+        IsbnFilter.class,
+        IsbnFilterStats.class,
+        BatchResult.class,
+        BookBatches.class,
+        Inventory.class,
+        Hold.class,
+        HoldQueues.class,
+        DueDateScheduler.class,
+        DueDateScheduler.Builder.class,
+        WriteAheadLog.class,
+        WriteAheadLog.SyncPolicy.class,
+        DurableLibraryService.class,
+        DurableLibraryService.Builder.class,
+        SnapshotFile.class,
+        BinaryRecords.class,
+        Loan.class,
+        LoanLedger.class,
+        LoanChanges.class,
         InstrumentedLibraryService.class
         // LibraryService is interface → excluded
     );
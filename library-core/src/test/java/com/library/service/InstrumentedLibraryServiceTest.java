@@ -3,6 +3,9 @@ package com.library.service;
 import com.library.core.Book;
 import com.library.core.Member;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 class InstrumentedLibraryServiceTest {
@@ -22,4 +25,15 @@ class InstrumentedLibraryServiceTest {
         assertThat(instrumented.getMemberRegistrationCount()).isEqualTo(1);
         assertThat(instrumented.listAllBooks()).containsExactly(book);
     }
-}
\ No newline at end of file
+
+    @Test
+    void registerAllBooksShouldCountEveryBookAndReturnTheDelegatesResult() {
+        InstrumentedLibraryService instrumented = new InstrumentedLibraryService(new DefaultLibraryService());
+        Book book = Book.create("Book", "Author", "123");
+
+        BatchResult result = instrumented.registerAllBooks(List.of(book, book, Book.create("Other", "Author", "456")));
+
+        assertThat(instrumented.getBookRegistrationCount()).isEqualTo(3);
+        assertThat(result).isEqualTo(new BatchResult(2, 1, 0));
+    }
+}
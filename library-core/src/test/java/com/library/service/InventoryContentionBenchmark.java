@@ -0,0 +1,75 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Up to 64 threads hammering one popular title: each loops tryCheckout and, when it
+ * gets a copy, returnCopy. Compares the CAS-based Inventory with the same counts
+ * behind one monitor, and checks after every run that nothing was oversold.
+ *
+ * Run with: mvn test -Dtest=InventoryContentionBenchmark
+ */
+class InventoryContentionBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+    private static final int OPERATIONS_PER_THREAD = 200_000;
+    private static final int COPIES = 16; // fewer copies than threads — sold out often
+    private static final String ISBN = "978-0134685991";
+
+    @Test
+    void singleTitleContention() throws InterruptedException {
+        // Warm up both paths before measuring
+        casRun(THREAD_COUNTS[THREAD_COUNTS.length - 1]);
+        lockedRun(THREAD_COUNTS[THREAD_COUNTS.length - 1]);
+
+        Benchmarks.report("%8s %18s %18s", "threads", "CAS ops/s", "monitor ops/s");
+        for (int threads : THREAD_COUNTS) {
+            Benchmarks.report("%8d %18.0f %18.0f", threads, casRun(threads), lockedRun(threads));
+        }
+    }
+
+    private static double casRun(int threads) throws InterruptedException {
+        Inventory inventory = new Inventory();
+        inventory.addCopies(ISBN, COPIES);
+        double opsPerSecond = Benchmarks.opsPerSecond(threads, t -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (inventory.tryCheckout(ISBN)) {
+                    inventory.returnCopy(ISBN);
+                }
+            }
+            return OPERATIONS_PER_THREAD;
+        });
+        if (inventory.available(ISBN) != COPIES) {
+            throw new AssertionError("Copies lost or oversold: " + inventory.available(ISBN));
+        }
+        return opsPerSecond;
+    }
+
+    // Baseline: the same counts guarded by one monitor
+    private static double lockedRun(int threads) throws InterruptedException {
+        int[] available = {COPIES};
+        Object lock = new Object();
+        double opsPerSecond = Benchmarks.opsPerSecond(threads, t -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                boolean taken;
+                synchronized (lock) {
+                    taken = available[0] > 0;
+                    if (taken) {
+                        available[0]--;
+                    }
+                }
+                if (taken) {
+                    synchronized (lock) {
+                        available[0]++;
+                    }
+                }
+            }
+            return OPERATIONS_PER_THREAD;
+        });
+        if (available[0] != COPIES) {
+            throw new AssertionError("Copies lost or oversold: " + available[0]);
+        }
+        return opsPerSecond;
+    }
+}
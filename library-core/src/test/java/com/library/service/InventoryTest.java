@@ -0,0 +1,116 @@
+package com.library.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InventoryTest {
+
+    private static final String ISBN = "978-0134685991";
+
+    @Test
+    void tracksTotalAndAvailableCopies() {
+        Inventory inventory = new Inventory();
+        inventory.addCopies(ISBN, 3);
+
+        assertThat(inventory.tryCheckout(ISBN)).isTrue();
+        assertThat(inventory.tryCheckout(ISBN)).isTrue();
+
+        assertThat(inventory.total(ISBN)).isEqualTo(3);
+        assertThat(inventory.available(ISBN)).isEqualTo(1);
+        assertThat(inventory.checkedOut(ISBN)).isEqualTo(2);
+
+        inventory.returnCopy(ISBN);
+        assertThat(inventory.available(ISBN)).isEqualTo(2);
+    }
+
+    @Test
+    void checkoutFailsWhenNoCopyIsAvailable() {
+        Inventory inventory = new Inventory();
+        assertThat(inventory.tryCheckout(ISBN)).isFalse();
+
+        inventory.addCopies(ISBN, 1);
+        assertThat(inventory.tryCheckout(ISBN)).isTrue();
+        assertThat(inventory.tryCheckout(ISBN)).isFalse();
+        assertThat(inventory.available(ISBN)).isZero();
+    }
+
+    @Test
+    void returnWithoutCheckoutIsRejected() {
+        Inventory inventory = new Inventory();
+        assertThatThrownBy(() -> inventory.returnCopy(ISBN)).isInstanceOf(IllegalStateException.class);
+
+        inventory.addCopies(ISBN, 2);
+        assertThatThrownBy(() -> inventory.returnCopy(ISBN)).isInstanceOf(IllegalStateException.class);
+        assertThat(inventory.available(ISBN)).isEqualTo(2);
+    }
+
+    @Test
+    void withdrawTakesOnlyShelvedCopies() {
+        Inventory inventory = new Inventory();
+        inventory.addCopies(ISBN, 3);
+        inventory.tryCheckout(ISBN);
+        inventory.tryCheckout(ISBN);
+
+        assertThat(inventory.withdrawCopies(ISBN, 2)).isFalse();
+        assertThat(inventory.withdrawCopies(ISBN, 1)).isTrue();
+
+        assertThat(inventory.total(ISBN)).isEqualTo(2);
+        assertThat(inventory.available(ISBN)).isZero();
+        assertThat(inventory.withdrawCopies("unknown", 1)).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        Inventory inventory = new Inventory();
+
+        assertThatThrownBy(() -> inventory.addCopies(ISBN, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> inventory.withdrawCopies(ISBN, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> inventory.tryCheckout(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> inventory.addCopies(null, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void contendedCheckoutsNeverOversell() throws Exception {
+        // Item 81: many threads race for the copies of one title — exactly 'copies' may win
+        Inventory inventory = new Inventory();
+        int copies = 1_000;
+        int threads = 8;
+        inventory.addCopies(ISBN, copies);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < copies; i++) {
+                        if (inventory.tryCheckout(ISBN)) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get();
+            }
+
+            assertThat(taken).isEqualTo(copies);
+            assertThat(inventory.available(ISBN)).isZero();
+            assertThat(inventory.checkedOut(ISBN)).isEqualTo(copies);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Import-style existence checks where almost every ISBN is new: mightContainIsbn
+ * (the Bloom filter) against containsIsbn (the ISBN hash map), with the filter's
+ * estimated and observed false-positive rates as the catalog grows.
+ *
+ * Run with: mvn test -Dtest=IsbnFilterBenchmark
+ */
+class IsbnFilterBenchmark {
+
+    private static final int[] CATALOG_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int LOOKUPS = 100_000;
+
+    @Test
+    void missLatencyAndObservedFalsePositiveRate() {
+        Benchmarks.report("%10s %14s %16s %8s %10s %10s %10s",
+            "books", "filter ns", "containsIsbn ns", "slices", "fill", "estimated", "observed");
+        for (int size : CATALOG_SIZES) {
+            LibraryService library = new DefaultLibraryService(0.01);
+            for (int i = 0; i < size; i++) {
+                library.registerBook(Book.create("Title " + i, "Author " + (i % 1_000), String.format("978-%09d", i)));
+            }
+            // Random unknown ISBNs, so neither structure benefits from sequential keys
+            Random random = new Random(42);
+            String[] unknown = new String[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                unknown[i] = String.format("979-%09d", random.nextInt(1_000_000_000));
+            }
+
+            double filterNs = Benchmarks.nanosPerOp(LOOKUPS, () -> {
+                long maybe = 0;
+                for (String isbn : unknown) {
+                    if (library.mightContainIsbn(isbn)) {
+                        maybe++;
+                    }
+                }
+                return maybe;
+            });
+            double containsNs = Benchmarks.nanosPerOp(LOOKUPS, () -> {
+                long found = 0;
+                for (String isbn : unknown) {
+                    if (library.containsIsbn(isbn)) {
+                        found++;
+                    }
+                }
+                return found;
+            });
+            IsbnFilterStats stats = library.isbnFilterStats();
+            Benchmarks.report("%10d %14.1f %16.1f %8d %10.3f %10.4f %10.4f",
+                size, filterNs, containsNs, stats.sliceCount(), stats.fillRatio(),
+                stats.estimatedFalsePositiveRate(), stats.observedFalsePositiveRate());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Shows that findByIsbn latency stays flat as the catalog grows, while the
+ * previous approach — scanning listAllBooks() — grows linearly.
+ *
+ * Run with: mvn test -Dtest=IsbnLookupBenchmark
+ */
+class IsbnLookupBenchmark {
+
+    private static final int[] CATALOG_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int LOOKUPS = 100_000;
+    private static final int SCAN_LOOKUPS = 20;
+
+    @Test
+    void lookupLatencyByCatalogSize() {
+        Benchmarks.report("%12s %18s %18s", "books", "findByIsbn ns/op", "scan ns/op");
+        for (int size : CATALOG_SIZES) {
+            LibraryService library = new DefaultLibraryService();
+            String[] isbns = new String[size];
+            for (int i = 0; i < size; i++) {
+                isbns[i] = String.format("978-%09d", i);
+                library.registerBook(Book.create("Title " + i, "Author " + (i % 1_000), isbns[i]));
+            }
+
+            double indexed = Benchmarks.nanosPerOp(LOOKUPS, () -> {
+                long found = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    if (library.findByIsbn(isbns[(i * 7919) % size]).isPresent()) {
+                        found++;
+                    }
+                }
+                return found;
+            });
+
+            double scanned = Benchmarks.nanosPerOp(SCAN_LOOKUPS, () -> {
+                long found = 0;
+                for (int i = 0; i < SCAN_LOOKUPS; i++) {
+                    String isbn = isbns[(i * 7919) % size];
+                    found += library.listAllBooks().stream()
+                        .filter(book -> book.getIsbn().equals(isbn))
+                        .count();
+                }
+                return found;
+            });
+
+            Benchmarks.report("%12d %18.1f %18.1f", size, indexed, scanned);
+        }
+    }
+}
@@ -2,7 +2,15 @@ package com.library.service;
 
 import com.library.core.Book;
 import com.library.core.Member;
+import com.library.search.SearchOperator;
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import static org.assertj.core.api.Assertions.*;
 
 class LibraryServiceTest {
@@ -41,4 +49,245 @@ class LibraryServiceTest {
         assertThat(library.listAllBooks()).isEmpty();
         assertThat(library.listAllMembers()).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindBookByIsbn() {
+        LibraryService library = new DefaultLibraryService();
+        Book book = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+
+        library.registerBook(book);
+
+        assertThat(library.findByIsbn("978-0134685991")).containsSame(book);
+        assertThat(library.containsIsbn("978-0134685991")).isTrue();
+        assertThat(library.findByIsbn("000")).isEmpty();
+        assertThat(library.containsIsbn("000")).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreDuplicateIsbnRegistration() {
+        // Item 11: Books with the same ISBN are equal — the first registration wins
+        LibraryService library = new DefaultLibraryService();
+        Book original = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+        Book duplicate = Book.create("Effective Java 3e", "J. Bloch", "978-0134685991");
+
+        assertThat(library.registerBook(original)).isTrue();
+        assertThat(library.registerBook(duplicate)).isFalse();
+
+        assertThat(library.listAllBooks()).containsExactly(original);
+        assertThat(library.findByIsbn("978-0134685991")).containsSame(original);
+    }
+
+    @Test
+    void shouldRejectNullIsbnLookup() {
+        LibraryService library = new DefaultLibraryService();
+
+        assertThatThrownBy(() -> library.findByIsbn(null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("ISBN cannot be null");
+    }
+
+    @Test
+    void shouldIgnoreDuplicateMemberId() {
+        LibraryService library = new DefaultLibraryService();
+        Member alice = Member.builder().id("M001").name("Alice").build();
+        Member impostor = Member.builder().id("M001").name("Mallory").build();
+
+        assertThat(library.registerMember(alice)).isTrue();
+        assertThat(library.registerMember(impostor)).isFalse();
+
+        assertThat(library.listAllMembers()).containsExactly(alice);
+    }
+
+    @Test
+    void repeatedListingsWithoutWritesShouldReturnSameSnapshot() {
+        LibraryService library = new DefaultLibraryService();
+        library.registerBook(Book.create("Book A", "Author A", "111"));
+
+        Snapshot<Book> first = library.listAllBooks();
+        assertThat(library.listAllBooks()).isSameAs(first);
+
+        library.registerBook(Book.create("Book A", "Author A", "111")); // duplicate — no change
+        assertThat(library.listAllBooks()).isSameAs(first);
+
+        library.registerBook(Book.create("Book B", "Author B", "222"));
+        Snapshot<Book> second = library.listAllBooks();
+
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(first).hasSize(1); // earlier snapshot is unaffected
+        assertThat(second).hasSize(2);
+    }
+
+    @Test
+    void shouldPageThroughCatalogInRegistrationOrder() {
+        LibraryService library = new DefaultLibraryService();
+        List<Book> books = IntStream.range(0, 25)
+            .mapToObj(i -> Book.create("Title " + i, "Author", "ISBN-" + i))
+            .collect(Collectors.toList());
+        books.forEach(library::registerBook);
+
+        assertThat(library.listBooks(0, 10)).containsExactlyElementsOf(books.subList(0, 10));
+        assertThat(library.listBooks(20, 10)).containsExactlyElementsOf(books.subList(20, 25));
+        assertThat(library.listBooks(30, 10)).isEmpty();
+        assertThat(library.listBooks(5, 0)).isEmpty();
+        assertThatThrownBy(() -> library.listBooks(-1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldStreamBooksAndMembers() {
+        LibraryService library = new DefaultLibraryService();
+        library.registerBook(Book.create("Book A", "Author A", "111"));
+        library.registerBook(Book.create("Book B", "Author B", "222"));
+        library.registerMember(Member.builder().id("M001").name("Alice").build());
+
+        assertThat(library.streamBooks().map(Book::getIsbn)).containsExactly("111", "222");
+        assertThat(library.streamMembers().map(Member::getName)).containsExactly("Alice");
+    }
+
+    @Test
+    void searchShouldSeeBooksAsSoonAsTheyAreRegistered() {
+        LibraryService library = new DefaultLibraryService();
+        Book effectiveJava = Book.create("Effective Java", "Joshua Bloch", "111");
+        library.registerBook(effectiveJava);
+
+        assertThat(library.search("java", SearchOperator.AND, 10)).containsExactly(effectiveJava);
+
+        Book puzzlers = Book.create("Java Puzzlers", "Joshua Bloch", "222");
+        library.registerBook(puzzlers);
+
+        assertThat(library.search("bloch puzzlers", SearchOperator.AND, 10)).containsExactly(puzzlers);
+        assertThat(library.search("java", SearchOperator.OR, 10)).containsExactlyInAnyOrder(effectiveJava, puzzlers);
+    }
+
+    @Test
+    void autocompleteShouldSeeNewRegistrations() {
+        LibraryService library = new DefaultLibraryService();
+        library.registerBook(Book.create("Effective Java", "Joshua Bloch", "111"));
+
+        assertThat(library.autocomplete("effective", 5)).containsExactly("Effective Java");
+
+        library.registerBook(Book.create("Effective C++", "Scott Meyers", "222"));
+
+        assertThat(library.autocomplete("effective", 5)).containsExactly("Effective C++", "Effective Java");
+    }
+
+    @Test
+    void titleBrowsingShouldFollowTitleThenAuthorOrder() {
+        LibraryService library = new DefaultLibraryService();
+        Book refactoring = Book.create("Refactoring", "Martin Fowler", "1");
+        Book javaByBloch = Book.create("Effective Java", "Joshua Bloch", "2");
+        Book cleanCode = Book.create("Clean Code", "Robert Martin", "3");
+        Book javaByOther = Book.create("Effective Java", "Another Author", "4");
+        library.registerAllBooks(List.of(refactoring, javaByBloch, cleanCode, javaByOther));
+
+        assertThat(library.firstN(3)).containsExactly(cleanCode, javaByOther, javaByBloch);
+        assertThat(library.booksBetween("D", "R")).containsExactly(javaByOther, javaByBloch);
+        assertThat(library.booksFrom("Effective Java")).containsExactly(javaByOther, javaByBloch, refactoring);
+    }
+
+    @Test
+    void findByAuthorShouldReturnThatAuthorsBooksInRegistrationOrder() {
+        LibraryService library = new DefaultLibraryService();
+        Book effectiveJava = Book.create("Effective Java", "Joshua Bloch", "1");
+        Book concurrency = Book.create("Java Concurrency in Practice", "Brian Goetz", "2");
+        Book puzzlers = Book.create("Java Puzzlers", "Joshua Bloch", "3");
+        library.registerAllBooks(List.of(effectiveJava, concurrency, puzzlers));
+
+        assertThat(library.findByAuthor("Joshua Bloch")).containsExactly(effectiveJava, puzzlers);
+        assertThat(library.findByAuthor("Nobody")).isEmpty();
+        assertThatThrownBy(() -> library.findByAuthor(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void booksBySameAuthorShouldShareOneAuthorString() {
+        LibraryService library = new DefaultLibraryService();
+        library.registerBook(Book.create("Effective Java", new String("Joshua Bloch"), "1"));
+        library.registerBook(Book.create("Java Puzzlers", new String("Joshua Bloch"), "2"));
+
+        List<Book> books = library.listAllBooks();
+        assertThat(books.get(1).getAuthor()).isSameAs(books.get(0).getAuthor());
+        assertThat(library.findByIsbn("2")).contains(books.get(1));
+    }
+
+    @Test
+    void duplicateIsbnsShouldNotInternTheirAuthors() {
+        for (LibraryService library : List.of(new DefaultLibraryService(), new ConcurrentLibraryService())) {
+            library.registerBook(Book.create("Effective Java", "Joshua Bloch", "1"));
+            assertThat(library.registerBook(Book.create("Copy", new String("Ghost"), "1"))).isFalse();
+            library.registerAllBooks(List.of(Book.create("Copy", new String("Ghost"), "1"),
+                Book.create("Puzzlers", new String("Neal Gafter"), "2"),
+                Book.create("Copy", new String("Ghost"), "2")));
+            String ghost = new String("Ghost");
+            library.registerBook(Book.create("Ghost Stories", ghost, "3"));
+
+            // No losing copy made its author canonical, so the first book by Ghost did
+            assertThat(library.findByIsbn("3").orElseThrow().getAuthor()).isSameAs(ghost);
+            assertThat(library.findByIsbn("2").orElseThrow().getAuthor()).isEqualTo("Neal Gafter");
+        }
+    }
+
+    @Test
+    void isbnFilterShouldRuleOutUnknownIsbnsAndNeverMissKnownOnes() {
+        LibraryService library = new DefaultLibraryService(0.01);
+        for (int i = 0; i < 10_000; i++) {
+            library.registerBook(Book.create("Title " + i, "Author", "978-" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(library.mightContainIsbn("978-" + i)).isTrue();
+        }
+        IsbnFilterStats known = library.isbnFilterStats();
+        assertThat(known.definiteMisses() + known.falsePositives()).isZero();
+
+        for (int i = 0; i < 10_000; i++) {
+            library.mightContainIsbn("979-" + i);
+        }
+
+        IsbnFilterStats stats = library.isbnFilterStats();
+        assertThat(stats.targetFalsePositiveRate()).isEqualTo(0.01);
+        assertThat(stats.definiteMisses() + stats.falsePositives()).isEqualTo(10_000);
+        assertThat(stats.observedFalsePositiveRate()).isLessThan(0.02);
+        assertThat(stats.fillRatio()).isStrictlyBetween(0.0, 1.0);
+    }
+
+    @Test
+    void registerAllBooksShouldReportAcceptedDuplicateAndRejectedBooks() {
+        LibraryService library = new DefaultLibraryService();
+        Book effectiveJava = Book.create("Effective Java", "Joshua Bloch", "1");
+        library.registerBook(effectiveJava);
+        Book puzzlers = Book.create("Java Puzzlers", "Joshua Bloch", "2");
+        Book concurrency = Book.create("Java Concurrency in Practice", "Brian Goetz", "3");
+
+        BatchResult result = library.registerAllBooks(Arrays.asList(
+            puzzlers, null, Book.create("Copy", "Someone", "1"), concurrency, Book.create("Copy", "Someone", "2")));
+
+        assertThat(result).isEqualTo(new BatchResult(2, 2, 1));
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(library.listAllBooks()).containsExactly(effectiveJava, puzzlers, concurrency);
+        assertThat(library.findByIsbn("2").map(Book::getTitle)).contains("Java Puzzlers");
+        assertThat(library.search("goetz", SearchOperator.AND, 10)).containsExactly(concurrency);
+        assertThat(library.firstN(10)).containsExactly(effectiveJava, concurrency, puzzlers);
+    }
+
+    @Test
+    void largeBatchShouldMatchRegisteringOneByOne() {
+        int size = BookBatches.PARALLEL_THRESHOLD * 3;
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            books.add(i % 100 == 0 ? null : Book.create("Title " + i, "Author " + (i % 50), "ISBN-" + (i % (size - 10))));
+        }
+        LibraryService batched = new DefaultLibraryService();
+        LibraryService oneByOne = new DefaultLibraryService();
+
+        BatchResult result = batched.registerAllBooks(books);
+        books.stream().filter(Objects::nonNull).forEach(oneByOne::registerBook);
+
+        assertThat(batched.listAllBooks()).containsExactlyElementsOf(oneByOne.listAllBooks());
+        assertThat(result.accepted()).isEqualTo(oneByOne.listAllBooks().size());
+        assertThat(result.rejected()).isEqualTo((size + 99) / 100);
+        assertThat(result.total()).isEqualTo(size);
+        assertThat(batched.findByAuthor("Author 7")).containsExactlyElementsOf(oneByOne.findByAuthor("Author 7"));
+        for (Book book : batched.listAllBooks()) {
+            assertThat(batched.mightContainIsbn(book.getIsbn())).isTrue();
+        }
+    }
+}
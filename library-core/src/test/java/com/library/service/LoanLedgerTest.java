@@ -0,0 +1,270 @@
+package com.library.service;
+
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoanLedgerTest {
+
+    private static final int THREADS = 8;
+
+    private final Book effectiveJava = Book.create("Effective Java", "Joshua Bloch", "978-0134685991");
+    private final Book cleanCode = Book.create("Clean Code", "Robert Martin", "978-0132350884");
+    private final Member alice = Member.builder().id("M1").name("Alice").build();
+    private final Member bob = Member.builder().id("M2").name("Bob").build();
+
+    @Test
+    void checkoutRecordsLoanBothWaysAndOnMember() {
+        LoanLedger ledger = new LoanLedger();
+
+        assertThat(ledger.checkout(effectiveJava, alice)).isTrue();
+        assertThat(ledger.checkout(cleanCode, alice)).isTrue();
+
+        assertThat(ledger.currentHolder("978-0134685991")).containsSame(alice);
+        assertThat(ledger.loansOf("M1")).extracting(Loan::book).containsExactlyInAnyOrder(effectiveJava, cleanCode);
+        assertThat(alice.getBorrowedBooks()).containsExactly(effectiveJava, cleanCode);
+        assertThat(ledger.activeLoans()).isEqualTo(2);
+    }
+
+    @Test
+    void bookOnLoanCannotBeCheckedOutAgain() {
+        LoanLedger ledger = new LoanLedger();
+        ledger.checkout(effectiveJava, alice);
+
+        assertThat(ledger.checkout(effectiveJava, bob)).isFalse();
+
+        assertThat(ledger.currentHolder("978-0134685991")).containsSame(alice);
+        assertThat(ledger.loansOf("M2")).isEmpty();
+        assertThat(bob.getBorrowedBooks()).isEmpty();
+    }
+
+    @Test
+    void returnEndsLoanEverywhere() {
+        LoanLedger ledger = new LoanLedger();
+        ledger.checkout(effectiveJava, alice);
+        ledger.checkout(cleanCode, alice);
+
+        Loan ended = ledger.returnBook("978-0134685991").orElseThrow();
+
+        assertThat(ended.book()).isSameAs(effectiveJava);
+        assertThat(ended.member()).isSameAs(alice);
+        assertThat(ledger.currentHolder("978-0134685991")).isEmpty();
+        assertThat(ledger.loansOf("M1")).extracting(Loan::book).containsExactly(cleanCode);
+        assertThat(alice.getBorrowedBooks()).containsExactly(cleanCode);
+        assertThat(ledger.returnBook("978-0134685991")).isEmpty();
+        assertThat(ledger.checkout(effectiveJava, bob)).isTrue();
+    }
+
+    @Test
+    void loansOfIsUnmodifiableLiveView() {
+        LoanLedger ledger = new LoanLedger();
+        assertThat(ledger.loansOf("M1")).isEmpty();
+        ledger.checkout(effectiveJava, alice);
+
+        Set<Loan> loans = ledger.loansOf("M1");
+        ledger.checkout(cleanCode, alice);
+
+        assertThat(loans).hasSize(2);
+        assertThatThrownBy(loans::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void rejectsNullArguments() {
+        LoanLedger ledger = new LoanLedger();
+
+        assertThatThrownBy(() -> ledger.checkout(null, alice)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.checkout(effectiveJava, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.returnBook(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.currentHolder(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.loansOf(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void racingCheckoutsOfOneBookHaveExactlyOneWinner() throws Exception {
+        LoanLedger ledger = new LoanLedger();
+        List<Member> members = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            members.add(Member.builder().id("M" + t).name("Member " + t).build());
+        }
+        List<Boolean> wins = runConcurrently(t -> () -> ledger.checkout(effectiveJava, members.get(t)));
+
+        assertThat(wins).containsOnlyOnce(true);
+        Member holder = ledger.currentHolder("978-0134685991").orElseThrow();
+        for (Member member : members) {
+            assertThat(member.getBorrowedBooks()).hasSize(member == holder ? 1 : 0);
+        }
+    }
+
+    @Test
+    void concurrentCheckoutsAndReturnsKeepMemberConsistent() throws Exception {
+        // Every thread checks out and returns its own books for the same member —
+        // the member's borrowed books must end up exactly matching the ledger
+        LoanLedger ledger = new LoanLedger();
+        int booksPerThread = 500;
+        runConcurrently(t -> () -> {
+            for (int i = 0; i < booksPerThread; i++) {
+                Book book = Book.create("Title " + i, "Author", "ISBN-" + t + "-" + i);
+                ledger.checkout(book, alice);
+                if (i % 2 == 0) {
+                    ledger.returnBook(book.getIsbn());
+                }
+            }
+            return true;
+        });
+
+        assertThat(ledger.activeLoans()).isEqualTo(THREADS * booksPerThread / 2);
+        assertThat(alice.getBorrowedBooks())
+            .containsExactlyInAnyOrderElementsOf(ledger.loansOf("M1").stream().map(Loan::book).toList());
+    }
+
+    @Test
+    void everyCheckoutAndReturnTakesTheNextSequenceNumber() {
+        LoanLedger ledger = new LoanLedger();
+        assertThat(ledger.sequence()).isZero();
+
+        ledger.checkout(effectiveJava, alice);
+        ledger.checkout(effectiveJava, bob); // no-op: takes no number
+        ledger.returnBook("978-0134685991");
+        ledger.returnBook("978-0134685991"); // no-op
+        ledger.checkout(effectiveJava, bob);
+
+        assertThat(ledger.sequence()).isEqualTo(3);
+        assertThat(ledger.loanOf("978-0134685991")).get().extracting(Loan::sequence).isEqualTo(3L);
+    }
+
+    @Test
+    void changesSinceWatermarkAreTheNetDelta() {
+        LoanLedger ledger = new LoanLedger();
+        Book refactoring = Book.create("Refactoring", "Martin Fowler", "978-0134757599");
+        ledger.checkout(effectiveJava, alice);
+        ledger.checkout(cleanCode, alice);
+        LoanChanges full = ledger.changesSince(0);
+        assertThat(full.opened()).extracting(Loan::book).containsExactly(effectiveJava, cleanCode);
+        assertThat(full.closed()).isEmpty();
+        assertThat(full.through()).isEqualTo(2);
+
+        Loan aliceCleanCode = ledger.loanOf("978-0132350884").orElseThrow();
+        ledger.returnBook("978-0132350884");       // closes a loan from before the watermark
+        ledger.checkout(cleanCode, bob);           // reopens the same book: a new loan
+        ledger.checkout(refactoring, bob);         // starts and ends inside the window
+        ledger.returnBook("978-0134757599");
+        LoanChanges delta = ledger.changesSince(full.through());
+
+        assertThat(delta.since()).isEqualTo(2);
+        assertThat(delta.through()).isEqualTo(6);
+        assertThat(delta.closed()).containsExactly(aliceCleanCode);
+        assertThat(delta.opened()).extracting(Loan::member).containsExactly(bob);
+        assertThat(delta.opened()).extracting(Loan::book).containsExactly(cleanCode);
+        assertThat(ledger.changesSince(delta.through()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void discardedChangesCannotBeAskedFor() {
+        LoanLedger ledger = new LoanLedger();
+        ledger.checkout(effectiveJava, alice);
+        ledger.checkout(cleanCode, alice);
+        ledger.returnBook(effectiveJava.getIsbn());
+        ledger.discardChangesThrough(2);
+
+        assertThat(ledger.changesSince(2).closed()).extracting(Loan::book).containsExactly(effectiveJava);
+        assertThatThrownBy(() -> ledger.changesSince(1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ledger.changesSince(4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.discardChangesThrough(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void watermarkZeroIsAFullReportEvenAfterADiscard() {
+        LoanLedger ledger = new LoanLedger();
+        ledger.checkout(effectiveJava, alice);
+        ledger.checkout(cleanCode, bob);
+        ledger.discardChangesThrough(2);
+        ledger.returnBook(effectiveJava.getIsbn());
+        ledger.checkout(effectiveJava, bob);
+
+        LoanChanges full = ledger.changesSince(0);
+        assertThat(full.through()).isEqualTo(4);
+        assertThat(full.closed()).isEmpty();
+        assertThat(full.opened()).extracting(Loan::sequence).containsExactly(2L, 4L);
+        assertThat(ledger.changesSince(full.through()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void deltasTakenDuringConcurrentChurnAddUpToTheFinalLoans() throws Exception {
+        LoanLedger ledger = new LoanLedger();
+        int booksPerThread = 2_000;
+        // Applying each delta to the state the previous ones built must never miss a change
+        Map<String, Loan> applied = new HashMap<>();
+        long[] watermark = new long[1];
+        Runnable applyDelta = () -> {
+            LoanChanges changes = ledger.changesSince(watermark[0]);
+            changes.closed().forEach(loan -> assertThat(applied.remove(loan.book().getIsbn(), loan)).isTrue());
+            changes.opened().forEach(loan -> assertThat(applied.put(loan.book().getIsbn(), loan)).isNull());
+            watermark[0] = changes.through();
+        };
+        AtomicReference<AssertionError> failure = new AtomicReference<>();
+        Thread reporter = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    applyDelta.run();
+                }
+            } catch (AssertionError e) {
+                failure.set(e);
+            }
+        });
+        reporter.start();
+        runConcurrently(t -> () -> {
+            for (int i = 0; i < booksPerThread; i++) {
+                Book book = Book.create("Title " + i, "Author", "ISBN-" + (t * booksPerThread + i) % 3_000);
+                ledger.checkout(book, t % 2 == 0 ? alice : bob);
+                if (i % 3 != 0) {
+                    ledger.returnBook(book.getIsbn());
+                }
+            }
+            return true;
+        });
+        reporter.interrupt();
+        reporter.join();
+        assertThat(failure.get()).isNull();
+        applyDelta.run();
+
+        assertThat(applied.values()).containsExactlyInAnyOrderElementsOf(ledger.streamLoans().toList());
+    }
+
+    private static List<Boolean> runConcurrently(IntFunction<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Callable<Boolean> task = tasks.apply(t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
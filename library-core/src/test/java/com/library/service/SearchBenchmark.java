@@ -0,0 +1,74 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.search.SearchOperator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Query latency of the inverted index at increasing catalog sizes, against the
+ * String.contains scan callers used before.
+ *
+ * Titles draw words from a skewed vocabulary so common words have long posting
+ * lists and rare words short ones, as in a real catalog.
+ *
+ * Run with: mvn test -Dtest=SearchBenchmark
+ */
+class SearchBenchmark {
+
+    private static final int[] CATALOG_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 10_000;
+    private static final int SCAN_QUERIES = 5;
+
+    @Test
+    void searchLatencyByCatalogSize() {
+        Benchmarks.report("%10s %14s %14s %14s %14s", "books", "AND-rare ns", "AND-common ns", "OR ns", "scan ns");
+        for (int size : CATALOG_SIZES) {
+            LibraryService library = new DefaultLibraryService();
+            Random random = new Random(42);
+            for (int i = 0; i < size; i++) {
+                String title = word(random) + " " + word(random) + " " + word(random);
+                library.registerBook(Book.create(title, "Author " + random.nextInt(size / 10 + 1), "ISBN-" + i));
+            }
+
+            String[] rare = new String[QUERIES];
+            String[] common = new String[QUERIES];
+            for (int q = 0; q < QUERIES; q++) {
+                rare[q] = "w" + (1_000 + random.nextInt(VOCABULARY - 1_000)) + " w" + random.nextInt(50);
+                common[q] = "w" + random.nextInt(20) + " w" + random.nextInt(20);
+            }
+
+            double andRare = Benchmarks.nanosPerOp(QUERIES, () -> run(library, rare, SearchOperator.AND));
+            double andCommon = Benchmarks.nanosPerOp(QUERIES, () -> run(library, common, SearchOperator.AND));
+            double or = Benchmarks.nanosPerOp(QUERIES, () -> run(library, rare, SearchOperator.OR));
+            double scan = Benchmarks.nanosPerOp(SCAN_QUERIES, () -> {
+                long hits = 0;
+                for (int q = 0; q < SCAN_QUERIES; q++) {
+                    String term = rare[q].substring(0, rare[q].indexOf(' '));
+                    hits += library.listAllBooks().stream()
+                        .filter(book -> book.getTitle().contains(term) || book.getAuthor().contains(term))
+                        .limit(10)
+                        .count();
+                }
+                return hits;
+            });
+            Benchmarks.report("%10d %14.0f %14.0f %14.0f %14.0f", size, andRare, andCommon, or, scan);
+        }
+    }
+
+    private static long run(LibraryService library, String[] queries, SearchOperator operator) {
+        long hits = 0;
+        for (String query : queries) {
+            hits += library.search(query, operator, 10).size();
+        }
+        return hits;
+    }
+
+    // Roughly Zipfian: word k is picked with probability proportional to 1/k
+    private static String word(Random random) {
+        return "w" + (int) Math.floor(Math.pow(VOCABULARY, random.nextDouble()) - 1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import com.library.core.Book;
+import com.library.core.Member;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Startup time of a {@link DurableLibraryService} restored from its full log versus
+ * from a snapshot plus an empty log tail. The catalog has one member per ten books
+ * and one open loan per twenty, after a history of checkouts and returns that the
+ * log keeps and the snapshot does not. Also times decoding the mapped snapshot
+ * alone, to separate file reading from rebuilding the in-memory indexes.
+ *
+ * Run with: mvn test -Dtest=SnapshotStartupBenchmark
+ * (-Dbenchmark.books=N and -Dbenchmark.loanEvents=N for other sizes; ten million
+ * books need a heap of several gigabytes)
+ */
+class SnapshotStartupBenchmark {
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int LOAN_EVENTS = Integer.getInteger("benchmark.loanEvents", 4_000_000);
+    private static final int BATCH = 10_000;
+
+    @Test
+    void startupFromLogVersusSnapshot() throws IOException {
+        Path dir = Files.createTempDirectory("snapshot-benchmark");
+        try {
+            long start = System.nanoTime();
+            try (DurableLibraryService service = open(dir)) {
+                populate(service);
+            }
+            Benchmarks.report("populate: %d books and %d loan events in %.1f s, log %.0f MB",
+                BOOKS, LOAN_EVENTS, (System.nanoTime() - start) / 1e9, directoryBytes(dir) / 1e6);
+
+            for (int round = 1; round <= 2; round++) { // the second round runs on a warm JVM, as the snapshot startup does
+                start = System.nanoTime();
+                try (DurableLibraryService service = open(dir)) {
+                    Benchmarks.report("startup replaying the full log, round %d: %.2f s (%d books, %d loans)", round,
+                        (System.nanoTime() - start) / 1e9, service.listAllBooks().size(), service.activeLoans());
+                }
+            }
+            try (DurableLibraryService service = open(dir)) {
+                start = System.nanoTime();
+                service.snapshot().join();
+                Benchmarks.report("snapshot written in the background: %.2f s, %.0f MB",
+                    (System.nanoTime() - start) / 1e9, directoryBytes(dir) / 1e6);
+            }
+
+            Path snapshot = dir.resolve("snapshot-0000000001.snap");
+            for (int round = 1; round <= 2; round++) {
+                long[] decoded = new long[1];
+                start = System.nanoTime();
+                SnapshotFile.read(snapshot, new SnapshotFile.Contents() {
+                    @Override
+                    public void sequence(long sequence, long discardedThrough) {
+                    }
+
+                    @Override
+                    public void books(List<Book> books) {
+                        decoded[0] += books.size();
+                    }
+
+                    @Override
+                    public void member(Member member) {
+                        decoded[0]++;
+                    }
+
+                    @Override
+                    public void loan(String isbn, String memberId, long number) {
+                        decoded[0]++;
+                    }
+
+                    @Override
+                    public void change(String isbn, String memberId, long loanNumber, long number) {
+                        decoded[0]++;
+                    }
+                });
+                Benchmarks.report("decode mapped snapshot only, round %d: %.2f s (%d entries)", round,
+                    (System.nanoTime() - start) / 1e9, decoded[0]);
+            }
+
+            for (int round = 1; round <= 2; round++) {
+                start = System.nanoTime();
+                try (DurableLibraryService service = open(dir)) {
+                    Benchmarks.report("startup from snapshot + log tail, round %d: %.2f s (%d books, %d loans)", round,
+                        (System.nanoTime() - start) / 1e9, service.listAllBooks().size(), service.activeLoans());
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static DurableLibraryService open(Path dir) throws IOException {
+        return DurableLibraryService.builder().directory(dir).syncPolicy(WriteAheadLog.SyncPolicy.never()).open();
+    }
+
+    private static void populate(DurableLibraryService service) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < BOOKS / 10; i++) {
+            Member member = Member.builder().id("M" + i).name("Member " + i).email("member" + i + "@example.org").build();
+            members.add(member);
+            service.registerMember(member);
+        }
+        List<Book> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BOOKS; i++) {
+            batch.add(Book.create("Title " + i, "Author " + (i % 50_000), String.format("978-%010d", i)));
+            if (batch.size() == BATCH) {
+                service.registerAllBooks(batch);
+                batch.clear();
+            }
+        }
+        service.registerAllBooks(batch);
+        Book[] books = service.listAllBooks().toArray(new Book[0]);
+        for (int i = 0; i < LOAN_EVENTS / 2; i++) { // circulation history: lent and returned
+            Book book = books[(int) ((i * 7_919L) % books.length)];
+            if (service.checkout(book, members.get(i % members.size()))) {
+                service.returnBook(book.getIsbn());
+            }
+        }
+        for (int i = 0; i < BOOKS; i += 20) {
+            service.checkout(books[i], members.get(i / 20 % members.size()));
+        }
+    }
+
+    private static long directoryBytes(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            long total = 0;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                total += Files.size(file);
+            }
+            return total;
+        }
+    }
+}
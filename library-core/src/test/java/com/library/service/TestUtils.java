@@ -1,7 +1,6 @@
 package com.library.service;
 
 import java.lang.reflect.Field;
-import java.util.List;
 
 import org.junit.jupiter.api.Disabled;
 
@@ -18,22 +17,19 @@ public final class TestUtils {
 
     // S3011 = Reflection setAccessible; safe here for test-only code
     // tells Sonar to ignore
-    @SuppressWarnings({"java:S3011", "unchecked"}) 
+    // Stores are append-only, so "clearing" swaps in a fresh store
+    @SuppressWarnings("java:S3011")
     public static void clearLibrary() {
         try {
             // Grab the private 'catalog' field from Library
             Field catalogField = Library.class.getDeclaredField("catalog");
             catalogField.setAccessible(true);// allowed in test code
-            @SuppressWarnings("unchecked")
-            List<?> catalog = (List<?>) catalogField.get(Library.INSTANCE);
-            catalog.clear();
+            catalogField.set(Library.INSTANCE, new AppendOnlyStore<>());
 
             // Same for 'members'
             Field membersField = Library.class.getDeclaredField("members");
             membersField.setAccessible(true);// allowed in test code
-            @SuppressWarnings("unchecked")
-            List<?> members = (List<?>) membersField.get(Library.INSTANCE);
-            members.clear();
+            membersField.set(Library.INSTANCE, new AppendOnlyStore<>());
 
         } catch (ReflectiveOperationException e) {
             throw new TestSetupException("Failed to clear Library singleton for test", e);
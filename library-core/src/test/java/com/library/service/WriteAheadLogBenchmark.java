@@ -0,0 +1,71 @@
+package com.library.service;
+
+import com.library.benchmark.Benchmarks;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Durable writes per second as concurrent writers grow, and how many records each
+ * force of the file covers — the group-commit batch size. Records are 64 bytes,
+ * about the size of a logged book registration.
+ *
+ * Run with: mvn test -Dtest=WriteAheadLogBenchmark
+ */
+class WriteAheadLogBenchmark {
+
+    private static final long MEASURE_NANOS = Duration.ofSeconds(2).toNanos();
+    private static final int[] WRITERS = {1, 2, 4, 8, 16, 32, 64};
+
+    @Test
+    void durableWritesPerSecondVersusGroupSize() throws Exception {
+        Path dir = Files.createTempDirectory("wal-benchmark");
+        try {
+            Benchmarks.report("%-14s %8s %14s %16s", "policy", "writers", "writes/s", "records/force");
+            for (int writers : WRITERS) {
+                run(dir, WriteAheadLog.SyncPolicy.everyWrite(), writers);
+            }
+            run(dir, WriteAheadLog.SyncPolicy.interval(Duration.ofMillis(10)), 1);
+            run(dir, WriteAheadLog.SyncPolicy.interval(Duration.ofMillis(10)), 16);
+            run(dir, WriteAheadLog.SyncPolicy.never(), 1);
+            run(dir, WriteAheadLog.SyncPolicy.never(), 16);
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static void run(Path dir, WriteAheadLog.SyncPolicy policy, int writers) throws Exception {
+        Path file = dir.resolve(policy + "-" + writers);
+        byte[] record = new byte[64];
+        Arrays.fill(record, (byte) 'x');
+        try (WriteAheadLog log = WriteAheadLog.open(file, policy, payload -> { })) {
+            long deadline = System.nanoTime() + MEASURE_NANOS;
+            double writesPerSecond = Benchmarks.opsPerSecond(writers, thread -> {
+                long writes = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        log.append(record);
+                        writes++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return writes;
+            });
+            long syncs = log.syncs();
+            Benchmarks.report("%-14s %8d %14.0f %16s", policy, writers, writesPerSecond,
+                syncs == 0 ? "-" : String.format("%.1f", (double) log.appended() / syncs));
+        }
+        Files.delete(file);
+    }
+}
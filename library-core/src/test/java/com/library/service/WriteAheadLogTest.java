@@ -0,0 +1,201 @@
+package com.library.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> replay(Path file) throws IOException {
+        List<String> records = new ArrayList<>();
+        WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> {
+            byte[] copy = new byte[payload.remaining()];
+            payload.get(copy);
+            records.add(new String(copy, StandardCharsets.UTF_8));
+        }).close();
+        return records;
+    }
+
+    @Test
+    void replaysRecordsInAppendOrderAndAppendsAfterThem() throws IOException {
+        Path file = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.everyWrite(), payload -> { })) {
+            log.append(bytes("first"));
+            log.append(bytes("2"));
+            log.append(bytes("third — ünïcode"));
+            assertThat(log.syncs()).isEqualTo(3);
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.everyWrite(), payload -> { })) {
+            log.append(bytes("fourth"));
+        }
+
+        assertThat(replay(file)).containsExactly("first", "2", "third — ünïcode", "fourth");
+    }
+
+    @Test
+    void tornTailIsCutOffAndOverwritten() throws IOException {
+        Path file = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            log.append(bytes("kept"));
+            log.append(bytes("torn by a crash"));
+        }
+        long intact = WriteAheadLog.HEADER_BYTES + "kept".length();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(intact + 5);
+        }
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            assertThat(Files.size(file)).isEqualTo(intact);
+            log.append(bytes("after recovery"));
+        }
+        assertThat(replay(file)).containsExactly("kept", "after recovery");
+    }
+
+    @Test
+    void corruptRecordEndsTheLog() throws IOException {
+        Path file = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            log.append(bytes("good"));
+            log.append(bytes("flipped"));
+            log.append(bytes("unreachable"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long flippedPayload = 2L * WriteAheadLog.HEADER_BYTES + "good".length();
+            channel.write(ByteBuffer.wrap(bytes("F")), flippedPayload);
+        }
+
+        assertThat(replay(file)).containsExactly("good");
+    }
+
+    @Test
+    void garbageLengthEndsTheLog() throws IOException {
+        Path file = tempDir.resolve("wal");
+        Files.write(file, new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0, 0, 0, 0, 1, 2});
+
+        assertThat(replay(file)).isEmpty();
+        assertThat(Files.size(file)).isZero();
+    }
+
+    @Test
+    void zeroFilledTailEndsTheLogAndIsOverwritten() throws IOException {
+        Path file = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            log.append(bytes("kept"));
+        }
+        long intact = Files.size(file);
+        // An extent allocated before a power loss but never written reads back as zeros
+        Files.write(file, new byte[64 << 10], StandardOpenOption.APPEND);
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            assertThat(Files.size(file)).isEqualTo(intact);
+            log.append(bytes("after recovery"));
+        }
+        assertThat(replay(file)).containsExactly("kept", "after recovery");
+    }
+
+    @Test
+    void recordsLargerThanTheBuffersRoundTrip() throws IOException {
+        Path file = tempDir.resolve("wal");
+        String large = "x".repeat(3 << 20);
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            log.append(bytes("small"));
+            log.append(bytes(large));
+        }
+
+        assertThat(replay(file)).containsExactly("small", large);
+    }
+
+    @Test
+    void concurrentWritersShareGroupCommits() throws Exception {
+        Path file = tempDir.resolve("wal");
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.everyWrite(), payload -> { })) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.append(bytes(thread + ":" + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            assertThat(log.appended()).isEqualTo(threads * perThread);
+            assertThat(log.syncs()).isBetween(1L, (long) threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> records = replay(file);
+        assertThat(records).hasSize(threads * perThread).doesNotHaveDuplicates();
+        for (int t = 0; t < threads; t++) {
+            String prefix = t + ":";
+            List<String> ownRecords = records.stream().filter(record -> record.startsWith(prefix)).toList();
+            assertThat(ownRecords).hasSize(perThread);
+            for (int i = 0; i < perThread; i++) {
+                assertThat(ownRecords.get(i)).isEqualTo(prefix + i); // each writer's records stay in order
+            }
+        }
+    }
+
+    @Test
+    void syncPoliciesDecideWhenToForce() throws Exception {
+        try (WriteAheadLog log = WriteAheadLog.open(tempDir.resolve("never"), WriteAheadLog.SyncPolicy.never(), payload -> { })) {
+            log.append(bytes("record"));
+            assertThat(log.syncs()).isZero();
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(tempDir.resolve("interval"),
+                WriteAheadLog.SyncPolicy.interval(Duration.ofMillis(5)), payload -> { })) {
+            log.append(bytes("record"));
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (log.syncs() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(log.syncs()).isEqualTo(1);
+            Thread.sleep(50);
+            assertThat(log.syncs()).isEqualTo(1); // nothing new to force
+        }
+    }
+
+    @Test
+    void closedLogRefusesRecordsAndRejectsInvalidArguments() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(tempDir.resolve("wal"), WriteAheadLog.SyncPolicy.never(), payload -> { });
+        assertThatThrownBy(() -> log.append(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> log.append(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> log.append(new byte[WriteAheadLog.MAX_RECORD_BYTES + 1]))
+            .isInstanceOf(IllegalArgumentException.class);
+        log.close();
+        log.close();
+
+        assertThatThrownBy(() -> log.append(bytes("late"))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> WriteAheadLog.SyncPolicy.interval(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}